@@ -0,0 +1,157 @@
+package com.taskmanagement.benchmark;
+
+import com.taskmanagement.event.NotificationLane;
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.event.NotificationMessageDeserializer;
+import com.taskmanagement.event.NotificationMessageSerializer;
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.User;
+import com.taskmanagement.service.NotificationTemplateEngine;
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.Record;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.utils.Utils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary NotificationMessage wire format against the former JSON format,
+ * uncompressed and with batch compression as the producer applies it.
+ *
+ * - serialize / deserialize: one message, no compression
+ * - produceBatch: serialize and compress a batch of 500 records into a Kafka record batch
+ * - consumeBatch: decompress and deserialize that batch (consumer CPU per batch)
+ * Bytes per message for every combination are printed during setup.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=NotificationCodecBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotificationCodecBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Param({"json", "binary"})
+    private String format;
+
+    @Param({"NONE", "LZ4", "ZSTD"})
+    private String compression;
+
+    private NotificationMessageSerializer serializer;
+    private NotificationMessageDeserializer deserializer;
+    private CompressionType compressionType;
+    private List<NotificationMessage> notifications;
+    private List<byte[]> keys;
+    private byte[] encoded;
+    private ByteBuffer batch;
+
+    @Setup
+    public void setUp() {
+        serializer = new NotificationMessageSerializer();
+        serializer.configure(Map.of(NotificationMessageSerializer.WIRE_FORMAT, format), false);
+        deserializer = new NotificationMessageDeserializer();
+        compressionType = CompressionType.valueOf(compression);
+
+        notifications = sampleNotifications();
+        keys = new ArrayList<>(BATCH_SIZE);
+        long rawBytes = 0;
+        for (NotificationMessage notification : notifications) {
+            keys.add(notification.getRecipient().getBytes(StandardCharsets.UTF_8));
+            rawBytes += serializer.serialize("notifications", notification).length;
+        }
+        encoded = serializer.serialize("notifications", notifications.get(0));
+        batch = buildBatch().buffer();
+
+        System.out.printf("%n[%s/%s] %d bytes/message serialized, %d bytes/message in a compressed batch%n",
+                format, compression, rawBytes / BATCH_SIZE, batch.limit() / BATCH_SIZE);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize("notifications", notifications.get(0));
+    }
+
+    @Benchmark
+    public NotificationMessage deserialize() {
+        return deserializer.deserialize("notifications", encoded);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public MemoryRecords produceBatch() {
+        return buildBatch();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void consumeBatch(Blackhole blackhole) {
+        for (Record record : MemoryRecords.readableRecords(batch.duplicate()).records()) {
+            blackhole.consume(deserializer.deserialize("notifications", Utils.toArray(record.value())));
+        }
+    }
+
+    private MemoryRecords buildBatch() {
+        MemoryRecordsBuilder builder = MemoryRecords.builder(ByteBuffer.allocate(1 << 20), compressionType,
+                TimestampType.CREATE_TIME, 0L);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            builder.append(now, keys.get(i), serializer.serialize("notifications", notifications.get(i)));
+        }
+        return builder.build();
+    }
+
+    private static List<NotificationMessage> sampleNotifications() {
+        NotificationTemplateEngine engine = new NotificationTemplateEngine("notification-templates", "en");
+        NotificationMessage.NotificationType[] types = {
+                NotificationMessage.NotificationType.TASK_ASSIGNED,
+                NotificationMessage.NotificationType.TASK_STATUS_CHANGED,
+                NotificationMessage.NotificationType.TASK_REMINDER
+        };
+
+        List<NotificationMessage> notifications = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            User assignee = User.builder()
+                    .username("user" + (i % 50))
+                    .firstName("User " + (i % 50))
+                    .email("user" + (i % 50) + "@example.com")
+                    .build();
+            Task task = Task.builder()
+                    .id(1000L + i)
+                    .title("Task number " + i)
+                    .description("Collect numbers from all teams and prepare the slides for review " + i)
+                    .status(Task.TaskStatus.IN_PROGRESS)
+                    .priority(Task.TaskPriority.values()[i % Task.TaskPriority.values().length])
+                    .dueDate(LocalDateTime.of(2024, 3, 31, 17, 0).plusHours(i))
+                    .assignee(assignee)
+                    .build();
+            NotificationMessage.NotificationType type = types[i % types.length];
+            NotificationTemplateEngine.RenderedNotification rendered = engine.render(type, task, assignee);
+            notifications.add(NotificationMessage.builder()
+                    .notificationId(UUID.randomUUID().toString())
+                    .recipient(assignee.getEmail())
+                    .subject(rendered.subject())
+                    .message(rendered.body())
+                    .type(type)
+                    .taskId(task.getId())
+                    .timestamp(LocalDateTime.now())
+                    .lane(NotificationLane.of(type, task.getPriority()))
+                    .build());
+        }
+        return notifications;
+    }
+}
@@ -0,0 +1,205 @@
+package com.taskmanagement.benchmark;
+
+import com.taskmanagement.event.NotificationLane;
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.event.NotificationMessageCodec;
+import com.taskmanagement.event.NotificationMessageDeserializer;
+import com.taskmanagement.event.NotificationMessageSerializer;
+import com.taskmanagement.service.transport.NotificationJournal;
+import com.taskmanagement.service.transport.RingBuffer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Round-trip throughput of the in-process transport against an embedded Kafka broker.
+ *
+ * Each invocation publishes a batch of notifications and waits until the consumer side
+ * has received all of them:
+ * - ring: RingBuffer with a batching consumer thread
+ * - ring-journal: the same, appending every record to a NotificationJournal first
+ *   and committing after each drained batch
+ * - kafka: KafkaProducer (lz4, binary wire format) and a KafkaConsumer on a single-node KRaft broker
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=TransportBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransportBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String TOPIC = "notifications";
+
+    @Param({"ring", "ring-journal", "kafka"})
+    private String transport;
+
+    private List<NotificationMessage> notifications;
+
+    private RingBuffer<Entry> ring;
+    private NotificationJournal journal;
+    private Path journalDir;
+    private Thread ringConsumer;
+    private final AtomicLong received = new AtomicLong();
+
+    private EmbeddedKafkaKraftBroker broker;
+    private KafkaProducer<String, NotificationMessage> producer;
+    private KafkaConsumer<String, NotificationMessage> consumer;
+
+    @Setup
+    public void setUp() throws IOException {
+        notifications = sampleNotifications();
+        if ("kafka".equals(transport)) {
+            setUpKafka();
+        } else {
+            setUpRing();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (ringConsumer != null) {
+            ringConsumer.interrupt();
+        }
+        if (journal != null) {
+            journal.close();
+            try (var files = Files.walk(journalDir)) {
+                files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+            }
+        }
+        if (producer != null) {
+            producer.close();
+            consumer.close();
+            broker.destroy();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long roundTrip() throws Exception {
+        return "kafka".equals(transport) ? kafkaRoundTrip() : ringRoundTrip();
+    }
+
+    private long ringRoundTrip() throws Exception {
+        long target = received.get() + BATCH_SIZE;
+        long timeout = TimeUnit.SECONDS.toNanos(10);
+        for (NotificationMessage notification : notifications) {
+            if (journal != null) {
+                byte[] payload = NotificationMessageCodec.encode(notification);
+                synchronized (this) {
+                    ring.publish(new Entry(notification, journal.append(payload)), timeout);
+                }
+            } else {
+                ring.publish(new Entry(notification, 0), timeout);
+            }
+        }
+        while (received.get() < target) {
+            Thread.onSpinWait();
+        }
+        return target;
+    }
+
+    private long kafkaRoundTrip() {
+        for (NotificationMessage notification : notifications) {
+            producer.send(new ProducerRecord<>(TOPIC, notification.getRecipient(), notification));
+        }
+        producer.flush();
+        long count = 0;
+        while (count < BATCH_SIZE) {
+            ConsumerRecords<String, NotificationMessage> records = consumer.poll(Duration.ofMillis(100));
+            count += records.count();
+        }
+        return count;
+    }
+
+    private void setUpRing() throws IOException {
+        ring = new RingBuffer<>(8192);
+        if ("ring-journal".equals(transport)) {
+            journalDir = Files.createTempDirectory("journal-bench");
+            journal = new NotificationJournal(journalDir.resolve(TOPIC + ".journal"), 64 << 20);
+        }
+        ringConsumer = new Thread(() -> {
+            List<Entry> batch = new ArrayList<>(500);
+            while (!Thread.currentThread().isInterrupted()) {
+                int drained = ring.drainTo(batch, 500);
+                if (drained == 0) {
+                    LockSupport.parkNanos(1_000);
+                    continue;
+                }
+                if (journal != null) {
+                    // Commit the batch, as the transport does once it has been acknowledged
+                    journal.commit(batch.get(drained - 1).position);
+                }
+                batch.clear();
+                received.addAndGet(drained);
+            }
+        }, "ring-consumer");
+        ringConsumer.setDaemon(true);
+        ringConsumer.start();
+    }
+
+    private void setUpKafka() {
+        broker = new EmbeddedKafkaKraftBroker(1, 1, TOPIC);
+        broker.afterPropertiesSet();
+
+        producer = new KafkaProducer<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.LINGER_MS_CONFIG, 10,
+                ProducerConfig.BATCH_SIZE_CONFIG, 65536,
+                ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4"),
+                new StringSerializer(), new NotificationMessageSerializer());
+        consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500,
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest"),
+                new StringDeserializer(), new NotificationMessageDeserializer());
+        TopicPartition partition = new TopicPartition(TOPIC, 0);
+        consumer.assign(List.of(partition));
+        consumer.seekToEnd(List.of(partition));
+        consumer.position(partition);
+    }
+
+    private record Entry(NotificationMessage notification, long position) {
+    }
+
+    private static List<NotificationMessage> sampleNotifications() {
+        List<NotificationMessage> notifications = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            notifications.add(NotificationMessage.builder()
+                    .notificationId(UUID.randomUUID().toString())
+                    .recipient("user" + (i % 50) + "@example.com")
+                    .subject("Task assigned: Task number " + i)
+                    .message("Collect numbers from all teams and prepare the slides for review " + i)
+                    .type(NotificationMessage.NotificationType.TASK_ASSIGNED)
+                    .taskId(1000L + i)
+                    .timestamp(LocalDateTime.now())
+                    .lane(NotificationLane.NORMAL)
+                    .build());
+        }
+        return notifications;
+    }
+}
@@ -0,0 +1,39 @@
+package com.taskmanagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@Slf4j
+public class DeliveryExecutorConfig {
+
+    /**
+     * Executor running notification delivery, decoupled from the Kafka poll loop.
+     *
+     * Uses one virtual thread per task when the JVM supports it (Java 21+), so blocking
+     * SMTP round-trips cost no platform thread. On older JVMs it falls back to a cached
+     * pool; concurrency is bounded either way by the dispatcher lanes and the in-flight limit.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService deliveryExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            log.info("Using virtual threads for notification delivery");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.info("Virtual threads are not available on this JVM, using a cached thread pool for notification delivery");
+            AtomicInteger threadNumber = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "notification-delivery-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.taskmanagement.config;
 
 import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.event.NotificationMessageDeserializer;
+import com.taskmanagement.event.NotificationMessageSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -12,15 +16,19 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 @Configuration
+@RequiredArgsConstructor
 public class KafkaConfig {
 
+    private final MeterRegistry meterRegistry;
+
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
@@ -30,6 +38,60 @@ public class KafkaConfig {
     @Value("${app.notification.kafka.topic.notifications:notifications}")
     private String notificationsTopic;
 
+    @Value("${app.notification.kafka.topic.notifications-high:notifications-high}")
+    private String notificationsHighTopic;
+
+    @Value("${app.notification.kafka.topic.notifications-bulk:notifications-bulk}")
+    private String notificationsBulkTopic;
+
+    @Value("${app.notification.kafka.topic.retry-1m:notifications-retry-1m}")
+    private String retry1mTopic;
+
+    @Value("${app.notification.kafka.topic.retry-10m:notifications-retry-10m}")
+    private String retry10mTopic;
+
+    @Value("${app.notification.kafka.topic.retry-1h:notifications-retry-1h}")
+    private String retry1hTopic;
+
+    @Value("${app.notification.kafka.topic.dlt:notifications-dlt}")
+    private String dltTopic;
+
+    @Value("${app.notification.kafka.topic.delay-1m:notifications-delay-1m}")
+    private String delay1mTopic;
+
+    @Value("${app.notification.kafka.topic.delay-10m:notifications-delay-10m}")
+    private String delay10mTopic;
+
+    @Value("${app.notification.kafka.topic.delay-1h:notifications-delay-1h}")
+    private String delay1hTopic;
+
+    @Value("${app.notification.kafka.topic.delay-4h:notifications-delay-4h}")
+    private String delay4hTopic;
+
+    @Value("${app.notification.producer.linger-ms:10}")
+    private int lingerMs;
+
+    @Value("${app.notification.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${app.notification.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${app.notification.kafka.wire-format:binary}")
+    private String wireFormat;
+
+    @Value("${app.notification.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${app.notification.kafka.partitions:3}")
+    private int partitions;
+
+    @Value("${app.notification.consumer.concurrency:3}")
+    private int concurrency;
+
+    @Value("${app.notification.transport:kafka}")
+    private String transport;
+
     // ============================================
     // Topic Configuration
     // ============================================
@@ -37,7 +99,7 @@ public class KafkaConfig {
     @Bean
     public NewTopic taskEventsTopic() {
         return TopicBuilder.name(taskEventsTopic)
-                .partitions(3)
+                .partitions(partitions)
                 .replicas(1)
                 .build();
     }
@@ -45,7 +107,87 @@ public class KafkaConfig {
     @Bean
     public NewTopic notificationsTopic() {
         return TopicBuilder.name(notificationsTopic)
-                .partitions(3)
+                .partitions(partitions)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic notificationsHighTopic() {
+        return TopicBuilder.name(notificationsHighTopic)
+                .partitions(partitions)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic notificationsBulkTopic() {
+        return TopicBuilder.name(notificationsBulkTopic)
+                .partitions(partitions)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic notificationsRetry1mTopic() {
+        return TopicBuilder.name(retry1mTopic)
+                .partitions(partitions)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic notificationsRetry10mTopic() {
+        return TopicBuilder.name(retry10mTopic)
+                .partitions(partitions)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic notificationsRetry1hTopic() {
+        return TopicBuilder.name(retry1hTopic)
+                .partitions(partitions)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic notificationsDltTopic() {
+        return TopicBuilder.name(dltTopic)
+                .partitions(partitions)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic notificationsDelay1mTopic() {
+        return TopicBuilder.name(delay1mTopic)
+                .partitions(partitions)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic notificationsDelay10mTopic() {
+        return TopicBuilder.name(delay10mTopic)
+                .partitions(partitions)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic notificationsDelay1hTopic() {
+        return TopicBuilder.name(delay1hTopic)
+                .partitions(partitions)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic notificationsDelay4hTopic() {
+        return TopicBuilder.name(delay4hTopic)
+                .partitions(partitions)
                 .replicas(1)
                 .build();
     }
@@ -59,9 +201,16 @@ public class KafkaConfig {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        config.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
-        return new DefaultKafkaProducerFactory<>(config);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, NotificationMessageSerializer.class);
+        config.put(NotificationMessageSerializer.WIRE_FORMAT, wireFormat);
+        // Let the outbox relay's sends accumulate into batched produce requests,
+        // compressed as a whole - rendered bodies of one batch share most of their text
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        DefaultKafkaProducerFactory<String, NotificationMessage> factory = new DefaultKafkaProducerFactory<>(config);
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
@@ -77,13 +226,18 @@ public class KafkaConfig {
     public ConsumerFactory<String, NotificationMessage> notificationConsumerFactory() {
         Map<String, Object> config = new HashMap<>();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        config.put(ConsumerConfig.GROUP_ID_CONFIG, "notification-consumer-group");
+        // No default group: every listener names its own (one per lane, see ConsumptionController.groupId)
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-        config.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, NotificationMessage.class.getName());
+        // Wrap the deserializer so a single poison record arrives as null instead of failing the whole batch.
+        // It reads both the binary format and JSON written by older producers
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, NotificationMessageDeserializer.class);
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-        return new DefaultKafkaConsumerFactory<>(config);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        DefaultKafkaConsumerFactory<String, NotificationMessage> factory = new DefaultKafkaConsumerFactory<>(config);
+        // Binds the Kafka client metrics, including kafka.consumer.fetch.manager.records.lag per topic and partition
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
@@ -91,7 +245,51 @@ public class KafkaConfig {
         ConcurrentKafkaListenerContainerFactory<String, NotificationMessage> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(notificationConsumerFactory());
+        // Hand the listener the whole poll; offsets are committed per batch by the listener
+        // once the batch has been delivered (see InFlightBatchTracker)
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        // Consumers per lane at startup, adjusted at runtime by ConsumerAutoscaler
+        factory.setConcurrency(Math.min(concurrency, partitions));
+        factory.setAutoStartup(isKafkaTransport());
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, NotificationMessage> notificationRetryKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, NotificationMessage> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(notificationConsumerFactory());
+        // One consumer per partition, so waiting for a record that is not due yet pauses only its partition
+        factory.setConcurrency(partitions);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setAutoStartup(isKafkaTransport());
         return factory;
     }
-}
 
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, NotificationMessage> inAppKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, NotificationMessage> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        // Per-node broadcast group: only notifications published while the node is up are of interest
+        factory.setConsumerFactory(notificationConsumerFactory());
+        factory.getContainerProperties().setKafkaConsumerProperties(inAppConsumerProperties());
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+
+    /**
+     * The listener containers only run with the Kafka transport; the in-process
+     * transport calls the same listener methods from its own consumer threads.
+     */
+    private boolean isKafkaTransport() {
+        return "kafka".equals(transport);
+    }
+
+    private Properties inAppConsumerProperties() {
+        Properties properties = new Properties();
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        return properties;
+    }
+}
@@ -0,0 +1,65 @@
+package com.taskmanagement.controller;
+
+import com.taskmanagement.dto.DltReplayResultDTO;
+import com.taskmanagement.dto.NotificationDeliveryPageDTO;
+import com.taskmanagement.service.InAppNotificationHub;
+import com.taskmanagement.service.NotificationDeliveryService;
+import com.taskmanagement.service.NotificationDltService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+@Tag(name = "Notifications", description = "APIs for operating notification delivery")
+@SecurityRequirement(name = "bearerAuth")
+public class NotificationController {
+
+    private final NotificationDltService notificationDltService;
+    private final InAppNotificationHub inAppNotificationHub;
+    private final NotificationDeliveryService notificationDeliveryService;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream the current user's notifications as server-sent events")
+    public SseEmitter streamNotifications(Principal principal) {
+        return inAppNotificationHub.connect(principal.getName());
+    }
+
+    @GetMapping("/deliveries/task/{taskId}")
+    @Operation(summary = "Get the delivery history of a task's notifications, newest first (ADMIN/MANAGER only)")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<NotificationDeliveryPageDTO> getTaskDeliveries(
+            @PathVariable Long taskId,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        return ResponseEntity.ok(notificationDeliveryService.findByTask(taskId, cursor, size));
+    }
+
+    @GetMapping("/deliveries/recipient")
+    @Operation(summary = "Get the delivery history of a recipient, newest first (ADMIN/MANAGER only)")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<NotificationDeliveryPageDTO> getRecipientDeliveries(
+            @RequestParam("email") String email,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        return ResponseEntity.ok(notificationDeliveryService.findByRecipient(email, cursor, size));
+    }
+
+    @PostMapping("/dlt/replay")
+    @Operation(summary = "Replay dead-lettered notifications (ADMIN only)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DltReplayResultDTO> replayDeadLetters(
+            @RequestParam(value = "max", defaultValue = "100") int max) {
+        DltReplayResultDTO result = notificationDltService.replay(max);
+        return ResponseEntity.ok(result);
+    }
+}
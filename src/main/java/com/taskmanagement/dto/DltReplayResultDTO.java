@@ -0,0 +1,24 @@
+package com.taskmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DltReplayResultDTO {
+
+    private String sourceTopic;
+
+    private List<String> targetTopics;
+
+    private Integer replayed;
+
+    private LocalDateTime replayedAt;
+}
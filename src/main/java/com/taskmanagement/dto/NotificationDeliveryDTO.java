@@ -0,0 +1,35 @@
+package com.taskmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationDeliveryDTO {
+
+    private Long id;
+
+    private String notificationId;
+
+    private Long taskId;
+
+    private String recipient;
+
+    private String channel;
+
+    private String status;
+
+    private Integer attempt;
+
+    private Long latencyMs;
+
+    private String error;
+
+    private LocalDateTime recordedAt;
+}
@@ -0,0 +1,19 @@
+package com.taskmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationDeliveryPageDTO {
+
+    private List<NotificationDeliveryDTO> deliveries;
+
+    private Long nextCursor;  // Pass as cursor to get the next page; null on the last page
+}
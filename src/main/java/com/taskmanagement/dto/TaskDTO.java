@@ -40,7 +40,7 @@ public class TaskDTO {
 
     private String createdByName;
 
-    private Boolean reminderSent;
+    private Integer remindersSent;  // Bitmask of the reminder thresholds already fired
 
     private Integer estimatedHours;
 
@@ -0,0 +1,24 @@
+package com.taskmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a task's due date, used to load reminder triggers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskDueDateDTO {
+
+    private Long id;
+
+    private LocalDateTime dueDate;
+
+    private Integer remindersSent;
+}
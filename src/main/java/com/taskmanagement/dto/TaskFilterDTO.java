@@ -26,6 +26,6 @@ public class TaskFilterDTO {
 
     private String searchTerm;  // Search in title and description
 
-    private Boolean reminderSent;
+    private Boolean reminderSent;  // Whether any reminder has been sent
 }
 
@@ -0,0 +1,96 @@
+package com.taskmanagement.dto;
+
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a task with the assignee and creator fields its notifications need.
+ * Selected by the reminder and overdue scans of TaskRepository without loading any entities.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskNotificationDTO {
+
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    private Task.TaskStatus status;
+
+    private Task.TaskPriority priority;
+
+    private LocalDateTime dueDate;
+
+    private Long version;
+
+    private Long assigneeId;  // null if the task is unassigned
+
+    private String assigneeUsername;
+
+    private String assigneeEmail;
+
+    private String assigneeFirstName;
+
+    private String assigneeTimeZone;
+
+    private Long creatorId;  // null if the creator is unknown
+
+    private String creatorUsername;
+
+    private String creatorEmail;
+
+    private String creatorFirstName;
+
+    private String creatorTimeZone;
+
+    private Integer remindersSent;  // Reminder bits fired before this scan
+
+    private Integer dueMask;  // Reminder bits due at the time of the scan, 0 outside reminder scans
+
+    /**
+     * The reminder bits this scan fires: due and not fired before.
+     */
+    public int pendingMask() {
+        return dueMask & ~remindersSent;
+    }
+
+    /**
+     * A detached Task carrying only the projected fields, for TaskEventListener and the templates.
+     */
+    public Task toTask() {
+        return Task.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .status(status)
+                .priority(priority)
+                .dueDate(dueDate)
+                .version(version)
+                .remindersSent(remindersSent)
+                .assignee(assigneeId == null ? null : User.builder()
+                        .id(assigneeId)
+                        .username(assigneeUsername)
+                        .email(assigneeEmail)
+                        .firstName(assigneeFirstName)
+                        .timeZone(assigneeTimeZone)
+                        .build())
+                .createdBy(creatorId == null ? null : User.builder()
+                        .id(creatorId)
+                        .username(creatorUsername)
+                        .email(creatorEmail)
+                        .firstName(creatorFirstName)
+                        .timeZone(creatorTimeZone)
+                        .build())
+                .build();
+    }
+}
@@ -34,6 +34,8 @@ public class UserCreateDTO {
 
     private String phoneNumber;
 
+    private String timeZone;
+
     @NotNull(message = "Role is required")
     private User.UserRole role;
 }
@@ -32,6 +32,8 @@ public class UserDTO {
 
     private String phoneNumber;
 
+    private String timeZone;
+
     @NotNull(message = "Role is required")
     private User.UserRole role;
 
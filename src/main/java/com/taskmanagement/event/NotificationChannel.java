@@ -0,0 +1,15 @@
+package com.taskmanagement.event;
+
+/**
+ * Delivery channels a notification can be sent through.
+ * The consumer groups each polled batch by channel so that every channel
+ * can deliver its share of the batch in a single round-trip.
+ * A channel is only used when a DeliveryChannel implementation for it is registered.
+ */
+public enum NotificationChannel {
+    EMAIL,
+    SMS,
+    PUSH,
+    SLACK,
+    WEBHOOK
+}
@@ -0,0 +1,53 @@
+package com.taskmanagement.event;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kafka header names carried by notification records, with helpers to read and write them.
+ */
+public final class NotificationHeaders {
+
+    /** Number of failed delivery attempts so far. */
+    public static final String ATTEMPT = "x-notification-attempt";
+
+    /** Epoch millis of the first failed delivery attempt. */
+    public static final String FIRST_FAILURE = "x-notification-first-failure";
+
+    /** Message of the last delivery failure. */
+    public static final String LAST_ERROR = "x-notification-last-error";
+
+    /** Channel the failed delivery should be retried on. */
+    public static final String CHANNEL = "x-notification-channel";
+
+    /** Topic the notification was originally consumed from. */
+    public static final String ORIGINAL_TOPIC = "x-notification-original-topic";
+
+    /** Epoch millis the notification was created (written to the outbox). */
+    public static final String CREATED_AT = "x-notification-created-at";
+
+    /** Epoch millis the notification was sent to Kafka by the outbox relay. */
+    public static final String PUBLISHED_AT = "x-notification-published-at";
+
+    private NotificationHeaders() {
+    }
+
+    public static String get(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header != null && header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    public static long getLong(Headers headers, String name, long defaultValue) {
+        String value = get(headers, name);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+
+    public static void set(Headers headers, String name, Object value) {
+        headers.remove(name);
+        if (value != null) {
+            headers.add(name, value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskmanagement.event;
+
+import com.taskmanagement.model.Task;
+
+/**
+ * Priority lanes a notification travels through.
+ *
+ * Every lane has its own Kafka topic and listener container, so urgent notifications never
+ * queue behind bulk traffic such as the hourly reminder run. HIGH notifications also skip
+ * the outbox coalescing window and are never merged into digests.
+ */
+public enum NotificationLane {
+    HIGH,
+    NORMAL,
+    BULK;
+
+    /**
+     * Resolve the lane of a notification from its type and the priority of its task.
+     */
+    public static NotificationLane of(NotificationMessage.NotificationType type, Task.TaskPriority priority) {
+        if (type == NotificationMessage.NotificationType.TASK_OVERDUE || priority == Task.TaskPriority.CRITICAL) {
+            return HIGH;
+        }
+        if (type == NotificationMessage.NotificationType.TASK_REMINDER
+                || type == NotificationMessage.NotificationType.TASK_DIGEST) {
+            return BULK;
+        }
+        return NORMAL;
+    }
+
+    /**
+     * The lane of a notification; messages published before lanes existed travel as NORMAL.
+     */
+    public static NotificationLane of(NotificationMessage notification) {
+        return notification.getLane() != null ? notification.getLane() : NORMAL;
+    }
+
+    /**
+     * The more urgent of two lanes.
+     */
+    public NotificationLane max(NotificationLane other) {
+        return other.ordinal() < ordinal() ? other : this;
+    }
+}
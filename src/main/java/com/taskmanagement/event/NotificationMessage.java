@@ -1,30 +1,68 @@
 package com.taskmanagement.event;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+/**
+ * Notification record published to Kafka.
+ *
+ * Either fully rendered (recipient, subject and message set), or a claim check that only
+ * references the task, its version and the recipient user; claim checks are rendered by
+ * the consumer at send time (see NotificationClaimCheckResolver). A claim-check digest
+ * carries its claim-check parts instead of a message. Every digest carries the task IDs of
+ * its parts, since it has no task ID of its own.
+ */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class NotificationMessage {
 
+    private String notificationId;  // Stable ID assigned when the notification enters the outbox
     private String recipient;
     private String subject;
     private String message;
     private NotificationType type;
     private Long taskId;
     private LocalDateTime timestamp;
+    private NotificationLane lane;  // Null for messages published before priority lanes
+    private Long taskVersion;       // Claim check: task version the notification was raised at
+    private Long recipientId;       // Recipient user ID (in-app routing); claim checks carry only this
+    private List<NotificationMessage> parts;  // Claim-check digest: the merged claim checks
+    private LocalDateTime deliverAt;  // Deferred delivery: held in the delay buckets until then
+    private List<Long> partTaskIds;   // Digest: the tasks of the merged notifications, for the delivery ledger
+
+    /**
+     * Whether this is a claim check that still has to be rendered.
+     */
+    @JsonIgnore
+    public boolean isClaimCheck() {
+        return message == null && (taskId != null || parts != null);
+    }
+
+    /**
+     * The recipient identity used for partitioning, ordering and coalescing:
+     * the email of rendered notifications, the user ID of claim checks.
+     */
+    public String recipientKey() {
+        return recipient != null ? recipient : "user:" + recipientId;
+    }
 
     public enum NotificationType {
         TASK_ASSIGNED,
         TASK_STATUS_CHANGED,
         TASK_REMINDER,
-        TASK_OVERDUE
+        TASK_OVERDUE,
+        TASK_ESCALATION,
+        TASK_DIGEST
     }
 }
 
@@ -0,0 +1,282 @@
+package com.taskmanagement.event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Compact binary wire format for NotificationMessage.
+ *
+ * Layout: a magic byte, a format version byte, then one tag-length-value entry per
+ * non-null field. Tags and lengths are varints; strings are UTF-8, numbers are zigzag
+ * varints and date-times are stored as UTC epoch seconds plus nanos. Enums are stored
+ * by name, so reordering constants never changes their meaning.
+ *
+ * Schema evolution: a decoder skips tags it does not know, so new fields can be added
+ * with new tags and read by old consumers. Tags must never be reused for another meaning.
+ * The magic byte can never start a JSON document, which lets a consumer tell both
+ * formats apart by the first byte.
+ */
+public final class NotificationMessageCodec {
+
+    public static final byte MAGIC = (byte) 0xB7;
+    public static final byte VERSION = 1;
+
+    private static final int TAG_NOTIFICATION_ID = 1;
+    private static final int TAG_RECIPIENT = 2;
+    private static final int TAG_SUBJECT = 3;
+    private static final int TAG_MESSAGE = 4;
+    private static final int TAG_TYPE = 5;
+    private static final int TAG_TASK_ID = 6;
+    private static final int TAG_TIMESTAMP = 7;
+    private static final int TAG_LANE = 8;
+    private static final int TAG_TASK_VERSION = 9;
+    private static final int TAG_RECIPIENT_ID = 10;
+    private static final int TAG_PART = 11;  // Repeated, one nested message per part
+    private static final int TAG_DELIVER_AT = 12;
+    private static final int TAG_PART_TASK_ID = 13;  // Repeated, one per task ID
+
+    private NotificationMessageCodec() {
+    }
+
+    /**
+     * Whether a payload is in the binary format (as opposed to JSON).
+     */
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 0 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(NotificationMessage notification) {
+        Writer writer = new Writer(estimateSize(notification));
+        writer.buffer[writer.position++] = MAGIC;
+        writer.buffer[writer.position++] = VERSION;
+
+        writer.writeString(TAG_NOTIFICATION_ID, notification.getNotificationId());
+        writer.writeString(TAG_RECIPIENT, notification.getRecipient());
+        writer.writeString(TAG_SUBJECT, notification.getSubject());
+        writer.writeString(TAG_MESSAGE, notification.getMessage());
+        if (notification.getType() != null) {
+            writer.writeString(TAG_TYPE, notification.getType().name());
+        }
+        writer.writeLong(TAG_TASK_ID, notification.getTaskId());
+        writer.writeDateTime(TAG_TIMESTAMP, notification.getTimestamp());
+        if (notification.getLane() != null) {
+            writer.writeString(TAG_LANE, notification.getLane().name());
+        }
+        writer.writeLong(TAG_TASK_VERSION, notification.getTaskVersion());
+        writer.writeLong(TAG_RECIPIENT_ID, notification.getRecipientId());
+        if (notification.getParts() != null) {
+            for (NotificationMessage part : notification.getParts()) {
+                writer.writeBytes(TAG_PART, encode(part));
+            }
+        }
+        writer.writeDateTime(TAG_DELIVER_AT, notification.getDeliverAt());
+        if (notification.getPartTaskIds() != null) {
+            for (Long taskId : notification.getPartTaskIds()) {
+                writer.writeLong(TAG_PART_TASK_ID, taskId);
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    public static NotificationMessage decode(byte[] data) {
+        if (!isBinary(data) || data.length < 2) {
+            throw new IllegalArgumentException("Not a binary notification payload");
+        }
+        if (data[1] > VERSION) {
+            throw new IllegalArgumentException("Unsupported notification format version " + data[1]);
+        }
+
+        NotificationMessage notification = new NotificationMessage();
+        Reader reader = new Reader(data, 2);
+        while (reader.position < data.length) {
+            int tag = reader.readVarInt();
+            int length = reader.readVarInt();
+            // A corrupt length could move the reader backwards or overflow past the end
+            if (length < 0 || length > data.length - reader.position) {
+                throw new IllegalArgumentException("Invalid field length " + length + " in notification payload");
+            }
+            int end = reader.position + length;
+            switch (tag) {
+                case TAG_NOTIFICATION_ID -> notification.setNotificationId(reader.readString(length));
+                case TAG_RECIPIENT -> notification.setRecipient(reader.readString(length));
+                case TAG_SUBJECT -> notification.setSubject(reader.readString(length));
+                case TAG_MESSAGE -> notification.setMessage(reader.readString(length));
+                case TAG_TYPE -> notification.setType(
+                        enumOrNull(NotificationMessage.NotificationType.class, reader.readString(length)));
+                case TAG_TASK_ID -> notification.setTaskId(unzigzag(reader.readVarLong()));
+                case TAG_TIMESTAMP -> notification.setTimestamp(reader.readDateTime());
+                case TAG_LANE -> notification.setLane(enumOrNull(NotificationLane.class, reader.readString(length)));
+                case TAG_TASK_VERSION -> notification.setTaskVersion(unzigzag(reader.readVarLong()));
+                case TAG_RECIPIENT_ID -> notification.setRecipientId(unzigzag(reader.readVarLong()));
+                case TAG_PART -> {
+                    if (notification.getParts() == null) {
+                        notification.setParts(new ArrayList<>());
+                    }
+                    notification.getParts().add(decode(Arrays.copyOfRange(data, reader.position, end)));
+                }
+                case TAG_DELIVER_AT -> notification.setDeliverAt(reader.readDateTime());
+                case TAG_PART_TASK_ID -> {
+                    if (notification.getPartTaskIds() == null) {
+                        notification.setPartTaskIds(new ArrayList<>());
+                    }
+                    notification.getPartTaskIds().add(unzigzag(reader.readVarLong()));
+                }
+                default -> {
+                    // Field added by a newer producer - skip it
+                }
+            }
+            reader.position = end;
+        }
+        return notification;
+    }
+
+    private static <E extends Enum<E>> E enumOrNull(Class<E> type, String name) {
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            // Constant added by a newer producer
+            return null;
+        }
+    }
+
+    private static int estimateSize(NotificationMessage notification) {
+        int size = 48;
+        size += estimate(notification.getNotificationId());
+        size += estimate(notification.getRecipient());
+        size += estimate(notification.getSubject());
+        size += estimate(notification.getMessage());
+        return size;
+    }
+
+    private static int estimate(String value) {
+        // Exact for ASCII; the writer grows for longer UTF-8 encodings
+        return value == null ? 0 : value.length() + 4;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int position;
+
+        private Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void writeString(int tag, String value) {
+            if (value != null) {
+                writeBytes(tag, value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private void writeLong(int tag, Long value) {
+            if (value != null) {
+                writeVarInt(tag);
+                writeVarInt(varLongSize(zigzag(value)));
+                writeVarLong(zigzag(value));
+            }
+        }
+
+        /**
+         * Date-times are written as zigzag epoch seconds (UTC) followed by the nanos.
+         */
+        private void writeDateTime(int tag, LocalDateTime value) {
+            if (value != null) {
+                long seconds = zigzag(value.toEpochSecond(ZoneOffset.UTC));
+                int nanos = value.getNano();
+                writeVarInt(tag);
+                writeVarInt(varLongSize(seconds) + varLongSize(nanos));
+                writeVarLong(seconds);
+                writeVarLong(nanos);
+            }
+        }
+
+        private void writeBytes(int tag, byte[] bytes) {
+            writeVarInt(tag);
+            writeVarInt(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return position == buffer.length ? buffer : Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        private Reader(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        private String readString(int length) {
+            return new String(data, position, length, StandardCharsets.UTF_8);
+        }
+
+        private LocalDateTime readDateTime() {
+            return LocalDateTime.ofEpochSecond(unzigzag(readVarLong()), (int) readVarLong(), ZoneOffset.UTC);
+        }
+
+        private int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= data.length) {
+                    throw new IllegalArgumentException("Truncated notification payload");
+                }
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in notification payload");
+        }
+    }
+}
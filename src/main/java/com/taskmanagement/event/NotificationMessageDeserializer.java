@@ -0,0 +1,32 @@
+package com.taskmanagement.event;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+/**
+ * Kafka deserializer for NotificationMessage.
+ *
+ * Reads both wire formats, told apart by the first byte: the binary format of
+ * NotificationMessageCodec, and JSON written by producers that predate it or are
+ * configured with the json wire format.
+ */
+public class NotificationMessageDeserializer implements Deserializer<NotificationMessage> {
+
+    private final JsonDeserializer<NotificationMessage> jsonDeserializer =
+            new JsonDeserializer<>(NotificationMessage.class, false).trustedPackages("*");
+
+    @Override
+    public NotificationMessage deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return NotificationMessageCodec.isBinary(data)
+                ? NotificationMessageCodec.decode(data)
+                : jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
@@ -0,0 +1,45 @@
+package com.taskmanagement.event;
+
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+/**
+ * Kafka serializer for NotificationMessage.
+ *
+ * Writes the binary format of NotificationMessageCodec, or JSON when the producer is
+ * configured with notification.wire-format=json (e.g. while consumers are being upgraded).
+ */
+public class NotificationMessageSerializer implements Serializer<NotificationMessage> {
+
+    public static final String WIRE_FORMAT = "notification.wire-format";
+
+    private Serializer<NotificationMessage> jsonSerializer;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        if ("json".equalsIgnoreCase(String.valueOf(configs.get(WIRE_FORMAT)))) {
+            JsonSerializer<NotificationMessage> json = new JsonSerializer<>();
+            json.setAddTypeInfo(false);
+            jsonSerializer = json;
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, NotificationMessage notification) {
+        if (notification == null) {
+            return null;
+        }
+        return jsonSerializer != null
+                ? jsonSerializer.serialize(topic, notification)
+                : NotificationMessageCodec.encode(notification);
+    }
+
+    @Override
+    public void close() {
+        if (jsonSerializer != null) {
+            jsonSerializer.close();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.taskmanagement.event;
+
+import com.taskmanagement.model.Task;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * The same event for many tasks at once (e.g. the reminders of one scan chunk),
+ * so the listener can write all their notifications to the outbox in one statement.
+ */
+@Getter
+public class TaskBatchEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<Task> tasks;  // Only ever published in-process
+    private final TaskEvent.EventType eventType;
+
+    public TaskBatchEvent(Object source, List<Task> tasks, TaskEvent.EventType eventType) {
+        super(source);
+        this.tasks = tasks;
+        this.eventType = eventType;
+    }
+}
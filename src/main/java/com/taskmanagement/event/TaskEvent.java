@@ -22,7 +22,9 @@ public class TaskEvent extends ApplicationEvent {
         STATUS_CHANGED,
         ASSIGNED,
         DELETED,
-        REMINDER
+        REMINDER,
+        ESCALATION,
+        OVERDUE
     }
 }
 
@@ -1,169 +1,168 @@
 package com.taskmanagement.event;
 
 import com.taskmanagement.model.Task;
-import com.taskmanagement.service.NotificationService;
+import com.taskmanagement.model.User;
+import com.taskmanagement.service.NotificationOutboxService;
+import com.taskmanagement.service.NotificationStageMetrics;
+import com.taskmanagement.service.NotificationTemplateEngine;
+import com.taskmanagement.service.QuietHoursPolicy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * TaskEventListener - Handles task events and publishes notifications to Kafka.
+ * TaskEventListener - Handles task events and writes notifications to the outbox.
  *
- * IMPORTANT: Uses @TransactionalEventListener instead of @EventListener to ensure:
- * 1. Events are only processed AFTER the database transaction commits successfully
+ * IMPORTANT: Uses @TransactionalEventListener with BEFORE_COMMIT to ensure:
+ * 1. Notifications are stored in the outbox in the SAME transaction as the task change
  * 2. No notifications are sent if the transaction rolls back
- * 3. Listeners can safely read committed data from the database
+ * 3. A committed change always gets its notifications, even if the JVM dies right after commit
  *
- * Phase: AFTER_COMMIT - Listener executes only after successful transaction commit
+ * The outbox is drained to Kafka in batches by NotificationOutboxRelay.
+ * In claim-check mode the notification only references the task and the recipient and is
+ * rendered by the consumer at send time, so it never carries a stale body.
+ * Notifications raised during the assignee's quiet hours are deferred (see QuietHoursPolicy).
+ * Events published outside a transaction (e.g. by scheduled jobs) are handled immediately
+ * and written to the outbox in their own transaction (fallbackExecution).
+ * A TaskBatchEvent writes the notifications of all its tasks with a single outbox INSERT.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class TaskEventListener {
 
-    private final NotificationService notificationService;
+    private final NotificationOutboxService notificationOutboxService;
+    private final NotificationTemplateEngine notificationTemplateEngine;
+    private final NotificationStageMetrics notificationStageMetrics;
+    private final QuietHoursPolicy quietHoursPolicy;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.notification.claim-check.enabled:true}")
+    private boolean claimCheckEnabled;
 
     /**
-     * Handle task events after transaction commits.
-     *
-     * @TransactionalEventListener with AFTER_COMMIT ensures:
-     * - Event is processed ONLY if transaction commits successfully
-     * - If transaction rolls back, this listener will NOT execute
-     * - Database changes are visible to this listener
+     * Handle task events just before the transaction commits.
      *
-     * @Async ensures non-blocking execution in a separate thread
+     * @TransactionalEventListener with BEFORE_COMMIT ensures:
+     * - The outbox write is part of the task's transaction
+     * - If transaction rolls back, the outbox write rolls back with it
+     * - No thread hand-off: the event is handled on the caller's thread
      */
-    @Async
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
     public void handleTaskEvent(TaskEvent event) {
-        log.info("✅ Transaction committed - Handling task event: {} for task ID: {}",
+        log.info("Handling task event: {} for task ID: {}",
                 event.getEventType(), event.getTask().getId());
+        notificationStageMetrics.record(NotificationStageMetrics.Stage.LISTENER,
+                System.currentTimeMillis() - event.getTimestamp());
 
-        Task task = event.getTask();
+        NotificationMessage.NotificationType type = notificationType(event.getEventType());
+        if (type == null) {
+            log.debug("No notification needed for event type: {}", event.getEventType());
+            return;
+        }
 
-        switch (event.getEventType()) {
-            case ASSIGNED:
-                sendAssignmentNotification(task);
-                break;
-            case STATUS_CHANGED:
-                sendStatusChangeNotification(task);
-                break;
-            case REMINDER:
-                sendReminderNotification(task);
-                break;
-            default:
-                log.debug("No notification needed for event type: {}", event.getEventType());
+        flushForClaimCheck();
+        NotificationMessage notification = buildNotification(event.getTask(), type);
+        if (notification != null) {
+            notificationOutboxService.enqueue(notification);
         }
     }
 
-    private void sendAssignmentNotification(Task task) {
-        if (task.getAssignee() == null) {
+    /**
+     * Handle a batch of task events just before the transaction commits, with one outbox write.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleTaskBatchEvent(TaskBatchEvent event) {
+        log.info("Handling {} task events: {}", event.getTasks().size(), event.getEventType());
+        notificationStageMetrics.record(NotificationStageMetrics.Stage.LISTENER,
+                System.currentTimeMillis() - event.getTimestamp());
+
+        NotificationMessage.NotificationType type = notificationType(event.getEventType());
+        if (type == null) {
+            log.debug("No notification needed for event type: {}", event.getEventType());
             return;
         }
 
-        NotificationMessage notification = NotificationMessage.builder()
-                .recipient(task.getAssignee().getEmail())
-                .subject("New Task Assigned: " + task.getTitle())
-                .message(buildAssignmentMessage(task))
-                .type(NotificationMessage.NotificationType.TASK_ASSIGNED)
-                .taskId(task.getId())
-                .timestamp(LocalDateTime.now())
-                .build();
-
-        notificationService.sendNotification(notification);
+        flushForClaimCheck();
+        List<NotificationMessage> notifications = new ArrayList<>(event.getTasks().size());
+        for (Task task : event.getTasks()) {
+            NotificationMessage notification = buildNotification(task, type);
+            if (notification != null) {
+                notifications.add(notification);
+            }
+        }
+        notificationOutboxService.enqueueAll(notifications);
     }
 
-    private void sendStatusChangeNotification(Task task) {
-        if (task.getAssignee() == null) {
-            return;
+    private static NotificationMessage.NotificationType notificationType(TaskEvent.EventType eventType) {
+        switch (eventType) {
+            case ASSIGNED:
+                return NotificationMessage.NotificationType.TASK_ASSIGNED;
+            case STATUS_CHANGED:
+                return NotificationMessage.NotificationType.TASK_STATUS_CHANGED;
+            case REMINDER:
+                return NotificationMessage.NotificationType.TASK_REMINDER;
+            case ESCALATION:
+                return NotificationMessage.NotificationType.TASK_ESCALATION;
+            case OVERDUE:
+                return NotificationMessage.NotificationType.TASK_OVERDUE;
+            default:
+                return null;
         }
+    }
 
-        NotificationMessage notification = NotificationMessage.builder()
-                .recipient(task.getAssignee().getEmail())
-                .subject("Task Status Updated: " + task.getTitle())
-                .message(buildStatusChangeMessage(task))
-                .type(NotificationMessage.NotificationType.TASK_STATUS_CHANGED)
-                .taskId(task.getId())
-                .timestamp(LocalDateTime.now())
-                .build();
-
-        notificationService.sendNotification(notification);
+    /**
+     * In claim-check mode flush first, so task versions reflect this transaction's changes.
+     */
+    private void flushForClaimCheck() {
+        if (claimCheckEnabled && TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
     }
 
-    private void sendReminderNotification(Task task) {
-        if (task.getAssignee() == null) {
-            return;
+    /**
+     * @return The notification for the task's assignee (escalations: its creator), or null if
+     * the task is unassigned or has no creator to escalate to
+     */
+    private NotificationMessage buildNotification(Task task, NotificationMessage.NotificationType type) {
+        User recipient = type == NotificationMessage.NotificationType.TASK_ESCALATION
+                ? task.getCreatedBy()
+                : task.getAssignee();
+        if (task.getAssignee() == null || recipient == null) {
+            return null;
         }
 
-        NotificationMessage notification = NotificationMessage.builder()
-                .recipient(task.getAssignee().getEmail())
-                .subject("Task Reminder: " + task.getTitle())
-                .message(buildReminderMessage(task))
-                .type(NotificationMessage.NotificationType.TASK_REMINDER)
+        NotificationLane lane = NotificationLane.of(type, task.getPriority());
+        NotificationMessage.NotificationMessageBuilder notification = NotificationMessage.builder()
+                .type(type)
                 .taskId(task.getId())
                 .timestamp(LocalDateTime.now())
-                .build();
-
-        notificationService.sendNotification(notification);
-    }
-
-    private String buildAssignmentMessage(Task task) {
-        return String.format(
-                "Hello %s,\n\n" +
-                "You have been assigned a new task:\n\n" +
-                "Title: %s\n" +
-                "Description: %s\n" +
-                "Priority: %s\n" +
-                "Due Date: %s\n\n" +
-                "Please review and start working on it.\n\n" +
-                "Best regards,\n" +
-                "Task Management System",
-                task.getAssignee().getFirstName() != null ? task.getAssignee().getFirstName() : task.getAssignee().getUsername(),
-                task.getTitle(),
-                task.getDescription() != null ? task.getDescription() : "N/A",
-                task.getPriority(),
-                task.getDueDate() != null ? task.getDueDate().toString() : "N/A"
-        );
-    }
-
-    private String buildStatusChangeMessage(Task task) {
-        return String.format(
-                "Hello %s,\n\n" +
-                "The status of your task has been updated:\n\n" +
-                "Title: %s\n" +
-                "New Status: %s\n" +
-                "Priority: %s\n\n" +
-                "Best regards,\n" +
-                "Task Management System",
-                task.getAssignee().getFirstName() != null ? task.getAssignee().getFirstName() : task.getAssignee().getUsername(),
-                task.getTitle(),
-                task.getStatus(),
-                task.getPriority()
-        );
-    }
+                .lane(lane)
+                .recipientId(recipient.getId())
+                .deliverAt(quietHoursPolicy.deliverAt(recipient, lane));
+
+        if (claimCheckEnabled) {
+            // Only reference the task and recipient, the consumer renders at send time
+            notification.taskVersion(task.getVersion());
+        } else {
+            NotificationTemplateEngine.RenderedNotification rendered = notificationTemplateEngine.render(type, task, recipient);
+            notification.recipient(recipient.getEmail())
+                    .subject(rendered.subject())
+                    .message(rendered.body());
+        }
 
-    private String buildReminderMessage(Task task) {
-        return String.format(
-                "Hello %s,\n\n" +
-                "This is a reminder about your upcoming task:\n\n" +
-                "Title: %s\n" +
-                "Description: %s\n" +
-                "Priority: %s\n" +
-                "Due Date: %s\n\n" +
-                "Please ensure you complete it on time.\n\n" +
-                "Best regards,\n" +
-                "Task Management System",
-                task.getAssignee().getFirstName() != null ? task.getAssignee().getFirstName() : task.getAssignee().getUsername(),
-                task.getTitle(),
-                task.getDescription() != null ? task.getDescription() : "N/A",
-                task.getPriority(),
-                task.getDueDate() != null ? task.getDueDate().toString() : "N/A"
-        );
+        return notification.build();
     }
 }
-
@@ -0,0 +1,27 @@
+package com.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "delivered_notifications", indexes = {
+    @Index(name = "idx_delivered_at", columnList = "delivered_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeliveredNotification {
+
+    @Id
+    @Column(name = "delivery_key", length = 64)
+    private String deliveryKey;  // notification ID + ":" + channel
+
+    @Column(name = "delivered_at", nullable = false)
+    private LocalDateTime deliveredAt;
+}
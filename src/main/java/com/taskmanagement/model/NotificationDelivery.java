@@ -0,0 +1,66 @@
+package com.taskmanagement.model;
+
+import com.taskmanagement.event.NotificationChannel;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ledger entry for one delivery attempt of a notification on one channel, per task it
+ * covers (a digest is recorded once for each of its tasks).
+ * Written in batches by NotificationDeliveryLedger.
+ */
+@Entity
+@Table(name = "notification_deliveries", indexes = {
+    @Index(name = "idx_delivery_task", columnList = "task_id, id"),
+    @Index(name = "idx_delivery_recipient", columnList = "recipient, id"),
+    @Index(name = "idx_delivery_recorded_at", columnList = "recorded_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "notification_id", length = 36)
+    private String notificationId;
+
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private NotificationChannel channel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private DeliveryStatus status;
+
+    @Column(nullable = false)
+    private Integer attempt;  // 1 for the first delivery attempt
+
+    @Column(name = "latency_ms")
+    private Long latencyMs;  // From notification creation to this attempt's outcome
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    public enum DeliveryStatus {
+        DELIVERED,
+        FAILED
+    }
+}
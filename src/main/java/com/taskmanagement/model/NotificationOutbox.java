@@ -0,0 +1,45 @@
+package com.taskmanagement.model;
+
+import com.taskmanagement.event.NotificationLane;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_outbox", indexes = {
+    @Index(name = "idx_outbox_created_at", columnList = "created_at"),
+    @Index(name = "idx_outbox_recipient", columnList = "recipient"),
+    @Index(name = "idx_outbox_lane", columnList = "lane, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private NotificationLane lane;  // HIGH entries are due immediately
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;  // NotificationMessage as JSON
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,27 @@
+package com.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduler_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerLease {
+
+    @Id
+    private Integer shard;
+
+    @Column(length = 64)
+    private String owner;  // Node ID of the holder, null if released
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;  // Database time; the shard is free once it has passed
+}
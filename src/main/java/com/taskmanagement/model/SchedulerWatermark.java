@@ -0,0 +1,28 @@
+package com.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduler_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerWatermark {
+
+    @Id
+    @Column(length = 64)
+    private String name;  // Job and shard, e.g. overdue:3
+
+    @Column(name = "watermark_at", nullable = false)
+    private LocalDateTime watermarkAt;
+
+    @Column(name = "watermark_id", nullable = false)
+    private Long watermarkId;  // Last task ID processed at watermarkAt, breaks ties between equal times
+}
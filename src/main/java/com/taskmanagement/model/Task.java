@@ -58,8 +58,9 @@ public class Task {
     @Builder.Default
     private List<FileAttachment> attachments = new ArrayList<>();
 
-    @Column(name = "reminder_sent")
-    private Boolean reminderSent = false;
+    @Column(name = "reminders_sent", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer remindersSent = 0;  // Bitmask of the reminder thresholds already fired (see ReminderSchedule)
 
     @Column(name = "estimated_hours")
     private Integer estimatedHours;
@@ -81,6 +82,10 @@ public class Task {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;  // Lets claim-check notifications detect stale cached copies
+
     public enum TaskStatus {
         TODO,
         IN_PROGRESS,
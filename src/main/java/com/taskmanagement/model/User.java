@@ -42,6 +42,9 @@ public class User {
     @Column(name = "phone_number")
     private String phoneNumber;
 
+    @Column(name = "time_zone")
+    private String timeZone;  // IANA zone ID (e.g. Europe/Berlin), used for quiet hours
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private UserRole role;
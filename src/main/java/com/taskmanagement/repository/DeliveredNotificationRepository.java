@@ -0,0 +1,18 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.model.DeliveredNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface DeliveredNotificationRepository extends JpaRepository<DeliveredNotification, String> {
+
+    @Modifying
+    @Query("DELETE FROM DeliveredNotification d WHERE d.deliveredAt < :cutoff")
+    int deleteDeliveredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
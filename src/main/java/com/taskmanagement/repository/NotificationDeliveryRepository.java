@@ -0,0 +1,28 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.model.NotificationDelivery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NotificationDeliveryRepository extends JpaRepository<NotificationDelivery, Long> {
+
+    /**
+     * Keyset page of a task's deliveries, newest first, strictly before the cursor ID.
+     */
+    @Query("SELECT d FROM NotificationDelivery d WHERE d.taskId = :taskId AND d.id < :cursor ORDER BY d.id DESC")
+    List<NotificationDelivery> findByTaskIdBefore(@Param("taskId") Long taskId, @Param("cursor") Long cursor,
+                                                  Pageable pageable);
+
+    /**
+     * Keyset page of a recipient's deliveries, newest first, strictly before the cursor ID.
+     */
+    @Query("SELECT d FROM NotificationDelivery d WHERE d.recipient = :recipient AND d.id < :cursor ORDER BY d.id DESC")
+    List<NotificationDelivery> findByRecipientBefore(@Param("recipient") String recipient, @Param("cursor") Long cursor,
+                                                     Pageable pageable);
+}
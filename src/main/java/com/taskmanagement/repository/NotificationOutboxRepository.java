@@ -0,0 +1,36 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.model.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * Lock the oldest HIGH lane entries, which are due immediately. Rows locked by another relay are skipped.
+     */
+    @Query(value = "SELECT * FROM notification_outbox WHERE lane = 'HIGH' ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<NotificationOutbox> claimHigh(@Param("limit") int limit);
+
+    /**
+     * Lock the oldest entries created before the cutoff. Rows locked by another relay are skipped.
+     */
+    @Query(value = "SELECT * FROM notification_outbox WHERE created_at <= :cutoff ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<NotificationOutbox> claimDue(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Lock every pending entry for the given recipients. Rows locked by another relay are skipped.
+     */
+    @Query(value = "SELECT * FROM notification_outbox WHERE recipient IN (:recipients) ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<NotificationOutbox> claimForRecipients(@Param("recipients") Collection<String> recipients, @Param("limit") int limit);
+}
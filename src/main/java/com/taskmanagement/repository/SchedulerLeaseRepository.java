@@ -0,0 +1,75 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.model.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Shard leases. All expiry checks use the database clock, so nodes with skewed clocks agree.
+ */
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, Integer> {
+
+    /**
+     * Create the lease rows of shards that do not exist yet, unowned.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_leases (shard, expires_at) SELECT s, now() FROM generate_series(0, :shards - 1) s "
+            + "ON CONFLICT (shard) DO NOTHING", nativeQuery = true)
+    int createShards(@Param("shards") int shards);
+
+    /**
+     * Extend every lease held by the node.
+     */
+    @Modifying
+    @Query(value = "UPDATE scheduler_leases SET expires_at = now() + :ttlMillis * INTERVAL '1 millisecond' "
+            + "WHERE owner = :owner", nativeQuery = true)
+    int renew(@Param("owner") String owner, @Param("ttlMillis") long ttlMillis);
+
+    /**
+     * Take over the lowest free or expired shard. Rows locked by another node are skipped.
+     *
+     * @return 1 if a shard was acquired, 0 if none is available
+     */
+    @Modifying
+    @Query(value = "UPDATE scheduler_leases SET owner = :owner, expires_at = now() + :ttlMillis * INTERVAL '1 millisecond' "
+            + "WHERE shard = (SELECT shard FROM scheduler_leases WHERE (owner IS NULL OR expires_at <= now()) "
+            + "AND shard < :shards ORDER BY shard LIMIT 1 FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int acquireOne(@Param("owner") String owner, @Param("ttlMillis") long ttlMillis, @Param("shards") int shards);
+
+    @Query(value = "SELECT shard FROM scheduler_leases WHERE owner = :owner AND expires_at > now() AND shard < :shards "
+            + "ORDER BY shard", nativeQuery = true)
+    List<Integer> findHeld(@Param("owner") String owner, @Param("shards") int shards);
+
+    @Modifying
+    @Query(value = "UPDATE scheduler_leases SET owner = NULL, expires_at = now() WHERE shard = :shard AND owner = :owner",
+            nativeQuery = true)
+    int release(@Param("shard") int shard, @Param("owner") String owner);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE scheduler_leases SET owner = NULL, expires_at = now() WHERE owner = :owner", nativeQuery = true)
+    int releaseAll(@Param("owner") String owner);
+
+    /**
+     * Lock the lease row for the rest of the transaction if the node still holds the shard,
+     * so it cannot change hands while the transaction works on the shard.
+     */
+    @Query(value = "SELECT shard FROM scheduler_leases WHERE shard = :shard AND owner = :owner AND expires_at > now() "
+            + "FOR UPDATE", nativeQuery = true)
+    List<Integer> lockIfHeld(@Param("shard") int shard, @Param("owner") String owner);
+
+    /**
+     * Lock the lease rows of the given shards for the rest of the transaction, whoever holds them.
+     */
+    @Query(value = "SELECT shard FROM scheduler_leases WHERE shard IN (:shards) ORDER BY shard FOR UPDATE",
+            nativeQuery = true)
+    List<Integer> lockAll(@Param("shards") Collection<Integer> shards);
+}
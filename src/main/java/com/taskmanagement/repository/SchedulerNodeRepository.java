@@ -0,0 +1,26 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.model.SchedulerNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchedulerNodeRepository extends JpaRepository<SchedulerNode, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_nodes (node_id, heartbeat_at) VALUES (:nodeId, now()) "
+            + "ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = now()", nativeQuery = true)
+    int heartbeat(@Param("nodeId") String nodeId);
+
+    @Query(value = "SELECT count(*) FROM scheduler_nodes WHERE heartbeat_at > now() - :ttlMillis * INTERVAL '1 millisecond'",
+            nativeQuery = true)
+    long countAlive(@Param("ttlMillis") long ttlMillis);
+
+    @Modifying
+    @Query(value = "DELETE FROM scheduler_nodes WHERE heartbeat_at <= now() - :ttlMillis * INTERVAL '1 millisecond'",
+            nativeQuery = true)
+    int deleteDead(@Param("ttlMillis") long ttlMillis);
+}
@@ -0,0 +1,9 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.model.SchedulerWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchedulerWatermarkRepository extends JpaRepository<SchedulerWatermark, String> {
+}
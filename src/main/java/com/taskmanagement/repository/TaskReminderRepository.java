@@ -0,0 +1,36 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.dto.TaskNotificationDTO;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reminder queries over the threshold bitmask Task.remindersSent.
+ *
+ * The queries take the due-date cutoff of every reminder bit (see ReminderSchedule.cutoffs):
+ * bit i is due for a task whose due date is at or before cutoffs.get(i). The due mask is
+ * evaluated in SQL for all bits at once, so more thresholds do not mean more queries.
+ */
+public interface TaskReminderRepository {
+
+    /**
+     * Keyset chunk of one shard's open tasks with at least one due reminder bit not fired yet,
+     * in (dueDate, id) order strictly after (afterDueDate, afterId). A task belongs to shard
+     * id % shards. Start a scan at the current time: tasks already past due are left to the
+     * overdue notification.
+     */
+    List<TaskNotificationDTO> findReminderChunk(List<LocalDateTime> cutoffs, int shards, int shard,
+                                                LocalDateTime afterDueDate, long afterId, int limit);
+
+    /**
+     * The given open tasks with at least one due reminder bit not fired yet.
+     */
+    List<TaskNotificationDTO> findRemindersByIdIn(List<LocalDateTime> cutoffs, Collection<Long> ids);
+
+    /**
+     * Set the due reminder bits of the given tasks with one bitwise UPDATE.
+     */
+    int markRemindersSent(List<LocalDateTime> cutoffs, Collection<Long> ids);
+}
@@ -0,0 +1,86 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.dto.TaskNotificationDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JPQL for TaskReminderRepository, built for the number of cutoffs. The due mask of a task is
+ * the sum of one CASE per bit. Scans are bounded by due date on both sides and walk it in
+ * (dueDate, id) order, so they read a range of idx_task_due_date rather than the whole table.
+ */
+class TaskReminderRepositoryImpl implements TaskReminderRepository {
+
+    private static final String SELECT = "SELECT new com.taskmanagement.dto.TaskNotificationDTO(t.id, t.title, "
+            + "t.description, t.status, t.priority, t.dueDate, t.version, "
+            + "a.id, a.username, a.email, a.firstName, a.timeZone, "
+            + "c.id, c.username, c.email, c.firstName, c.timeZone, t.remindersSent, %1$s) "
+            + "FROM Task t LEFT JOIN t.assignee a LEFT JOIN t.createdBy c "
+            + "WHERE %2$s AND t.dueDate <= :maxCutoff AND bitand(t.remindersSent, %1$s) <> %1$s "
+            + "AND t.status NOT IN ('COMPLETED', 'CANCELLED') ORDER BY t.dueDate, t.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskNotificationDTO> findReminderChunk(List<LocalDateTime> cutoffs, int shards, int shard,
+                                                       LocalDateTime afterDueDate, long afterId, int limit) {
+        TypedQuery<TaskNotificationDTO> query = entityManager.createQuery(
+                String.format(SELECT, dueMask(cutoffs), "t.dueDate >= :afterDueDate "
+                        + "AND (t.dueDate > :afterDueDate OR t.id > :afterId) AND MOD(t.id, :shards) = :shard"),
+                TaskNotificationDTO.class);
+        setCutoffs(query, cutoffs);
+        return query.setParameter("afterDueDate", afterDueDate)
+                .setParameter("afterId", afterId)
+                .setParameter("shards", shards)
+                .setParameter("shard", shard)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<TaskNotificationDTO> findRemindersByIdIn(List<LocalDateTime> cutoffs, Collection<Long> ids) {
+        TypedQuery<TaskNotificationDTO> query = entityManager.createQuery(
+                String.format(SELECT, dueMask(cutoffs), "t.id IN :ids"), TaskNotificationDTO.class);
+        setCutoffs(query, cutoffs);
+        return query.setParameter("ids", ids).getResultList();
+    }
+
+    @Override
+    public int markRemindersSent(List<LocalDateTime> cutoffs, Collection<Long> ids) {
+        Query update = entityManager.createQuery("UPDATE Task t SET t.remindersSent = bitor(t.remindersSent, "
+                + dueMask(cutoffs) + ") WHERE t.id IN :ids");
+        for (int bit = 0; bit < cutoffs.size(); bit++) {
+            update.setParameter("cutoff" + bit, cutoffs.get(bit));
+        }
+        return update.setParameter("ids", ids).executeUpdate();
+    }
+
+    private static String dueMask(List<LocalDateTime> cutoffs) {
+        StringBuilder mask = new StringBuilder("(");
+        for (int bit = 0; bit < cutoffs.size(); bit++) {
+            if (bit > 0) {
+                mask.append(" + ");
+            }
+            mask.append("CASE WHEN t.dueDate <= :cutoff").append(bit).append(" THEN ").append(1 << bit).append(" ELSE 0 END");
+        }
+        return mask.append(")").toString();
+    }
+
+    private static void setCutoffs(Query query, List<LocalDateTime> cutoffs) {
+        LocalDateTime maxCutoff = cutoffs.get(0);
+        for (int bit = 0; bit < cutoffs.size(); bit++) {
+            query.setParameter("cutoff" + bit, cutoffs.get(bit));
+            if (cutoffs.get(bit).isAfter(maxCutoff)) {
+                maxCutoff = cutoffs.get(bit);
+            }
+        }
+        query.setParameter("maxCutoff", maxCutoff);
+    }
+}
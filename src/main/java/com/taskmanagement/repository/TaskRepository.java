@@ -1,6 +1,9 @@
 package com.taskmanagement.repository;
 
+import com.taskmanagement.dto.TaskDueDateDTO;
+import com.taskmanagement.dto.TaskNotificationDTO;
 import com.taskmanagement.model.Task;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -8,10 +11,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskReminderRepository {
 
     List<Task> findByStatus(Task.TaskStatus status);
 
@@ -21,8 +26,49 @@ public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificat
 
     List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end);
 
-    @Query("SELECT t FROM Task t WHERE t.dueDate <= :dueDate AND t.reminderSent = false AND t.status NOT IN ('COMPLETED', 'CANCELLED')")
-    List<Task> findTasksNeedingReminder(@Param("dueDate") LocalDateTime dueDate);
+    /**
+     * Due dates and fired bits of the given open tasks with a due date.
+     */
+    @Query("SELECT new com.taskmanagement.dto.TaskDueDateDTO(t.id, t.dueDate, t.remindersSent) FROM Task t "
+            + "WHERE t.id IN :ids AND t.dueDate IS NOT NULL AND t.status NOT IN ('COMPLETED', 'CANCELLED')")
+    List<TaskDueDateDTO> findDueDatesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset chunk of one shard's open tasks whose due date lies in the range
+     * ((afterDueDate, afterId), untilDueDate] and with reminder bits left to fire, in
+     * (dueDate, id) order: IDs, due dates and fired bits only. Uses idx_task_due_date.
+     */
+    @Query("SELECT new com.taskmanagement.dto.TaskDueDateDTO(t.id, t.dueDate, t.remindersSent) FROM Task t "
+            + "WHERE t.dueDate >= :afterDueDate AND t.dueDate <= :untilDueDate "
+            + "AND (t.dueDate > :afterDueDate OR t.id > :afterId) AND MOD(t.id, :shards) = :shard "
+            + "AND bitand(t.remindersSent, :allMask) <> :allMask "
+            + "AND t.status NOT IN ('COMPLETED', 'CANCELLED') ORDER BY t.dueDate, t.id")
+    List<TaskDueDateDTO> findPendingReminderDueDates(@Param("afterDueDate") LocalDateTime afterDueDate,
+                                                     @Param("afterId") Long afterId,
+                                                     @Param("untilDueDate") LocalDateTime untilDueDate,
+                                                     @Param("allMask") int allMask,
+                                                     @Param("shards") int shards, @Param("shard") int shard,
+                                                     Pageable pageable);
+
+    /**
+     * Keyset chunk of one shard's open tasks whose due date lies in the watermark range
+     * ((afterDueDate, afterId), untilDueDate], in (dueDate, id) order. Uses idx_task_due_date.
+     */
+    @Query("SELECT new com.taskmanagement.dto.TaskNotificationDTO(t.id, t.title, t.description, t.status, t.priority, "
+            + "t.dueDate, t.version, a.id, a.username, a.email, a.firstName, a.timeZone, "
+            + "c.id, c.username, c.email, c.firstName, c.timeZone, t.remindersSent, 0) "
+            + "FROM Task t LEFT JOIN t.assignee a LEFT JOIN t.createdBy c "
+            + "WHERE t.dueDate >= :afterDueDate AND t.dueDate <= :untilDueDate "
+            + "AND (t.dueDate > :afterDueDate OR t.id > :afterId) AND MOD(t.id, :shards) = :shard "
+            + "AND t.status NOT IN ('COMPLETED', 'CANCELLED') ORDER BY t.dueDate, t.id")
+    List<TaskNotificationDTO> findOverdueChunk(@Param("afterDueDate") LocalDateTime afterDueDate,
+                                               @Param("afterId") Long afterId,
+                                               @Param("untilDueDate") LocalDateTime untilDueDate,
+                                               @Param("shards") int shards, @Param("shard") int shard,
+                                               Pageable pageable);
+
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.assignee WHERE t.id IN :ids")
+    List<Task> findAllWithAssigneeByIdIn(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT t FROM Task t WHERE t.assignee.id = :assigneeId AND t.status = :status")
     List<Task> findByAssigneeIdAndStatus(@Param("assigneeId") Long assigneeId, @Param("status") Task.TaskStatus status);
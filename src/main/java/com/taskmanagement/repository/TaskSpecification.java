@@ -35,7 +35,9 @@ public class TaskSpecification {
             }
 
             if (filter.getReminderSent() != null) {
-                predicates.add(criteriaBuilder.equal(root.get("reminderSent"), filter.getReminderSent()));
+                predicates.add(filter.getReminderSent()
+                        ? criteriaBuilder.notEqual(root.get("remindersSent"), 0)
+                        : criteriaBuilder.equal(root.get("remindersSent"), 0));
             }
 
             if (filter.getSearchTerm() != null && !filter.getSearchTerm().isEmpty()) {
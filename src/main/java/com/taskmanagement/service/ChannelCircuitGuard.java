@@ -0,0 +1,96 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.service.channel.ChannelCircuitBreaker;
+import com.taskmanagement.service.channel.DeliveryChannelRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Couples the channel circuit breakers to notification consumption.
+ *
+ * While a channel's circuit is open or half-open, consumption of every lane is paused
+ * with a reason per channel, so an outage does not burn through the backlog by failing
+ * each record into the retry topics; the offsets simply stay uncommitted. Lanes feed all
+ * channels, so no lane can keep running for the healthy channels alone. The retry
+ * consumers wait as well (see NotificationRetryConsumerService).
+ *
+ * Every probe interval, open circuits whose open interval has elapsed go half-open and
+ * probe their channel inside its bulkhead. A successful probe closes the circuit and
+ * resumes consumption, and the backlog drains at the rate limiter's pace.
+ */
+@Component
+@Slf4j
+public class ChannelCircuitGuard {
+
+    private final DeliveryChannelRegistry deliveryChannelRegistry;
+    private final ConsumptionController consumptionController;
+    private final ExecutorService deliveryExecutor;
+
+    public ChannelCircuitGuard(DeliveryChannelRegistry deliveryChannelRegistry,
+                               ConsumptionController consumptionController,
+                               @Qualifier("deliveryExecutor") ExecutorService deliveryExecutor,
+                               MeterRegistry meterRegistry) {
+        this.deliveryChannelRegistry = deliveryChannelRegistry;
+        this.consumptionController = consumptionController;
+        this.deliveryExecutor = deliveryExecutor;
+
+        deliveryChannelRegistry.circuitBreakers().forEach((channel, circuitBreaker) -> {
+            circuitBreaker.addListener(this::onStateChange);
+            Gauge.builder("notifications.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                    .tag("channel", channel.name())
+                    .description("Circuit breaker state: 0 closed, 1 half-open, 2 open")
+                    .register(meterRegistry);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.circuit-breaker.probe-interval-ms:1000}")
+    public void probe() {
+        deliveryChannelRegistry.circuitBreakers().forEach((channel, circuitBreaker) -> {
+            if (circuitBreaker.tryStartProbe()) {
+                CompletableFuture.runAsync(() -> circuitBreaker.onProbeResult(probe(channel)), deliveryExecutor);
+            }
+        });
+    }
+
+    private boolean probe(NotificationChannel channel) {
+        try {
+            deliveryChannelRegistry.bulkhead(channel).execute(() -> {
+                try {
+                    deliveryChannelRegistry.channel(channel).probe();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            });
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.warn("🔌 {} probe failed: {}", channel, e.getMessage());
+            return false;
+        }
+    }
+
+    private void onStateChange(NotificationChannel channel, ChannelCircuitBreaker.State state) {
+        String reason = "circuit open for " + channel;
+        switch (state) {
+            case OPEN:
+                consumptionController.pause(reason);
+                break;
+            case CLOSED:
+                log.info("🔌 {} circuit closed, resuming notification consumption", channel);
+                consumptionController.resume(reason);
+                break;
+            default:
+                log.info("🔌 {} circuit half-open, probing", channel);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationLane;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Adapts the consumption of each priority lane to its backlog.
+ *
+ * Every check interval the autoscaler reads the lane's lag - the Kafka consumer's
+ * records-lag metric, or the ring buffer backlog of the in-process transport - and the
+ * average processing time per record from InFlightBatchTracker, and turns two knobs:
+ * - the lane's in-flight limit: raised while the lane is backlogged and saturates its
+ *   limit with batches finishing within target-record-ms per record, lowered while they
+ *   take longer than that (more in flight would only queue up in front of the provider),
+ *   and restored toward the lane's configured share once they are fast again, whatever the
+ *   lag (a quiet lane forgets its batch time, see InFlightBatchTracker).
+ *   The time is compared per record because a full batch always takes batch size / rate
+ *   at the rate limiter's pace, however healthy the provider is.
+ * - the number of consumers of the lane's container: raised while the lane is backlogged
+ *   without saturating its in-flight limit (fetching is the bottleneck), lowered once the
+ *   lag has stayed low. Changing it restarts the container, so it has its own cooldown.
+ *
+ * Hysteresis: lag above lag-high counts as backlogged, lag below lag-low as idle, and
+ * anything in between resets both. A condition has to hold for stable-checks consecutive
+ * checks before the autoscaler acts, and every action starts the count over.
+ */
+@Component
+@Slf4j
+public class ConsumerAutoscaler {
+
+    private static final String KAFKA_LAG_METRIC = "kafka.consumer.fetch.manager.records.lag";
+    private static final String TRANSPORT_BACKLOG_METRIC = "notifications.transport.backlog";
+    private static final double SATURATION = 0.8;
+
+    private final InFlightBatchTracker inFlightBatchTracker;
+    private final ConsumptionController consumptionController;
+    private final NotificationService notificationService;
+    private final MeterRegistry meterRegistry;
+    private final Map<NotificationLane, LaneScaling> lanes = new EnumMap<>(NotificationLane.class);
+
+    @Value("${app.notification.autoscale.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notification.transport:kafka}")
+    private String transport;
+
+    @Value("${app.notification.autoscale.lag-high:5000}")
+    private long lagHigh;
+
+    @Value("${app.notification.autoscale.lag-low:100}")
+    private long lagLow;
+
+    @Value("${app.notification.autoscale.target-record-ms:200}")
+    private long targetRecordMillis;
+
+    @Value("${app.notification.autoscale.stable-checks:3}")
+    private int stableChecks;
+
+    @Value("${app.notification.autoscale.in-flight-step:1.5}")
+    private double inFlightStep;
+
+    @Value("${app.notification.autoscale.max-in-flight-factor:4}")
+    private double maxInFlightFactor;
+
+    @Value("${app.notification.autoscale.min-concurrency:1}")
+    private int minConcurrency;
+
+    @Value("${app.notification.kafka.partitions:3}")
+    private int maxConcurrency;
+
+    @Value("${app.notification.autoscale.concurrency-cooldown-ms:300000}")
+    private long concurrencyCooldownMillis;
+
+    public ConsumerAutoscaler(InFlightBatchTracker inFlightBatchTracker,
+                              ConsumptionController consumptionController,
+                              NotificationService notificationService,
+                              MeterRegistry meterRegistry) {
+        this.inFlightBatchTracker = inFlightBatchTracker;
+        this.consumptionController = consumptionController;
+        this.notificationService = notificationService;
+        this.meterRegistry = meterRegistry;
+
+        for (NotificationLane lane : NotificationLane.values()) {
+            LaneScaling scaling = new LaneScaling(inFlightBatchTracker.getMaxInFlight(lane));
+            lanes.put(lane, scaling);
+            Gauge.builder("notifications.autoscaler.lag", scaling, s -> s.lag)
+                    .tag("lane", lane.name())
+                    .description("Lag of the lane as seen by the autoscaler at its last check")
+                    .register(meterRegistry);
+            Gauge.builder("notifications.autoscaler.concurrency", lane, consumptionController::getConcurrency)
+                    .tag("lane", lane.name())
+                    .description("Consumers of the lane's listener container")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.autoscale.check-interval-ms:10000}")
+    public void check() {
+        if (!enabled) {
+            return;
+        }
+        lanes.forEach(this::check);
+    }
+
+    private void check(NotificationLane lane, LaneScaling scaling) {
+        scaling.lag = lag(lane);
+        double recordMillis = inFlightBatchTracker.averageRecordMillis(lane);
+        int maxInFlight = inFlightBatchTracker.getMaxInFlight(lane);
+        boolean saturated = inFlightBatchTracker.getInFlight(lane) >= maxInFlight * SATURATION;
+        boolean slow = recordMillis > targetRecordMillis;
+
+        if (slow) {
+            scaling.backlogged = 0;
+            scaling.idle = 0;
+            scaling.recovering = 0;
+            if (++scaling.slow >= stableChecks && maxInFlight > scaling.baseInFlight / maxInFlightFactor) {
+                setMaxInFlight(lane, scaling, (int) Math.max(scaling.baseInFlight / maxInFlightFactor,
+                        maxInFlight / inFlightStep), "in-flight-down");
+            }
+            return;
+        }
+        scaling.slow = 0;
+
+        if (maxInFlight < scaling.baseInFlight) {
+            scaling.backlogged = 0;
+            scaling.idle = 0;
+            if (++scaling.recovering >= stableChecks) {
+                setMaxInFlight(lane, scaling, (int) Math.min(scaling.baseInFlight, Math.ceil(maxInFlight * inFlightStep)),
+                        "in-flight-restore");
+            }
+            return;
+        }
+        scaling.recovering = 0;
+
+        if (scaling.lag > lagHigh) {
+            scaling.idle = 0;
+            if (++scaling.backlogged < stableChecks) {
+                return;
+            }
+            if (saturated && maxInFlight < scaling.baseInFlight * maxInFlightFactor) {
+                setMaxInFlight(lane, scaling, (int) Math.min(scaling.baseInFlight * maxInFlightFactor,
+                        Math.ceil(maxInFlight * inFlightStep)), "in-flight-up");
+            } else if (!saturated) {
+                changeConcurrency(lane, scaling, +1, "concurrency-up");
+            }
+        } else if (scaling.lag < lagLow) {
+            scaling.backlogged = 0;
+            if (++scaling.idle < stableChecks) {
+                return;
+            }
+            if (!changeConcurrency(lane, scaling, -1, "concurrency-down") && maxInFlight > scaling.baseInFlight) {
+                setMaxInFlight(lane, scaling, (int) Math.max(scaling.baseInFlight, maxInFlight / inFlightStep),
+                        "in-flight-down");
+            }
+        } else {
+            scaling.backlogged = 0;
+            scaling.idle = 0;
+        }
+    }
+
+    private void setMaxInFlight(NotificationLane lane, LaneScaling scaling, int maxInFlight, String action) {
+        log.info("📐 {} lane: max in flight {} → {} (lag {}, {} ms per record)", lane,
+                inFlightBatchTracker.getMaxInFlight(lane), maxInFlight, scaling.lag,
+                Math.round(inFlightBatchTracker.averageRecordMillis(lane)));
+        inFlightBatchTracker.setMaxInFlight(lane, maxInFlight);
+        decided(lane, scaling, action);
+    }
+
+    /**
+     * Add or remove a consumer, unless it would leave the bounds or the cooldown has not passed.
+     *
+     * @return true if the concurrency was changed
+     */
+    private boolean changeConcurrency(NotificationLane lane, LaneScaling scaling, int delta, String action) {
+        int current = consumptionController.getConcurrency(lane);
+        int target = current + delta;
+        if (current == 0 || target < minConcurrency || target > maxConcurrency
+                || System.currentTimeMillis() - scaling.lastConcurrencyChange < concurrencyCooldownMillis) {
+            return false;
+        }
+        if (!consumptionController.setConcurrency(lane, target)) {
+            return false;
+        }
+        scaling.lastConcurrencyChange = System.currentTimeMillis();
+        decided(lane, scaling, action);
+        return true;
+    }
+
+    private void decided(NotificationLane lane, LaneScaling scaling, String action) {
+        scaling.backlogged = 0;
+        scaling.idle = 0;
+        scaling.slow = 0;
+        scaling.recovering = 0;
+        Counter.builder("notifications.autoscaler.decisions")
+                .tag("lane", lane.name())
+                .tag("action", action)
+                .description("Scaling decisions taken by the consumer autoscaler")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Records waiting in a lane topic for the lane's consumer group.
+     * The Kafka lag metric is reported per consumer, partition and topic; only the consumers
+     * of the lane's listener are counted (their client ID starts with the listener ID), so
+     * other groups reading the topic (e.g. the in-app group) are left out.
+     */
+    private long lag(NotificationLane lane) {
+        String topic = notificationService.topicFor(lane);
+        if (!"kafka".equals(transport)) {
+            Gauge backlog = meterRegistry.find(TRANSPORT_BACKLOG_METRIC).tag("topic", topic).gauge();
+            return backlog != null ? (long) backlog.value() : 0;
+        }
+
+        String listenerId = ConsumptionController.listenerId(lane);
+        double lag = 0;
+        for (Gauge gauge : meterRegistry.find(KAFKA_LAG_METRIC).tag("topic", topic).gauges()) {
+            String clientId = gauge.getId().getTag("client.id");
+            if (clientId != null && clientId.startsWith(listenerId) && !Double.isNaN(gauge.value())) {
+                lag += gauge.value();
+            }
+        }
+        return (long) lag;
+    }
+
+    private static final class LaneScaling {
+        private final int baseInFlight;
+        private volatile long lag;
+        private int backlogged;
+        private int idle;
+        private int slow;
+        private int recovering;
+        private long lastConcurrencyChange;
+
+        private LaneScaling(int baseInFlight) {
+            this.baseInFlight = baseInFlight;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationLane;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Pauses and resumes the notification listener containers, one per priority lane.
+ *
+ * Several independent conditions can ask for consumption to stop (e.g. too many
+ * records in flight). Each one pauses with its own reason, and a lane's container is
+ * resumed only once every reason for that lane has been cleared. Reasons given
+ * without a lane apply to all lanes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConsumptionController {
+
+    public static final String NOTIFICATION_LISTENER_ID = "notificationListener";
+    public static final String NOTIFICATION_HIGH_LISTENER_ID = "notificationHighListener";
+    public static final String NOTIFICATION_BULK_LISTENER_ID = "notificationBulkListener";
+
+    // One consumer group per lane, so restarting one lane's container never rebalances another
+    public static final String NOTIFICATION_GROUP_ID = "notification-consumer-group-normal";
+    public static final String NOTIFICATION_HIGH_GROUP_ID = "notification-consumer-group-high";
+    public static final String NOTIFICATION_BULK_GROUP_ID = "notification-consumer-group-bulk";
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+
+    private final Map<NotificationLane, Set<String>> pauseReasons = new EnumMap<>(NotificationLane.class);
+    private final Map<NotificationLane, Consumer<Runnable>> redeliveries = new ConcurrentHashMap<>();
+
+    /**
+     * The id of the listener container consuming a lane.
+     */
+    public static String listenerId(NotificationLane lane) {
+        switch (lane) {
+            case HIGH:
+                return NOTIFICATION_HIGH_LISTENER_ID;
+            case BULK:
+                return NOTIFICATION_BULK_LISTENER_ID;
+            default:
+                return NOTIFICATION_LISTENER_ID;
+        }
+    }
+
+    /**
+     * The consumer group of the listener container consuming a lane.
+     */
+    public static String groupId(NotificationLane lane) {
+        switch (lane) {
+            case HIGH:
+                return NOTIFICATION_HIGH_GROUP_ID;
+            case BULK:
+                return NOTIFICATION_BULK_GROUP_ID;
+            default:
+                return NOTIFICATION_GROUP_ID;
+        }
+    }
+
+    public void pause(String reason) {
+        for (NotificationLane lane : NotificationLane.values()) {
+            pause(lane, reason);
+        }
+    }
+
+    public void resume(String reason) {
+        for (NotificationLane lane : NotificationLane.values()) {
+            resume(lane, reason);
+        }
+    }
+
+    public synchronized void pause(NotificationLane lane, String reason) {
+        Set<String> reasons = pauseReasons.computeIfAbsent(lane, l -> new HashSet<>());
+        if (reasons.add(reason) && reasons.size() == 1) {
+            log.info("⏸️ Pausing {} notification consumption: {}", lane, reason);
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId(lane));
+            if (container != null) {
+                container.pause();
+            }
+        }
+    }
+
+    public synchronized void resume(NotificationLane lane, String reason) {
+        Set<String> reasons = pauseReasons.get(lane);
+        if (reasons != null && reasons.remove(reason) && reasons.isEmpty()) {
+            log.info("▶️ Resuming {} notification consumption: {} cleared", lane, reason);
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId(lane));
+            if (container != null) {
+                container.resume();
+            }
+        }
+    }
+
+    public synchronized boolean isPaused(NotificationLane lane) {
+        Set<String> reasons = pauseReasons.get(lane);
+        return reasons != null && !reasons.isEmpty();
+    }
+
+    /**
+     * The number of consumers of a lane's container, 0 if it is not running.
+     */
+    public int getConcurrency(NotificationLane lane) {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId(lane));
+        if (container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent && container.isRunning()) {
+            return concurrent.getConcurrency();
+        }
+        return 0;
+    }
+
+    /**
+     * Restart a lane's running container with a different number of consumers, keeping it
+     * paused if it is. Batches still in flight during the restart cannot commit their offsets
+     * and are redelivered; delivery deduplication keeps them from being sent twice.
+     *
+     * @return false if the lane's container is not running
+     */
+    public boolean setConcurrency(NotificationLane lane, int concurrency) {
+        return restart(lane, concurrency, () -> {
+        });
+    }
+
+    /**
+     * Restart a lane's running container with the same consumers, so every record whose offset
+     * has not been committed is polled again (e.g. after a batch failed and was not acknowledged).
+     *
+     * @param onStopped Runs once the old consumers have stopped, before the new ones start
+     * @return false if the lane's container is not running and no other redelivery is registered
+     */
+    public boolean redeliver(NotificationLane lane, Runnable onStopped) {
+        int concurrency = getConcurrency(lane);
+        if (concurrency > 0) {
+            return restart(lane, concurrency, onStopped);
+        }
+        Consumer<Runnable> redelivery = redeliveries.get(lane);
+        if (redelivery == null) {
+            return false;
+        }
+        redelivery.accept(onStopped);
+        return true;
+    }
+
+    /**
+     * Register how a lane is redelivered by a transport without listener containers
+     * (the in-process transport). The redelivery runs onStopped between two batches.
+     */
+    public void registerRedelivery(NotificationLane lane, Consumer<Runnable> redelivery) {
+        redeliveries.put(lane, redelivery);
+    }
+
+    private boolean restart(NotificationLane lane, int concurrency, Runnable onStopped) {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId(lane));
+        if (!(container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent) || !container.isRunning()) {
+            return false;
+        }
+
+        log.info("🔀 Restarting {} notification consumption with {} consumers", lane, concurrency);
+        concurrent.stop(() -> {
+            onStopped.run();
+            concurrent.setConcurrency(concurrency);
+            concurrent.start();
+            synchronized (this) {
+                if (isPaused(lane)) {
+                    concurrent.pause();
+                }
+            }
+        });
+        return true;
+    }
+}
@@ -0,0 +1,126 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.service.transport.NotificationTransport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka Consumer Service for the delay-bucket topics holding deferred notifications.
+ *
+ * A notification with a future deliverAt is published to the bucket matching its remaining
+ * delay (see NotificationService.topicFor). Every bucket has a fixed hop delay, so its records
+ * become due in offset order: a record is due when its hop delay has passed or its deliverAt
+ * is reached, whichever is first. Until the head record is due the partition is paused via
+ * nack, exactly like the retry topics - nothing is held in memory and other partitions and
+ * topics keep flowing.
+ *
+ * A due record is forwarded either to its lane topic (deliverAt reached) or to the next,
+ * smaller bucket for the rest of the delay.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeferredNotificationConsumerService {
+
+    private static final Duration FORWARD_RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final NotificationService notificationService;
+    private final NotificationTransport notificationTransport;
+
+    @Value("${app.notification.producer.send-timeout-ms:30000}")
+    private long sendTimeoutMillis;
+
+    @KafkaListener(
+            topics = "${app.notification.kafka.topic.delay-1m:notifications-delay-1m}",
+            groupId = "notification-delay-consumer-group",
+            containerFactory = "notificationRetryKafkaListenerContainerFactory"
+    )
+    public void consumeDelay1m(ConsumerRecord<String, NotificationMessage> record, Acknowledgment acknowledgment) {
+        release(record, acknowledgment, NotificationService.DELAY_1M);
+    }
+
+    @KafkaListener(
+            topics = "${app.notification.kafka.topic.delay-10m:notifications-delay-10m}",
+            groupId = "notification-delay-consumer-group",
+            containerFactory = "notificationRetryKafkaListenerContainerFactory"
+    )
+    public void consumeDelay10m(ConsumerRecord<String, NotificationMessage> record, Acknowledgment acknowledgment) {
+        release(record, acknowledgment, NotificationService.DELAY_10M);
+    }
+
+    @KafkaListener(
+            topics = "${app.notification.kafka.topic.delay-1h:notifications-delay-1h}",
+            groupId = "notification-delay-consumer-group",
+            containerFactory = "notificationRetryKafkaListenerContainerFactory"
+    )
+    public void consumeDelay1h(ConsumerRecord<String, NotificationMessage> record, Acknowledgment acknowledgment) {
+        release(record, acknowledgment, NotificationService.DELAY_1H);
+    }
+
+    @KafkaListener(
+            topics = "${app.notification.kafka.topic.delay-4h:notifications-delay-4h}",
+            groupId = "notification-delay-consumer-group",
+            containerFactory = "notificationRetryKafkaListenerContainerFactory"
+    )
+    public void consumeDelay4h(ConsumerRecord<String, NotificationMessage> record, Acknowledgment acknowledgment) {
+        release(record, acknowledgment, NotificationService.DELAY_4H);
+    }
+
+    /**
+     * Forward a deferred record once it is due.
+     * Also called by the in-process transport, which sleeps and redelivers the record on nack.
+     *
+     * @param delay The hop delay of the bucket the record was consumed from
+     */
+    public void release(ConsumerRecord<String, NotificationMessage> record, Acknowledgment acknowledgment,
+                        Duration delay) {
+        NotificationMessage notification = record.value();
+        if (notification == null) {
+            log.error("❌ Dropping undeserializable deferred record [{}-{}@{}]",
+                    record.topic(), record.partition(), record.offset());
+            acknowledgment.acknowledge();
+            return;
+        }
+
+        long due = record.timestamp() + delay.toMillis();
+        if (notification.getDeliverAt() != null) {
+            due = Math.min(due,
+                    notification.getDeliverAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        long remaining = due - System.currentTimeMillis();
+        if (remaining > 0) {
+            // Head record not due yet - pause this partition until it is and redeliver it then
+            acknowledgment.nack(Duration.ofMillis(remaining));
+            return;
+        }
+
+        String targetTopic = notificationService.topicFor(notification);
+        ProducerRecord<String, NotificationMessage> forward =
+                new ProducerRecord<>(targetTopic, record.key(), notification);
+        record.headers().forEach(header -> forward.headers().add(header));
+
+        try {
+            notificationTransport.send(forward).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+            log.debug("⏰ Deferred notification to {} moved from '{}' to '{}'",
+                    notification.recipientKey(), record.topic(), targetTopic);
+            acknowledgment.acknowledge();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("❌ Failed to forward deferred notification [{}-{}@{}] to '{}': {}",
+                    record.topic(), record.partition(), record.offset(), targetTopic, e.getMessage(), e);
+            acknowledgment.nack(FORWARD_RETRY_DELAY);
+        }
+    }
+}
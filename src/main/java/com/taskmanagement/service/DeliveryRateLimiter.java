@@ -0,0 +1,245 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationLane;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Adaptive outbound rate limiter, one token bucket per delivery channel.
+ *
+ * The rate of each bucket adapts to the provider using AIMD:
+ * - Additive increase: every successful delivery below the target latency raises the rate,
+ *   by about increase-step permits/s per second of traffic
+ * - Multiplicative decrease: a failed delivery or one slower than the target latency
+ *   multiplies the rate by decrease-factor (at most once per second)
+ * Latency is compared per message (call duration / messages in the call), so a large
+ * batch is not mistaken for a slow provider.
+ *
+ * Deliveries reserve tokens up front and may run the bucket into debt; the caller then waits
+ * until the debt including its own permits is repaid, so no caller can exceed the rate by
+ * reserving a large batch. While a channel is in debt the NORMAL and BULK listener containers
+ * are paused, and they are resumed as soon as the bucket has refilled.
+ *
+ * HIGH lane deliveries jump the queue: they still add their permits to the debt, but wait
+ * only for their own permits beyond the tokens available, never for the debt of earlier
+ * reservations. A large BULK reservation therefore cannot push HIGH deliveries past their
+ * latency budget; the reservations after it repay the HIGH permits instead.
+ */
+@Component
+@Slf4j
+public class DeliveryRateLimiter {
+
+    private static final long DECREASE_COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConsumptionController consumptionController;
+    private final Map<NotificationChannel, Bucket> buckets = new EnumMap<>(NotificationChannel.class);
+    private final ScheduledExecutorService scheduler;
+
+    @Value("${app.notification.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notification.rate-limit.min-rate:1}")
+    private double minRate;
+
+    @Value("${app.notification.rate-limit.max-rate:50}")
+    private double maxRate;
+
+    @Value("${app.notification.rate-limit.increase-step:1}")
+    private double increaseStep;
+
+    @Value("${app.notification.rate-limit.decrease-factor:0.5}")
+    private double decreaseFactor;
+
+    @Value("${app.notification.rate-limit.target-latency-ms:1000}")
+    private long targetLatencyMillis;
+
+    public DeliveryRateLimiter(ConsumptionController consumptionController,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.notification.rate-limit.initial-rate:10}") double initialRate) {
+        this.consumptionController = consumptionController;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-rate-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            Bucket bucket = new Bucket(channel, initialRate);
+            buckets.put(channel, bucket);
+            Tags tags = Tags.of("channel", channel.name());
+            Gauge.builder("notifications.ratelimit.rate", bucket, Bucket::currentRate)
+                    .tags(tags).description("Current permitted deliveries per second")
+                    .register(meterRegistry);
+            Gauge.builder("notifications.ratelimit.tokens", bucket, Bucket::availableTokens)
+                    .tags(tags).description("Tokens in the bucket (negative while in debt)")
+                    .register(meterRegistry);
+            Gauge.builder("notifications.ratelimit.paused.seconds", bucket, Bucket::pausedSeconds)
+                    .tags(tags).description("Total time consumption was paused by this channel's limiter")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Reserve permits for a delivery and wait until they may be used.
+     *
+     * @param channel The delivery channel
+     * @param lane    The lane of the delivered notifications, HIGH jumps the queue
+     * @param permits Number of messages about to be delivered
+     */
+    public void acquire(NotificationChannel channel, NotificationLane lane, int permits) throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        long waitNanos = buckets.get(channel).reserve(permits, lane == NotificationLane.HIGH);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Return permits that were acquired but not used, e.g. because the delivery was rejected
+     * before anything was sent.
+     */
+    public void release(NotificationChannel channel, int permits) {
+        if (!enabled) {
+            return;
+        }
+        buckets.get(channel).refund(permits);
+    }
+
+    /**
+     * Report the outcome of a delivery so the channel rate can adapt.
+     *
+     * @param channel       The delivery channel
+     * @param delivered     Messages delivered successfully
+     * @param failed        Messages the provider rejected
+     * @param latencyMillis Duration of the delivery call
+     */
+    public void onResult(NotificationChannel channel, int delivered, int failed, long latencyMillis) {
+        if (!enabled) {
+            return;
+        }
+        Bucket bucket = buckets.get(channel);
+        long latencyPerMessage = latencyMillis / Math.max(1, delivered + failed);
+        if (failed > 0 || latencyPerMessage > targetLatencyMillis) {
+            bucket.decrease();
+        } else if (delivered > 0) {
+            bucket.increase(delivered);
+        }
+    }
+
+    /**
+     * Lanes paused while a channel is in debt. HIGH keeps consuming, it jumps the queue anyway.
+     */
+    private static Stream<NotificationLane> throttledLanes() {
+        return Stream.of(NotificationLane.values()).filter(lane -> lane != NotificationLane.HIGH);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private final class Bucket {
+
+        private final NotificationChannel channel;
+        private final String pauseReason;
+        private double rate;
+        private double tokens;
+        private long lastRefillNanos = System.nanoTime();
+        private long lastDecreaseNanos;
+        private long pausedSinceNanos;
+        private long pausedTotalNanos;
+
+        private Bucket(NotificationChannel channel, double initialRate) {
+            this.channel = channel;
+            this.pauseReason = "rate limit: " + channel;
+            this.rate = initialRate;
+            this.tokens = initialRate;
+        }
+
+        private synchronized long reserve(int permits, boolean jumpQueue) {
+            refill();
+            double owed = permits - (jumpQueue ? Math.max(0, tokens) : tokens);
+            tokens -= permits;
+            long waitNanos = owed <= 0 ? 0 : (long) (owed / rate * 1_000_000_000L);
+            if (tokens < 0 && pausedSinceNanos == 0) {
+                pausedSinceNanos = System.nanoTime();
+                throttledLanes().forEach(lane -> consumptionController.pause(lane, pauseReason));
+                scheduleResumeCheck();
+            }
+            return waitNanos;
+        }
+
+        private synchronized void refund(int permits) {
+            refill();
+            tokens = Math.min(rate, tokens + permits);
+        }
+
+        private synchronized void increase(int delivered) {
+            rate = Math.min(maxRate, rate + increaseStep * delivered / rate);
+        }
+
+        private synchronized void decrease() {
+            long now = System.nanoTime();
+            if (now - lastDecreaseNanos < DECREASE_COOLDOWN_NANOS) {
+                return;
+            }
+            lastDecreaseNanos = now;
+            refill();
+            rate = Math.max(minRate, rate * decreaseFactor);
+            tokens = Math.min(tokens, rate);
+            log.warn("🐢 Lowering {} delivery rate to {} msg/s", channel, String.format("%.1f", rate));
+        }
+
+        private void scheduleResumeCheck() {
+            long delayNanos = Math.max(1_000_000L, (long) (-tokens / rate * 1_000_000_000L));
+            scheduler.schedule(this::resumeIfRefilled, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private synchronized void resumeIfRefilled() {
+            refill();
+            if (tokens < 0) {
+                scheduleResumeCheck();
+                return;
+            }
+            pausedTotalNanos += System.nanoTime() - pausedSinceNanos;
+            pausedSinceNanos = 0;
+            throttledLanes().forEach(lane -> consumptionController.resume(lane, pauseReason));
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            // Burst capacity: one second worth of tokens at the current rate
+            tokens = Math.min(rate, tokens + (now - lastRefillNanos) / 1_000_000_000.0 * rate);
+            lastRefillNanos = now;
+        }
+
+        private synchronized double currentRate() {
+            return rate;
+        }
+
+        private synchronized double availableTokens() {
+            refill();
+            return tokens;
+        }
+
+        private synchronized double pausedSeconds() {
+            long total = pausedTotalNanos + (pausedSinceNanos != 0 ? System.nanoTime() - pausedSinceNanos : 0);
+            return total / 1_000_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kafka Consumer Service feeding the in-app notification hub.
+ *
+ * Every node consumes all priority lane topics in its own consumer group, since a
+ * recipient's live connections may be held by any node. The group starts at the latest
+ * offset: in-app delivery is best effort and only reaches users who are connected right now,
+ * the durable channels (email, webhook) are handled by NotificationConsumerService.
+ *
+ * Most notifications are for users without a connection on this node, so records are
+ * filtered by the connected recipient IDs first and only the remaining claim checks are
+ * rendered. The group is named after the node (node-id, by default the host name) so a
+ * restarted node rejoins its group instead of leaving an orphan group on the broker; give
+ * nodes sharing a host distinct node IDs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InAppNotificationConsumerService {
+
+    private final InAppNotificationHub inAppNotificationHub;
+    private final NotificationClaimCheckResolver notificationClaimCheckResolver;
+
+    @Value("${app.notification.inapp.node-id:}")
+    private String nodeId;
+
+    @KafkaListener(
+            id = "inAppNotificationListener",
+            topics = {
+                    "${app.notification.kafka.topic.notifications-high:notifications-high}",
+                    "${app.notification.kafka.topic.notifications:notifications}",
+                    "${app.notification.kafka.topic.notifications-bulk:notifications-bulk}"
+            },
+            groupId = "#{__listener.groupId}",
+            containerFactory = "inAppKafkaListenerContainerFactory",
+            autoStartup = "#{'${app.notification.transport:kafka}' == 'kafka' && ${app.notification.inapp.enabled:true}}"
+    )
+    public void consumeNotifications(List<ConsumerRecord<String, NotificationMessage>> records) {
+        List<ConsumerRecord<String, NotificationMessage>> connected = new ArrayList<>();
+        for (ConsumerRecord<String, NotificationMessage> record : records) {
+            NotificationMessage notification = record.value();
+            if (notification != null && inAppNotificationHub.isConnected(notification.getRecipientId())) {
+                connected.add(record);
+            }
+        }
+        if (connected.isEmpty()) {
+            return;
+        }
+
+        notificationClaimCheckResolver.resolve(connected);
+        for (ConsumerRecord<String, NotificationMessage> record : connected) {
+            NotificationMessage notification = record.value();
+            if (notification.getType() != null && !notification.isClaimCheck()) {
+                inAppNotificationHub.publish(notification);
+            }
+        }
+        log.debug("Fanned out {} of {} notifications to in-app connections", connected.size(), records.size());
+    }
+
+    /**
+     * The node's broadcast consumer group, stable across restarts.
+     */
+    public String getGroupId() {
+        return "notification-inapp-" + (nodeId == null || nodeId.isBlank() ? hostName() : nodeId);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            log.warn("⚠️ Could not resolve the host name, set app.notification.inapp.node-id: {}", e.getMessage());
+            return "localhost";
+        }
+    }
+}
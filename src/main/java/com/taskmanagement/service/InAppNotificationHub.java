@@ -0,0 +1,206 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.exception.ResourceNotFoundException;
+import com.taskmanagement.model.User;
+import com.taskmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-app notification hub - fans notifications out to the live SSE connections of their recipient.
+ *
+ * Connections are indexed by the recipient's user ID, so the consumer can skip notifications
+ * for users without a connection on this node before rendering them. An idle
+ * connection holds no thread: the servlet request is asynchronous and events are written by a
+ * short drain task on the delivery executor only while the connection has something to send.
+ * Every connection has a bounded send buffer; a client that falls behind until its buffer is
+ * full is disconnected rather than slowing down the hub, and catches up by reconnecting.
+ */
+@Component
+@Slf4j
+public class InAppNotificationHub {
+
+    private final UserRepository userRepository;
+    private final ExecutorService deliveryExecutor;
+    private final Map<Long, Set<Connection>> connectionsByRecipient = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Counter pushedCounter;
+    private final Counter droppedCounter;
+
+    @Value("${app.notification.inapp.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.notification.inapp.connection-timeout-ms:1800000}")
+    private long connectionTimeoutMillis;
+
+    public InAppNotificationHub(UserRepository userRepository,
+                                @Qualifier("deliveryExecutor") ExecutorService deliveryExecutor,
+                                MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.deliveryExecutor = deliveryExecutor;
+        this.pushedCounter = Counter.builder("notifications.inapp.events.pushed")
+                .description("Events (notifications and heartbeats) pushed to live in-app connections")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("notifications.inapp.dropped.connections")
+                .description("In-app connections dropped because their send buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("notifications.inapp.connections", connectionCount, AtomicInteger::get)
+                .description("Live in-app notification connections on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a live notification stream for a user.
+     *
+     * @param username The authenticated user
+     * @return The emitter streaming the user's notifications
+     */
+    public SseEmitter connect(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+
+        SseEmitter emitter = new SseEmitter(connectionTimeoutMillis);
+        Connection connection = new Connection(user.getId(), emitter);
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError(e -> unregister(connection));
+
+        connectionsByRecipient.computeIfAbsent(connection.recipient, r -> ConcurrentHashMap.newKeySet()).add(connection);
+        connectionCount.incrementAndGet();
+        log.debug("In-app connection opened for user {}", connection.recipient);
+        return emitter;
+    }
+
+    /**
+     * Whether the user has a live connection on this node.
+     *
+     * @param userId The recipient user ID, null for notifications that do not carry one
+     */
+    public boolean isConnected(Long userId) {
+        return userId != null && connectionsByRecipient.containsKey(userId);
+    }
+
+    /**
+     * Push a notification to every live connection of its recipient on this node.
+     */
+    public void publish(NotificationMessage notification) {
+        if (notification.getRecipientId() == null) {
+            return;
+        }
+        Set<Connection> connections = connectionsByRecipient.get(notification.getRecipientId());
+        if (connections == null) {
+            return;
+        }
+
+        // Build the event once; the built frames are immutable and shared by all connections
+        Set<ResponseBodyEmitter.DataWithMediaType> event = SseEmitter.event()
+                .id(notification.getNotificationId())
+                .name(notification.getType().name())
+                .data(notification, MediaType.APPLICATION_JSON)
+                .build();
+        for (Connection connection : connections) {
+            connection.offer(event);
+        }
+    }
+
+    /**
+     * Send a comment on every connection, keeping idle connections open through proxies
+     * and detecting clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${app.notification.inapp.heartbeat-ms:25000}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        connectionsByRecipient.values().forEach(connections -> connections.forEach(c -> c.offer(ping)));
+    }
+
+    private void unregister(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connectionsByRecipient.computeIfPresent(connection.recipient, (recipient, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+        connectionCount.decrementAndGet();
+        log.debug("In-app connection closed for user {}", connection.recipient);
+    }
+
+    /**
+     * One live SSE connection with its bounded send buffer.
+     */
+    private final class Connection {
+
+        private final Long recipient;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Set<ResponseBodyEmitter.DataWithMediaType>> buffer = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Connection(Long recipient, SseEmitter emitter) {
+            this.recipient = recipient;
+            this.emitter = emitter;
+        }
+
+        private void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            synchronized (buffer) {
+                if (buffer.size() >= bufferSize) {
+                    log.warn("In-app connection for user {} is too slow, dropping it", recipient);
+                    droppedCounter.increment();
+                    close();
+                    return;
+                }
+                buffer.add(event);
+            }
+            if (draining.compareAndSet(false, true)) {
+                deliveryExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                synchronized (buffer) {
+                    event = buffer.poll();
+                    if (event == null) {
+                        draining.set(false);
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                    pushedCounter.increment();
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                    return;
+                }
+            }
+        }
+
+        private void close() {
+            synchronized (buffer) {
+                buffer.clear();
+            }
+            unregister(this);
+            emitter.complete();
+        }
+    }
+}
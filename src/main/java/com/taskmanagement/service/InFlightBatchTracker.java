@@ -0,0 +1,233 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationLane;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks notification batches handed to the delivery executor, per priority lane.
+ *
+ * 1. Bounds the number of records in flight: every lane gets a weighted share of
+ *    max-in-flight. Once a lane reaches its share its listener container is paused,
+ *    and it is resumed when the lane's backlog has drained to half of its share.
+ *    The weights give each lane a fair share of delivery capacity, so a flood on the
+ *    bulk lane cannot occupy the capacity the high lane relies on.
+ * 2. Acknowledges batches strictly in poll order within a lane: a batch's offsets are
+ *    committed only after it and every earlier batch of its lane have completed, so a
+ *    crash never skips records that were still being delivered.
+ * 3. Never acknowledges a failed batch (one whose records could neither be delivered nor
+ *    handed to the retry topics). The lane stops acknowledging, is paused and its
+ *    container restarted (see ConsumptionController.redeliver), so the failed batch and
+ *    every later one are polled again after redelivery-backoff-ms.
+ *
+ * The share of each lane can be changed at runtime (see ConsumerAutoscaler), and the
+ * tracker keeps a moving average of how long a lane's batches take to complete. The average
+ * is forgotten once the lane has had nothing in flight for batch-time-reset-ms, so a quiet
+ * lane is not judged by the last slow spell it went through.
+ */
+@Component
+@Slf4j
+public class InFlightBatchTracker {
+
+    private static final String PAUSE_REASON = "in-flight limit reached";
+    private static final String REDELIVERY_PAUSE_REASON = "redelivering a failed batch";
+    private static final double BATCH_TIME_SMOOTHING = 0.2;
+
+    private final ConsumptionController consumptionController;
+    private final Map<NotificationLane, LaneState> lanes = new EnumMap<>(NotificationLane.class);
+    private final long redeliveryBackoffMillis;
+
+    @Value("${app.notification.consumer.batch-time-reset-ms:60000}")
+    private long batchTimeResetMillis;
+
+    public InFlightBatchTracker(ConsumptionController consumptionController,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.notification.consumer.max-in-flight:2000}") int maxInFlight,
+                                @Value("${app.notification.lanes.weight.high:5}") int highWeight,
+                                @Value("${app.notification.lanes.weight.normal:3}") int normalWeight,
+                                @Value("${app.notification.lanes.weight.bulk:2}") int bulkWeight,
+                                @Value("${app.notification.consumer.redelivery-backoff-ms:5000}") long redeliveryBackoffMillis) {
+        this.consumptionController = consumptionController;
+        this.redeliveryBackoffMillis = redeliveryBackoffMillis;
+        int totalWeight = highWeight + normalWeight + bulkWeight;
+        lanes.put(NotificationLane.HIGH, new LaneState(Math.max(1, maxInFlight * highWeight / totalWeight)));
+        lanes.put(NotificationLane.NORMAL, new LaneState(Math.max(1, maxInFlight * normalWeight / totalWeight)));
+        lanes.put(NotificationLane.BULK, new LaneState(Math.max(1, maxInFlight * bulkWeight / totalWeight)));
+
+        lanes.forEach((lane, state) -> {
+            Gauge.builder("notifications.consumer.in.flight", state.inFlight, AtomicInteger::get)
+                    .tag("lane", lane.name())
+                    .description("Notification records handed to the delivery executor and not yet completed")
+                    .register(meterRegistry);
+            Gauge.builder("notifications.consumer.max.in.flight", state, s -> s.maxInFlight)
+                    .tag("lane", lane.name())
+                    .description("Records a lane may have in flight before its listener is paused")
+                    .register(meterRegistry);
+        });
+    }
+
+    /**
+     * Register a dispatched batch.
+     *
+     * @param lane           The lane the batch was consumed from
+     * @param records        Number of records in the batch
+     * @param completion     Completes when every record of the batch has been handled,
+     *                       exceptionally if some of them could not be
+     * @param acknowledgment Commits the batch offsets
+     */
+    public void track(NotificationLane lane, int records, CompletableFuture<Void> completion,
+                      Acknowledgment acknowledgment) {
+        LaneState state = lanes.get(lane);
+        PendingBatch batch = new PendingBatch(acknowledgment);
+        synchronized (state.pending) {
+            state.pending.addLast(batch);
+        }
+
+        if (state.inFlight.addAndGet(records) >= state.maxInFlight) {
+            consumptionController.pause(lane, PAUSE_REASON);
+        }
+
+        completion.whenComplete((result, ex) -> {
+            batch.failed = ex != null;
+            batch.done = true;
+            state.recordBatchTime(System.currentTimeMillis() - batch.startedAt, records);
+            acknowledgeCompleted(lane, state);
+            if (state.inFlight.addAndGet(-records) <= state.maxInFlight / 2) {
+                consumptionController.resume(lane, PAUSE_REASON);
+            }
+        });
+    }
+
+    public int getInFlight(NotificationLane lane) {
+        return lanes.get(lane).inFlight.get();
+    }
+
+    public int getMaxInFlight(NotificationLane lane) {
+        return lanes.get(lane).maxInFlight;
+    }
+
+    /**
+     * Change the records a lane may have in flight, pausing or resuming it right away if needed.
+     */
+    public void setMaxInFlight(NotificationLane lane, int maxInFlight) {
+        LaneState state = lanes.get(lane);
+        state.maxInFlight = Math.max(1, maxInFlight);
+        int inFlight = state.inFlight.get();
+        if (inFlight >= state.maxInFlight) {
+            consumptionController.pause(lane, PAUSE_REASON);
+        } else if (inFlight <= state.maxInFlight / 2) {
+            consumptionController.resume(lane, PAUSE_REASON);
+        }
+    }
+
+    /**
+     * Exponential moving average of the time a lane's batches take from dispatch to completion,
+     * per record of the batch. Unlike the batch time it does not grow with the batch size.
+     */
+    public double averageRecordMillis(NotificationLane lane) {
+        LaneState state = lanes.get(lane);
+        synchronized (state) {
+            if (state.inFlight.get() == 0 && System.currentTimeMillis() - state.lastCompletedAt > batchTimeResetMillis) {
+                state.averageRecordMillis = 0;
+            }
+            return state.averageRecordMillis;
+        }
+    }
+
+    /**
+     * Age of the oldest batch of a lane that has not completed yet, 0 if there is none.
+     */
+    public long oldestPendingAgeMillis(NotificationLane lane) {
+        LaneState state = lanes.get(lane);
+        synchronized (state.pending) {
+            for (PendingBatch batch : state.pending) {
+                if (!batch.done) {
+                    return System.currentTimeMillis() - batch.startedAt;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private void acknowledgeCompleted(NotificationLane lane, LaneState state) {
+        synchronized (state.pending) {
+            while (!state.redelivering && !state.pending.isEmpty() && state.pending.peekFirst().done) {
+                PendingBatch batch = state.pending.pollFirst();
+                if (batch.failed) {
+                    redeliver(lane, state);
+                } else {
+                    batch.acknowledgment.acknowledge();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop acknowledging the lane and restart its container, so the failed batch and every
+     * batch polled after it are redelivered. Called holding the lane's pending lock.
+     */
+    private void redeliver(NotificationLane lane, LaneState state) {
+        log.error("❌ {} notification batch failed, leaving it uncommitted for redelivery", lane);
+        state.redelivering = true;
+        consumptionController.pause(lane, REDELIVERY_PAUSE_REASON);
+        Runnable reset = () -> {
+            synchronized (state.pending) {
+                // Batches of the stopped consumers are polled again, none of them may be acknowledged
+                state.pending.clear();
+                state.redelivering = false;
+            }
+            CompletableFuture.delayedExecutor(redeliveryBackoffMillis, TimeUnit.MILLISECONDS)
+                    .execute(() -> consumptionController.resume(lane, REDELIVERY_PAUSE_REASON));
+        };
+        if (!consumptionController.redeliver(lane, reset)) {
+            log.error("❌ {} notification consumption is not running, the failed batch is not redelivered", lane);
+            state.pending.clear();
+            state.redelivering = false;
+            consumptionController.resume(lane, REDELIVERY_PAUSE_REASON);
+        }
+    }
+
+    private static final class LaneState {
+        private volatile int maxInFlight;
+        private double averageRecordMillis;  // Guarded by this
+        private long lastCompletedAt;  // Guarded by this
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Deque<PendingBatch> pending = new ArrayDeque<>();
+        private boolean redelivering;  // Guarded by pending
+
+        private LaneState(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        private synchronized void recordBatchTime(long millis, int records) {
+            double perRecord = (double) millis / Math.max(1, records);
+            lastCompletedAt = System.currentTimeMillis();
+            averageRecordMillis = averageRecordMillis == 0
+                    ? perRecord
+                    : averageRecordMillis + BATCH_TIME_SMOOTHING * (perRecord - averageRecordMillis);
+        }
+    }
+
+    private static final class PendingBatch {
+        private final Acknowledgment acknowledgment;
+        private final long startedAt = System.currentTimeMillis();
+        private volatile boolean failed;
+        private volatile boolean done;
+
+        private PendingBatch(Acknowledgment acknowledgment) {
+            this.acknowledgment = acknowledgment;
+        }
+    }
+}
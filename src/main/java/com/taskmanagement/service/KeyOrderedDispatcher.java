@@ -0,0 +1,126 @@
+package com.taskmanagement.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Key-ordered parallel dispatcher for polled Kafka records.
+ *
+ * A batch is split into a fixed number of lanes by record key hash. Lanes run
+ * concurrently on the delivery executor, while records inside a lane are handled
+ * in offset order. Records sharing a key always land in the same lane, so
+ * per-key ordering is preserved even though one partition is processed by
+ * several threads. Records without a key fall back to their partition as key.
+ *
+ * dispatch() does not block the poll loop: each lane's work is chained after the
+ * same lane's work from earlier batches, so ordering also holds across batches.
+ * The returned future completes once every lane of the batch has finished, exceptionally
+ * if the handler threw for any of them, so the batch is not acknowledged. Later batches
+ * of a failed lane still run.
+ *
+ * Lanes are kept per dispatch group (e.g. per delivery channel): the same key is ordered
+ * within a group, while different groups proceed independently of each other.
+ */
+@Component
+@Slf4j
+public class KeyOrderedDispatcher {
+
+    private final int laneCount;
+    private final ExecutorService deliveryExecutor;
+    private final Map<Object, CompletableFuture<?>[]> laneTails = new HashMap<>();
+
+    public KeyOrderedDispatcher(@Value("${app.notification.consumer.parallelism:64}") int laneCount,
+                                @Qualifier("deliveryExecutor") ExecutorService deliveryExecutor) {
+        this.laneCount = laneCount;
+        this.deliveryExecutor = deliveryExecutor;
+    }
+
+    /**
+     * Schedule a batch lane by lane behind the earlier work of each lane.
+     *
+     * @param records The polled records, in offset order per partition
+     * @param handler Handles the records of one lane, in order
+     * @return A future completing when every record of the batch has been handled
+     */
+    public <K, V> CompletableFuture<Void> dispatch(List<ConsumerRecord<K, V>> records,
+                                                   Consumer<List<ConsumerRecord<K, V>>> handler) {
+        return dispatch(KeyOrderedDispatcher.class, records, handler);
+    }
+
+    /**
+     * Schedule a batch lane by lane behind the earlier work of each lane of the given group.
+     *
+     * @param group   The dispatch group, ordering is only kept within a group
+     * @param records The polled records, in offset order per partition
+     * @param handler Handles the records of one lane, in order
+     * @return A future completing when every record of the batch has been handled,
+     *         exceptionally if the handler failed for some of them
+     */
+    public synchronized <K, V> CompletableFuture<Void> dispatch(Object group, List<ConsumerRecord<K, V>> records,
+                                                                Consumer<List<ConsumerRecord<K, V>>> handler) {
+        CompletableFuture<?>[] tails = laneTails.computeIfAbsent(group, g -> newLanes());
+        List<List<ConsumerRecord<K, V>>> lanes = split(records);
+        List<CompletableFuture<?>> batch = new ArrayList<>();
+
+        for (int lane = 0; lane < laneCount; lane++) {
+            List<ConsumerRecord<K, V>> laneRecords = lanes.get(lane);
+            if (laneRecords.isEmpty()) {
+                continue;
+            }
+            CompletableFuture<Void> tail = tails[lane]
+                    .handle((result, ex) -> null)
+                    .thenRunAsync(() -> handleLane(laneRecords, handler), deliveryExecutor);
+            tails[lane] = tail;
+            batch.add(tail);
+        }
+
+        return CompletableFuture.allOf(batch.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private CompletableFuture<?>[] newLanes() {
+        CompletableFuture<?>[] tails = new CompletableFuture<?>[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            tails[i] = CompletableFuture.completedFuture(null);
+        }
+        return tails;
+    }
+
+    /**
+     * Split records into lanes by key hash, keeping their relative order.
+     */
+    <K, V> List<List<ConsumerRecord<K, V>>> split(List<ConsumerRecord<K, V>> records) {
+        List<List<ConsumerRecord<K, V>>> lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(new ArrayList<>());
+        }
+        for (ConsumerRecord<K, V> record : records) {
+            lanes.get(laneOf(record)).add(record);
+        }
+        return lanes;
+    }
+
+    private <K, V> void handleLane(List<ConsumerRecord<K, V>> records, Consumer<List<ConsumerRecord<K, V>>> handler) {
+        try {
+            handler.accept(records);
+        } catch (RuntimeException e) {
+            log.error("❌ Unexpected failure while handling {} records: {}", records.size(), e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    private int laneOf(ConsumerRecord<?, ?> record) {
+        Object key = record.key() != null ? record.key() : record.partition();
+        return Math.floorMod(key.hashCode(), laneCount);
+    }
+}
@@ -0,0 +1,91 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationLane;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Guards the latency budget of the HIGH lane and records end-to-end latency per lane.
+ *
+ * End-to-end latency is measured from the Kafka record timestamp (publish time) to the
+ * completed delivery. Every check interval the guard compares the HIGH lane's pressure -
+ * the worst latency delivered since the last check, or the age of its oldest unfinished
+ * batch - with the budget:
+ * - above the budget the BULK lane is paused,
+ * - above twice the budget the NORMAL lane is paused as well,
+ * - once the pressure is back under half the budget both lanes are resumed.
+ * The gap between the thresholds keeps the lanes from flapping.
+ */
+@Component
+@Slf4j
+public class LaneLatencyGuard {
+
+    private static final String PAUSE_REASON = "HIGH lane latency budget exceeded";
+
+    private final ConsumptionController consumptionController;
+    private final InFlightBatchTracker inFlightBatchTracker;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong highLaneWorstLatency = new AtomicLong();
+
+    @Value("${app.notification.lanes.high-latency-budget-ms:5000}")
+    private long latencyBudgetMillis;
+
+    public LaneLatencyGuard(ConsumptionController consumptionController,
+                            InFlightBatchTracker inFlightBatchTracker,
+                            MeterRegistry meterRegistry) {
+        this.consumptionController = consumptionController;
+        this.inFlightBatchTracker = inFlightBatchTracker;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Record the end-to-end latency of a delivered notification.
+     *
+     * @param lane            The lane it travelled through
+     * @param channel         The channel it was delivered on
+     * @param publishedMillis The Kafka record timestamp
+     */
+    public void recordDelivery(NotificationLane lane, NotificationChannel channel, long publishedMillis) {
+        long latency = Math.max(0, System.currentTimeMillis() - publishedMillis);
+        Timer.builder("notifications.e2e.latency")
+                .description("Time from publishing a notification to its delivery")
+                .tag("lane", lane.name())
+                .tag("channel", channel.name())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(latency, TimeUnit.MILLISECONDS);
+
+        if (lane == NotificationLane.HIGH) {
+            highLaneWorstLatency.accumulateAndGet(latency, Math::max);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.lanes.check-interval-ms:1000}")
+    public void check() {
+        long pressure = Math.max(highLaneWorstLatency.getAndSet(0),
+                inFlightBatchTracker.oldestPendingAgeMillis(NotificationLane.HIGH));
+
+        if (pressure > latencyBudgetMillis) {
+            if (!consumptionController.isPaused(NotificationLane.BULK)) {
+                log.warn("⚠️ HIGH lane latency {} exceeds the {} budget", Duration.ofMillis(pressure),
+                        Duration.ofMillis(latencyBudgetMillis));
+            }
+            consumptionController.pause(NotificationLane.BULK, PAUSE_REASON);
+            if (pressure > 2 * latencyBudgetMillis) {
+                consumptionController.pause(NotificationLane.NORMAL, PAUSE_REASON);
+            }
+        } else if (pressure < latencyBudgetMillis / 2) {
+            consumptionController.resume(NotificationLane.NORMAL, PAUSE_REASON);
+            consumptionController.resume(NotificationLane.BULK, PAUSE_REASON);
+        }
+    }
+}
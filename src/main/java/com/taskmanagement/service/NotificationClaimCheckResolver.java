@@ -0,0 +1,297 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.User;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Resolves claim-check notifications into rendered ones at the consumer.
+ *
+ * A claim check only carries the task ID, its version and the recipient user ID. For every
+ * consumed batch the resolver collects the tasks and users referenced by its claim checks,
+ * loads the ones that are missing or stale from a local read-through cache with one query
+ * each, and renders the notifications with the current task data. A task that raises
+ * several notifications in one batch is read once.
+ *
+ * Cached tasks are stale once a claim check references a newer version; cached users expire
+ * after ttl-ms. Both caches are LRU-bounded by max-entries.
+ *
+ * Batches of different lanes resolve concurrently; no lock is held during the queries. An ID
+ * that another batch is already loading is not queried again, the batch waits for that load.
+ * Each batch renders from the entities it looked up, so cache evictions cannot affect it.
+ */
+@Component
+@Slf4j
+public class NotificationClaimCheckResolver {
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final NotificationTemplateEngine notificationTemplateEngine;
+    private final NotificationCoalescer notificationCoalescer;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    private final Map<Long, Task> tasks;
+    private final Map<Long, CachedUser> users;
+    private final Map<Long, CompletableFuture<Task>> loadingTasks = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<CachedUser>> loadingUsers = new ConcurrentHashMap<>();
+
+    @Value("${app.notification.claim-check.cache.ttl-ms:60000}")
+    private long ttlMillis;
+
+    public NotificationClaimCheckResolver(TaskRepository taskRepository,
+                                          UserRepository userRepository,
+                                          NotificationTemplateEngine notificationTemplateEngine,
+                                          NotificationCoalescer notificationCoalescer,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${app.notification.claim-check.cache.max-entries:10000}") int maxEntries) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.notificationTemplateEngine = notificationTemplateEngine;
+        this.notificationCoalescer = notificationCoalescer;
+        this.tasks = Collections.synchronizedMap(lruMap(maxEntries));
+        this.users = Collections.synchronizedMap(lruMap(maxEntries));
+        this.hitCounter = Counter.builder("notifications.claimcheck.cache")
+                .tag("result", "hit")
+                .description("Claim-check task and user lookups")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("notifications.claimcheck.cache")
+                .tag("result", "miss")
+                .description("Claim-check task and user lookups")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Render the claim checks of a batch in place.
+     *
+     * @param records The consumed records; rendered notifications are left untouched
+     * @return The records that could not be resolved because their task or recipient no longer exists
+     */
+    public List<ConsumerRecord<String, NotificationMessage>> resolve(
+            List<ConsumerRecord<String, NotificationMessage>> records) {
+        List<NotificationMessage> claimChecks = new ArrayList<>();
+        for (ConsumerRecord<String, NotificationMessage> record : records) {
+            if (record.value() != null && record.value().isClaimCheck()) {
+                claimChecks.add(record.value());
+            }
+        }
+        if (claimChecks.isEmpty()) {
+            return List.of();
+        }
+
+        Loaded loaded = load(claimChecks);
+
+        List<ConsumerRecord<String, NotificationMessage>> unresolved = new ArrayList<>();
+        for (ConsumerRecord<String, NotificationMessage> record : records) {
+            NotificationMessage notification = record.value();
+            if (notification != null && notification.isClaimCheck() && !render(notification, loaded)) {
+                unresolved.add(record);
+            }
+        }
+        return unresolved;
+    }
+
+    /**
+     * Look up all tasks and users referenced by the claim checks, loading the missing or stale
+     * ones with one query each.
+     */
+    private Loaded load(List<NotificationMessage> claimChecks) {
+        Map<Long, Task> batchTasks = new HashMap<>();
+        Map<Long, CachedUser> batchUsers = new HashMap<>();
+        Set<Long> taskIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        long now = System.currentTimeMillis();
+
+        for (NotificationMessage claimCheck : flatten(claimChecks)) {
+            Task cached = tasks.get(claimCheck.getTaskId());
+            if (cached == null || isOlder(cached.getVersion(), claimCheck.getTaskVersion())) {
+                taskIds.add(claimCheck.getTaskId());
+                missCounter.increment();
+            } else {
+                batchTasks.put(claimCheck.getTaskId(), cached);
+                hitCounter.increment();
+            }
+        }
+        for (NotificationMessage claimCheck : claimChecks) {
+            CachedUser cached = users.get(claimCheck.getRecipientId());
+            if (cached == null || cached.expiresAt < now) {
+                userIds.add(claimCheck.getRecipientId());
+                missCounter.increment();
+            } else {
+                batchUsers.put(claimCheck.getRecipientId(), cached);
+                hitCounter.increment();
+            }
+        }
+
+        batchTasks.putAll(loadOnce(taskIds, loadingTasks, tasks, ids -> {
+            Map<Long, Task> found = new HashMap<>();
+            taskRepository.findAllWithAssigneeByIdIn(ids).forEach(task -> found.put(task.getId(), task));
+            return found;
+        }));
+        batchUsers.putAll(loadOnce(userIds, loadingUsers, users, ids -> {
+            Map<Long, CachedUser> found = new HashMap<>();
+            long expiresAt = System.currentTimeMillis() + ttlMillis;
+            userRepository.findAllById(ids).forEach(user -> found.put(user.getId(), new CachedUser(user, expiresAt)));
+            return found;
+        }));
+        log.debug("Claim-check batch of {}: loaded {} tasks and {} users", claimChecks.size(), taskIds.size(), userIds.size());
+        return new Loaded(batchTasks, batchUsers);
+    }
+
+    /**
+     * Load entities by ID with one query, except those another batch is already loading,
+     * which are awaited instead. Loaded entities are added to the cache.
+     *
+     * @return The entities found; IDs that no longer exist are left out
+     */
+    private static <V> Map<Long, V> loadOnce(Set<Long> ids, Map<Long, CompletableFuture<V>> loading,
+                                             Map<Long, V> cache, Function<Set<Long>, Map<Long, V>> query) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, CompletableFuture<V>> owned = new HashMap<>();
+        Map<Long, CompletableFuture<V>> awaited = new HashMap<>();
+        for (Long id : ids) {
+            CompletableFuture<V> load = new CompletableFuture<>();
+            CompletableFuture<V> running = loading.putIfAbsent(id, load);
+            if (running == null) {
+                owned.put(id, load);
+            } else {
+                awaited.put(id, running);
+            }
+        }
+
+        Map<Long, V> found = new HashMap<>();
+        if (!owned.isEmpty()) {
+            try {
+                Map<Long, V> loaded = query.apply(owned.keySet());
+                cache.putAll(loaded);
+                found.putAll(loaded);
+                owned.forEach((id, load) -> load.complete(loaded.get(id)));
+            } catch (RuntimeException e) {
+                owned.values().forEach(load -> load.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.keySet().forEach(loading::remove);
+            }
+        }
+        awaited.forEach((id, load) -> {
+            V value = load.join();
+            if (value != null) {
+                found.put(id, value);
+            }
+        });
+        return found;
+    }
+
+    /**
+     * Render a claim check in place.
+     *
+     * @return false if its task or recipient no longer exists
+     */
+    private boolean render(NotificationMessage claimCheck, Loaded loaded) {
+        CachedUser recipient = loaded.users.get(claimCheck.getRecipientId());
+        if (recipient == null) {
+            return false;
+        }
+
+        NotificationMessage rendered;
+        if (claimCheck.getParts() != null) {
+            // Parts whose task no longer exists are left out of the digest and of its task IDs
+            List<NotificationMessage> parts = new ArrayList<>(claimCheck.getParts().size());
+            for (NotificationMessage part : claimCheck.getParts()) {
+                if (renderPart(part, recipient.user, loaded)) {
+                    parts.add(part);
+                }
+            }
+            if (parts.isEmpty()) {
+                return false;
+            }
+            rendered = notificationCoalescer.merge(parts);
+            claimCheck.setPartTaskIds(NotificationCoalescer.partTaskIds(parts));
+        } else {
+            if (!renderPart(claimCheck, recipient.user, loaded)) {
+                return false;
+            }
+            rendered = claimCheck;
+        }
+
+        claimCheck.setRecipient(recipient.user.getEmail());
+        claimCheck.setSubject(rendered.getSubject());
+        claimCheck.setMessage(rendered.getMessage());
+        claimCheck.setParts(null);
+        return true;
+    }
+
+    /**
+     * Render one claim check for the recipient it was raised for, which is not always the
+     * current assignee (e.g. escalations go to the creator).
+     */
+    private boolean renderPart(NotificationMessage claimCheck, User recipient, Loaded loaded) {
+        Task task = loaded.tasks.get(claimCheck.getTaskId());
+        if (task == null) {
+            return false;
+        }
+        NotificationTemplateEngine.RenderedNotification rendered =
+                notificationTemplateEngine.render(claimCheck.getType(), task, recipient);
+        claimCheck.setRecipient(recipient.getEmail());
+        claimCheck.setSubject(rendered.subject());
+        claimCheck.setMessage(rendered.body());
+        return true;
+    }
+
+    private static List<NotificationMessage> flatten(List<NotificationMessage> claimChecks) {
+        List<NotificationMessage> flat = new ArrayList<>(claimChecks.size());
+        for (NotificationMessage claimCheck : claimChecks) {
+            if (claimCheck.getParts() != null) {
+                flat.addAll(claimCheck.getParts());
+            } else {
+                flat.add(claimCheck);
+            }
+        }
+        return flat;
+    }
+
+    private static boolean isOlder(Long cachedVersion, Long requiredVersion) {
+        return requiredVersion != null && (cachedVersion == null || cachedVersion < requiredVersion);
+    }
+
+    private static <V> Map<Long, V> lruMap(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    private record CachedUser(User user, long expiresAt) {
+    }
+
+    /**
+     * The tasks and users one batch renders from.
+     */
+    private record Loaded(Map<Long, Task> tasks, Map<Long, CachedUser> users) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationLane;
+import com.taskmanagement.event.NotificationMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Notification Coalescer - merges bursts of notifications for the same recipient.
+ *
+ * The coalescing window is provided by the outbox: entries only become due once they are
+ * older than app.notification.coalesce.window-ms, and all pending entries of a recipient are
+ * relayed together. This component merges each recipient's notifications into combined
+ * TASK_DIGEST messages of at most max-size notifications each.
+ *
+ * A recipient with a single notification gets it unchanged. Notifications are only merged
+ * within the same priority lane, and HIGH lane notifications are never merged.
+ */
+@Component
+@Slf4j
+public class NotificationCoalescer {
+
+    private final Counter receivedCounter;
+    private final Counter emittedCounter;
+
+    @Value("${app.notification.coalesce.max-size:20}")
+    private int maxSize;
+
+    public NotificationCoalescer(MeterRegistry meterRegistry) {
+        this.receivedCounter = Counter.builder("notifications.coalescer.received")
+                .description("Notifications offered to the coalescer")
+                .register(meterRegistry);
+        this.emittedCounter = Counter.builder("notifications.coalescer.emitted")
+                .description("Messages emitted by the coalescer after merging")
+                .register(meterRegistry);
+        Gauge.builder("notifications.coalescer.merge.ratio", this, NotificationCoalescer::mergeRatio)
+                .description("Notifications received per message emitted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Merge notifications per recipient and lane, keeping the order of first appearance.
+     *
+     * @param notifications Notifications in publish order
+     * @return One message per recipient, lane and max-size chunk
+     */
+    public List<NotificationMessage> coalesce(List<NotificationMessage> notifications) {
+        Map<String, List<NotificationMessage>> byRecipient = new LinkedHashMap<>();
+        for (NotificationMessage notification : notifications) {
+            String key = NotificationLane.of(notification) + ":" + notification.recipientKey();
+            byRecipient.computeIfAbsent(key, k -> new ArrayList<>()).add(notification);
+        }
+
+        List<NotificationMessage> merged = new ArrayList<>(byRecipient.size());
+        for (List<NotificationMessage> pending : byRecipient.values()) {
+            int chunkSize = NotificationLane.of(pending.get(0)) == NotificationLane.HIGH ? 1 : maxSize;
+            for (int from = 0; from < pending.size(); from += chunkSize) {
+                merged.add(merge(pending.subList(from, Math.min(from + chunkSize, pending.size()))));
+            }
+        }
+
+        receivedCounter.increment(notifications.size());
+        emittedCounter.increment(merged.size());
+        if (merged.size() < notifications.size()) {
+            log.info("Coalesced {} notifications into {} messages", notifications.size(), merged.size());
+        }
+        return merged;
+    }
+
+    /**
+     * Merge a list of notifications for one recipient into a single message.
+     * Claim checks are merged into a claim-check digest that is rendered by the consumer.
+     */
+    public NotificationMessage merge(List<NotificationMessage> notifications) {
+        if (notifications.size() == 1) {
+            return notifications.get(0);
+        }
+        if (notifications.get(0).isClaimCheck()) {
+            return NotificationMessage.builder()
+                    .notificationId(digestId(notifications))
+                    .recipientId(notifications.get(0).getRecipientId())
+                    .type(NotificationMessage.NotificationType.TASK_DIGEST)
+                    .lane(NotificationLane.of(notifications.get(0)))
+                    .timestamp(latestTimestamp(notifications))
+                    .deliverAt(latestDeliverAt(notifications))
+                    .parts(new ArrayList<>(notifications))
+                    .partTaskIds(partTaskIds(notifications))
+                    .build();
+        }
+
+        StringBuilder body = new StringBuilder()
+                .append("Hello,\n\n")
+                .append("There were ").append(notifications.size()).append(" updates to your tasks:\n\n");
+        for (NotificationMessage notification : notifications) {
+            body.append("=== ").append(notification.getSubject()).append(" ===\n")
+                    .append(notification.getMessage()).append("\n\n");
+        }
+
+        return NotificationMessage.builder()
+                .notificationId(digestId(notifications))
+                .recipient(notifications.get(0).getRecipient())
+                .recipientId(notifications.get(0).getRecipientId())
+                .subject("You have " + notifications.size() + " task updates")
+                .message(body.toString())
+                .type(NotificationMessage.NotificationType.TASK_DIGEST)
+                .lane(NotificationLane.of(notifications.get(0)))
+                .timestamp(latestTimestamp(notifications))
+                .deliverAt(latestDeliverAt(notifications))
+                .partTaskIds(partTaskIds(notifications))
+                .build();
+    }
+
+    /**
+     * The distinct task IDs of the merged notifications, null if none has a task.
+     */
+    public static List<Long> partTaskIds(List<NotificationMessage> notifications) {
+        Set<Long> taskIds = new LinkedHashSet<>();
+        for (NotificationMessage notification : notifications) {
+            if (notification.getPartTaskIds() != null) {
+                taskIds.addAll(notification.getPartTaskIds());
+            } else if (notification.getTaskId() != null) {
+                taskIds.add(notification.getTaskId());
+            }
+        }
+        return taskIds.isEmpty() ? null : new ArrayList<>(taskIds);
+    }
+
+    private LocalDateTime latestTimestamp(List<NotificationMessage> notifications) {
+        return notifications.stream()
+                .map(NotificationMessage::getTimestamp)
+                .filter(timestamp -> timestamp != null)
+                .max(Comparator.naturalOrder())
+                .orElse(LocalDateTime.now());
+    }
+
+    /**
+     * A digest is deferred until its last deferred part may be delivered.
+     */
+    private LocalDateTime latestDeliverAt(List<NotificationMessage> notifications) {
+        return notifications.stream()
+                .map(NotificationMessage::getDeliverAt)
+                .filter(deliverAt -> deliverAt != null)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    /**
+     * Derive the digest ID from its parts, so relaying the same entries again yields the same ID.
+     */
+    private String digestId(List<NotificationMessage> notifications) {
+        StringBuilder parts = new StringBuilder();
+        for (NotificationMessage notification : notifications) {
+            parts.append(notification.getNotificationId()).append(',');
+        }
+        return UUID.nameUUIDFromBytes(parts.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private double mergeRatio() {
+        double emitted = emittedCounter.count();
+        return emitted == 0 ? 1.0 : receivedCounter.count() / emitted;
+    }
+}
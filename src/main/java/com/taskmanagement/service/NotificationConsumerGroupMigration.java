@@ -0,0 +1,91 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationLane;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One-time migration of the lane offsets from the former shared consumer group.
+ *
+ * All three lane containers used to join notification-consumer-group, so restarting one lane
+ * (autoscaling, redelivery) rebalanced the others. Each lane now has its own group (see
+ * ConsumptionController.groupId). Before the listener containers start, every lane group
+ * without committed offsets is given the offsets the shared group committed for the lane's
+ * topic, so it continues where the shared group stopped instead of from the earliest offset.
+ * The shared group is left in place; delete it once no node of the previous version is running.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notification.transport", havingValue = "kafka", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationConsumerGroupMigration implements SmartInitializingSingleton {
+
+    static final String LEGACY_GROUP_ID = "notification-consumer-group";
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private final KafkaAdmin kafkaAdmin;
+    private final NotificationService notificationService;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try (Admin admin = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+            migrate(admin);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("❌ Interrupted while migrating the notification consumer group offsets");
+        } catch (Exception e) {
+            log.error("❌ Failed to migrate the offsets of {} to the lane consumer groups: {}",
+                    LEGACY_GROUP_ID, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Copy the shared group's offsets of each lane topic to the lane's group, unless it has its own.
+     *
+     * @return The number of lane groups migrated
+     */
+    int migrate(Admin admin) throws Exception {
+        Map<TopicPartition, OffsetAndMetadata> legacy = committedOffsets(admin, LEGACY_GROUP_ID);
+        if (legacy.isEmpty()) {
+            return 0;
+        }
+
+        int migrated = 0;
+        for (NotificationLane lane : NotificationLane.values()) {
+            String topic = notificationService.topicFor(lane);
+            String groupId = ConsumptionController.groupId(lane);
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            legacy.forEach((partition, offset) -> {
+                if (partition.topic().equals(topic) && offset != null) {
+                    offsets.put(partition, new OffsetAndMetadata(offset.offset()));
+                }
+            });
+            if (offsets.isEmpty() || !committedOffsets(admin, groupId).isEmpty()) {
+                continue;
+            }
+            admin.alterConsumerGroupOffsets(groupId, offsets).all().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            migrated++;
+            log.info("🔀 Migrated {} committed offsets of {} from {} to {}", offsets.size(), topic, LEGACY_GROUP_ID,
+                    groupId);
+        }
+        return migrated;
+    }
+
+    private static Map<TopicPartition, OffsetAndMetadata> committedOffsets(Admin admin, String groupId)
+            throws Exception {
+        return admin.listConsumerGroupOffsets(groupId).partitionsToOffsetAndMetadata()
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+}
@@ -1,176 +1,348 @@
 package com.taskmanagement.service;
 
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationHeaders;
+import com.taskmanagement.event.NotificationLane;
 import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.service.channel.ChannelBulkhead;
+import com.taskmanagement.service.channel.ChannelCircuitBreaker;
+import com.taskmanagement.service.channel.DeliveryChannelRegistry;
+import com.taskmanagement.service.channel.DeliveryResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Kafka Consumer Service for processing notification messages.
- * This service consumes messages from the 'notifications' Kafka topic
- * and sends them via various channels (email, SMS, push, etc.)
+ * This service consumes messages from the priority lane topics ('notifications-high',
+ * 'notifications', 'notifications-bulk') in batches, one listener container per lane, and sends them via the registered DeliveryChannel implementations (email, webhook, etc.)
+ *
+ * Each poll is first split by delivery channel, and every channel's share is fanned out
+ * concurrently: it is split into key-ordered lanes by KeyOrderedDispatcher and handed to
+ * the delivery executor, so the poll loop never blocks on SMTP or HTTP I/O. Lanes run in
+ * parallel while records with the same key (recipient) stay in order per lane and channel. Each
+ * channel delivers a lane's share at once (e.g. all emails over a single SMTP transport
+ * session) inside its own ChannelBulkhead, so a slow channel cannot starve the others.
+ * Each channel also has a circuit breaker: while it is open ChannelCircuitGuard pauses consumption.
+ * InFlightBatchTracker bounds the records in flight with a weighted share per lane and commits each batch's offsets,
+ * in poll order, once it has been delivered. Failures are handled per record: the
+ * failed record is routed to the non-blocking retry topics and never fails or delays
+ * the rest of the batch. Only a record that can be neither delivered nor routed to the
+ * retry topics fails its batch, which then stays uncommitted and is redelivered.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationConsumerService {
 
-    @Autowired(required = false)
-    private JavaMailSender mailSender;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
+    private final InFlightBatchTracker inFlightBatchTracker;
+    private final NotificationRetryRouter notificationRetryRouter;
+    private final NotificationDeduplicator notificationDeduplicator;
+    private final DeliveryRateLimiter deliveryRateLimiter;
+    private final DeliveryChannelRegistry deliveryChannelRegistry;
+    private final LaneLatencyGuard laneLatencyGuard;
+    private final NotificationClaimCheckResolver notificationClaimCheckResolver;
+    private final NotificationDeliveryLedger notificationDeliveryLedger;
+    private final NotificationStageMetrics notificationStageMetrics;
+
+    /**
+     * Consumes a batch of HIGH lane notifications (overdue and critical tasks).
+     */
+    @KafkaListener(
+            id = ConsumptionController.NOTIFICATION_HIGH_LISTENER_ID,
+            clientIdPrefix = ConsumptionController.NOTIFICATION_HIGH_LISTENER_ID,
+            topics = "${app.notification.kafka.topic.notifications-high:notifications-high}",
+            groupId = ConsumptionController.NOTIFICATION_HIGH_GROUP_ID,
+            containerFactory = "notificationKafkaListenerContainerFactory"
+    )
+    public void consumeHighNotifications(List<ConsumerRecord<String, NotificationMessage>> records,
+                                         Acknowledgment acknowledgment) {
+        consume(NotificationLane.HIGH, records, acknowledgment);
+    }
 
     /**
-     * Consumes notification messages from Kafka and processes them.
-     * This method is called automatically when a message is published to the 'notifications' topic.
+     * Consumes a batch of NORMAL lane notifications.
+     * This method is called automatically with every poll of the 'notifications' topic.
      *
-     * @param notification The notification message to process
+     * @param records        The polled notification records
+     * @param acknowledgment Commits the batch offsets once every record has been handled
      */
     @KafkaListener(
+            id = ConsumptionController.NOTIFICATION_LISTENER_ID,
+            clientIdPrefix = ConsumptionController.NOTIFICATION_LISTENER_ID,
             topics = "${app.notification.kafka.topic.notifications:notifications}",
-            groupId = "notification-consumer-group",
+            groupId = ConsumptionController.NOTIFICATION_GROUP_ID,
             containerFactory = "notificationKafkaListenerContainerFactory"
     )
-    public void consumeNotification(NotificationMessage notification) {
-        log.info("📨 Consumed notification from Kafka: {} to {}", 
-                notification.getType(), notification.getRecipient());
-
-        try {
-            // Process notification based on type
-            switch (notification.getType()) {
-                case TASK_ASSIGNED:
-                    handleTaskAssignedNotification(notification);
-                    break;
-                case TASK_STATUS_CHANGED:
-                    handleTaskStatusChangedNotification(notification);
-                    break;
-                case TASK_REMINDER:
-                    handleTaskReminderNotification(notification);
-                    break;
-                case TASK_OVERDUE:
-                    handleTaskOverdueNotification(notification);
-                    break;
-                default:
-                    log.warn("Unknown notification type: {}", notification.getType());
-            }
-
-            log.info("✅ Notification processed successfully: {}", notification.getType());
-
-        } catch (Exception e) {
-            log.error("❌ Failed to process notification: {}", e.getMessage(), e);
-            // In production, you might want to:
-            // 1. Retry the message (configure retry in Kafka listener)
-            // 2. Send to a dead letter queue (DLQ)
-            // 3. Store failed notifications in database for manual retry
-        }
+    public void consumeNotifications(List<ConsumerRecord<String, NotificationMessage>> records,
+                                     Acknowledgment acknowledgment) {
+        consume(NotificationLane.NORMAL, records, acknowledgment);
     }
 
     /**
-     * Handle task assignment notifications
+     * Consumes a batch of BULK lane notifications (reminders and digests).
      */
-    private void handleTaskAssignedNotification(NotificationMessage notification) {
-        log.info("Processing TASK_ASSIGNED notification for task ID: {}", notification.getTaskId());
-        
-        // Send email
-        sendEmail(notification);
-        
-        // Future: Add more channels
-        // sendSMS(notification);
-        // sendPushNotification(notification);
-        // sendSlackMessage(notification);
+    @KafkaListener(
+            id = ConsumptionController.NOTIFICATION_BULK_LISTENER_ID,
+            clientIdPrefix = ConsumptionController.NOTIFICATION_BULK_LISTENER_ID,
+            topics = "${app.notification.kafka.topic.notifications-bulk:notifications-bulk}",
+            groupId = ConsumptionController.NOTIFICATION_BULK_GROUP_ID,
+            containerFactory = "notificationKafkaListenerContainerFactory"
+    )
+    public void consumeBulkNotifications(List<ConsumerRecord<String, NotificationMessage>> records,
+                                         Acknowledgment acknowledgment) {
+        consume(NotificationLane.BULK, records, acknowledgment);
     }
 
     /**
-     * Handle task status change notifications
+     * Hand a polled batch of one lane to the delivery executor.
+     * Also called by the in-process transport, which polls its ring buffers instead of Kafka.
      */
-    private void handleTaskStatusChangedNotification(NotificationMessage notification) {
-        log.info("Processing TASK_STATUS_CHANGED notification for task ID: {}", notification.getTaskId());
-        
-        // Send email
-        sendEmail(notification);
-        
-        // Future: Add more channels
-        // sendPushNotification(notification);
+    public void consume(NotificationLane lane, List<ConsumerRecord<String, NotificationMessage>> records,
+                        Acknowledgment acknowledgment) {
+        log.info("📨 Consumed batch of {} {} notifications", records.size(), lane);
+
+        long receivedAt = System.currentTimeMillis();
+        for (ConsumerRecord<String, NotificationMessage> record : records) {
+            notificationStageMetrics.record(NotificationStageMetrics.Stage.TRANSIT, receivedAt - record.timestamp());
+        }
+
+        // Render claim checks with current task data, reading each task once per batch
+        List<ConsumerRecord<String, NotificationMessage>> unresolved = notificationClaimCheckResolver.resolve(records);
+        notificationStageMetrics.record(NotificationStageMetrics.Stage.RENDER, System.currentTimeMillis() - receivedAt);
+        if (!unresolved.isEmpty()) {
+            log.warn("⚠️ Dropping {} claim-check notifications whose task or recipient no longer exists",
+                    unresolved.size());
+        }
+
+        List<CompletableFuture<Void>> channels = new ArrayList<>();
+        groupByChannel(records).forEach((channel, channelRecords) ->
+                channels.add(keyOrderedDispatcher.dispatch(lane + ":" + channel, channelRecords,
+                        laneRecords -> deliver(lane, channel, laneRecords))));
+
+        CompletableFuture<Void> completion = CompletableFuture.allOf(channels.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((result, ex) -> {
+                    if (ex == null) {
+                        log.info("✅ {} notification batch processed: {} records", lane, records.size());
+                    }
+                });
+        inFlightBatchTracker.track(lane, records.size(), completion, acknowledgment);
     }
 
     /**
-     * Handle task reminder notifications
+     * Group the records of a batch by delivery channel, keeping their order.
      */
-    private void handleTaskReminderNotification(NotificationMessage notification) {
-        log.info("Processing TASK_REMINDER notification for task ID: {}", notification.getTaskId());
-        
-        // Send email
-        sendEmail(notification);
-        
-        // Future: Add more channels
-        // sendSMS(notification);
-        // sendPushNotification(notification);
+    private Map<NotificationChannel, List<ConsumerRecord<String, NotificationMessage>>> groupByChannel(
+            List<ConsumerRecord<String, NotificationMessage>> records) {
+        Map<NotificationChannel, List<ConsumerRecord<String, NotificationMessage>>> byChannel =
+                new EnumMap<>(NotificationChannel.class);
+
+        for (ConsumerRecord<String, NotificationMessage> record : records) {
+            NotificationMessage notification = record.value();
+            if (notification == null || notification.getType() == null) {
+                reportFailure(record, null, new IllegalArgumentException("Undeserializable or untyped notification"));
+                continue;
+            }
+            if (notification.isClaimCheck()) {
+                // Unresolvable claim check - there is nothing left to notify about
+                continue;
+            }
+            for (NotificationChannel channel : channelsFor(notification.getType())) {
+                byChannel.computeIfAbsent(channel, c -> new ArrayList<>()).add(record);
+            }
+        }
+        return byChannel;
     }
 
     /**
-     * Handle task overdue notifications
+     * Resolve the delivery channels for a notification type.
+     * Channels without a registered DeliveryChannel implementation are left out.
      */
-    private void handleTaskOverdueNotification(NotificationMessage notification) {
-        log.info("Processing TASK_OVERDUE notification for task ID: {}", notification.getTaskId());
-        
-        // Send email with high priority
-        sendEmail(notification);
-        
-        // Future: Add more channels with escalation
-        // sendSMS(notification);
-        // sendPushNotification(notification);
-        // notifyManager(notification);
+    private Set<NotificationChannel> channelsFor(NotificationMessage.NotificationType type) {
+        Set<NotificationChannel> channels;
+        switch (type) {
+            case TASK_ASSIGNED:
+            case TASK_STATUS_CHANGED:
+            case TASK_REMINDER:
+            case TASK_OVERDUE:
+            case TASK_ESCALATION:
+            case TASK_DIGEST:
+                // Future: SMS, PUSH, SLACK once implemented as DeliveryChannels
+                channels = EnumSet.of(NotificationChannel.EMAIL, NotificationChannel.WEBHOOK);
+                break;
+            default:
+                log.warn("Unknown notification type: {}", type);
+                return EnumSet.noneOf(NotificationChannel.class);
+        }
+        channels.removeIf(channel -> !deliveryChannelRegistry.isAvailable(channel));
+        return channels;
     }
 
     /**
-     * Send email notification
+     * Deliver one channel's share of a batch inside the channel's bulkhead.
+     * Records already delivered on the channel (e.g. redelivered after a rebalance) are skipped,
+     * and successful deliveries are remembered so they are not repeated.
+     * Rate limit permits are acquired before entering the bulkhead, so waiting for them neither
+     * holds a slot nor counts against the slot timeout. HIGH lane deliveries jump the rate limiter
+     * queue and use the bulkhead's reserved slots.
+     * If the channel's circuit is open the lane fails and its batch is redelivered later. If no
+     * bulkhead slot frees up, every record is reported as failed. Either way nothing was sent, so
+     * unused permits are returned to the rate limiter.
+     * Only errors and I/O timeouts of the channel call itself count as circuit breaker failures.
      */
-    private void sendEmail(NotificationMessage notification) {
-        if (mailSender == null) {
-            log.warn("⚠️ JavaMailSender is not configured. Email notification will not be sent to: {}", 
-                    notification.getRecipient());
+    public void deliver(NotificationLane lane, NotificationChannel channel,
+                        List<ConsumerRecord<String, NotificationMessage>> records) {
+        ChannelBulkhead bulkhead = deliveryChannelRegistry.bulkhead(channel);
+        if (bulkhead == null) {
+            log.warn("Unsupported notification channel: {}", channel);
             return;
         }
 
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(notification.getRecipient());
-            message.setSubject(notification.getSubject());
-            message.setText(notification.getMessage());
+        List<ConsumerRecord<String, NotificationMessage>> pending =
+                notificationDeduplicator.filterDelivered(channel, records);
+        if (pending.isEmpty()) {
+            return;
+        }
 
-            mailSender.send(message);
-            log.info("📧 Email sent successfully to: {}", notification.getRecipient());
+        ChannelCircuitBreaker circuitBreaker = deliveryChannelRegistry.circuitBreaker(channel);
+        if (!circuitBreaker.isCallPermitted()) {
+            throw circuitOpen(channel);
+        }
 
-        } catch (Exception e) {
-            log.error("❌ Failed to send email to {}: {}", notification.getRecipient(), e.getMessage(), e);
-            throw new RuntimeException("Email sending failed", e);
+        try {
+            deliveryRateLimiter.acquire(channel, lane, pending.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        if (!circuitBreaker.isCallPermitted()) {
+            // Opened while waiting for permits
+            deliveryRateLimiter.release(channel, pending.size());
+            throw circuitOpen(channel);
+        }
+
+        try {
+            bulkhead.execute(lane, () -> deliverPending(channel, pending));
+        } catch (InterruptedException e) {
+            // The delivery may still complete; the redelivered batch skips whatever it sent
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            // deliverPending reports its own failures; whatever escapes it could not be routed to retry
+            throw new CompletionException(e.getCause());
+        } catch (RejectedExecutionException e) {
+            deliveryRateLimiter.release(channel, pending.size());
+            pending.forEach(record -> reportFailure(record, channel, e));
         }
     }
 
     /**
-     * Future: Send SMS notification
+     * Failure of a lane while the channel's circuit is open. Only records already in flight when the
+     * circuit opened get here; ChannelCircuitGuard has paused consumption, so they stay uncommitted
+     * and are redelivered once the circuit has closed instead of burning through the retry tiers.
      */
-    private void sendSMS(NotificationMessage notification) {
-        // TODO: Implement SMS sending using Twilio, AWS SNS, etc.
-        log.info("📱 SMS notification (not implemented): {}", notification.getRecipient());
+    private static RejectedExecutionException circuitOpen(NotificationChannel channel) {
+        return new RejectedExecutionException("Circuit for " + channel + " is open");
     }
 
     /**
-     * Future: Send push notification
+     * Deliver records through their channel, running on the channel's bulkhead executor.
      */
-    private void sendPushNotification(NotificationMessage notification) {
-        // TODO: Implement push notifications using Firebase, OneSignal, etc.
-        log.info("🔔 Push notification (not implemented): {}", notification.getRecipient());
+    private void deliverPending(NotificationChannel channel, List<ConsumerRecord<String, NotificationMessage>> pending) {
+        log.info("Delivering {} notifications via {}", pending.size(), channel);
+
+        List<NotificationMessage> notifications = new ArrayList<>(pending.size());
+        pending.forEach(record -> notifications.add(record.value()));
+
+        ChannelCircuitBreaker circuitBreaker = deliveryChannelRegistry.circuitBreaker(channel);
+        long start = System.currentTimeMillis();
+        List<ConsumerRecord<String, NotificationMessage>> delivered = new ArrayList<>(pending.size());
+        Map<ConsumerRecord<String, NotificationMessage>, Exception> failed = new LinkedHashMap<>();
+        try {
+            DeliveryResult result = deliveryChannelRegistry.channel(channel).deliver(notifications);
+            if (result.isSkipped()) {
+                return;
+            }
+            if (result.failureCount() < notifications.size()) {
+                circuitBreaker.onSuccess();
+            } else {
+                circuitBreaker.onFailure();
+            }
+            for (ConsumerRecord<String, NotificationMessage> record : pending) {
+                Exception cause = result.failureOf(record.value());
+                if (cause != null) {
+                    failed.put(record, cause);
+                } else {
+                    delivered.add(record);
+                    recordLatency(record, channel);
+                    notificationDeliveryLedger.recordDelivered(record, channel);
+                }
+            }
+            notificationStageMetrics.record(NotificationStageMetrics.Stage.CHANNEL, channel,
+                    System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            // Shutting down mid-send: leave the batch uncommitted rather than guess what was sent
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (Exception e) {
+            circuitBreaker.onFailure();
+            pending.forEach(record -> failed.put(record, e));
+        }
+
+        deliveryRateLimiter.onResult(channel, delivered.size(), pending.size() - delivered.size(),
+                System.currentTimeMillis() - start);
+        notificationDeduplicator.markDelivered(channel, delivered);
+        // Routed last: if routing fails the batch is redelivered, and must skip what was delivered
+        failed.forEach((record, cause) -> reportFailure(record, channel, cause));
     }
 
     /**
-     * Future: Send Slack message
+     * Record the end-to-end latency of a delivery: per lane for first attempts (retried records
+     * would only measure their retry delay), and since creation for every attempt.
      */
-    private void sendSlackMessage(NotificationMessage notification) {
-        // TODO: Implement Slack integration using Slack API
-        log.info("💬 Slack notification (not implemented): {}", notification.getRecipient());
+    private void recordLatency(ConsumerRecord<String, NotificationMessage> record, NotificationChannel channel) {
+        if (NotificationHeaders.get(record.headers(), NotificationHeaders.ATTEMPT) == null) {
+            laneLatencyGuard.recordDelivery(NotificationLane.of(record.value()), channel, record.timestamp());
+        }
+        long createdAt = NotificationHeaders.getLong(record.headers(), NotificationHeaders.CREATED_AT, 0);
+        if (createdAt > 0) {
+            notificationStageMetrics.record(NotificationStageMetrics.Stage.END_TO_END, channel,
+                    System.currentTimeMillis() - createdAt);
+        }
     }
-}
 
+    /**
+     * Report a failed delivery of a single record without failing the rest of the batch.
+     * Deliverable records are handed to the retry topics; undeserializable ones are dropped.
+     *
+     * @throws IllegalStateException if the record could not be handed to the retry topics
+     */
+    private void reportFailure(ConsumerRecord<String, NotificationMessage> record,
+                               NotificationChannel channel, Exception e) {
+        NotificationMessage notification = record.value();
+        log.error("❌ Failed to deliver notification [{}-{}@{}] via {} to {}: {}",
+                record.topic(), record.partition(), record.offset(), channel,
+                notification != null ? notification.getRecipient() : "unknown", e.getMessage(), e);
+
+        if (notification != null && channel != null) {
+            notificationDeliveryLedger.recordFailed(record, channel, e);
+            notificationRetryRouter.route(record, channel, e);
+        }
+    }
+}
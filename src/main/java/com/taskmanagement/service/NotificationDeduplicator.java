@@ -0,0 +1,188 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.model.DeliveredNotification;
+import com.taskmanagement.repository.DeliveredNotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Idempotent delivery guard - drops notifications that were already delivered.
+ *
+ * Kafka redelivers uncommitted records after a rebalance or crash. Every notification carries
+ * a stable ID assigned when it enters the outbox, and each successful delivery is remembered
+ * per (notification ID, channel):
+ * 1. In memory, in an LRU bounded to max-entries keys (fixed memory budget)
+ * 2. In the compact delivered_notifications table, for keys evicted from memory or delivered
+ *    by another instance; rows are removed after the retention period
+ *
+ * A redelivery therefore costs a hash lookup (or one batched primary key query) instead of
+ * an SMTP call.
+ */
+@Component
+@Slf4j
+public class NotificationDeduplicator {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO delivered_notifications (delivery_key, delivered_at) VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    private final DeliveredNotificationRepository deliveredNotificationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Boolean> recentlyDelivered;
+    private final Counter memoryHits;
+    private final Counter storeHits;
+    private final Counter misses;
+
+    @Value("${app.notification.dedup.retention-days:7}")
+    private int retentionDays;
+
+    public NotificationDeduplicator(DeliveredNotificationRepository deliveredNotificationRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.notification.dedup.max-entries:100000}") int maxEntries) {
+        this.deliveredNotificationRepository = deliveredNotificationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.recentlyDelivered = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.memoryHits = Counter.builder("notifications.dedup.lookups").tag("result", "memory-hit")
+                .description("Duplicate deliveries caught by the in-memory LRU")
+                .register(meterRegistry);
+        this.storeHits = Counter.builder("notifications.dedup.lookups").tag("result", "store-hit")
+                .description("Duplicate deliveries caught by the delivered_notifications table")
+                .register(meterRegistry);
+        this.misses = Counter.builder("notifications.dedup.lookups").tag("result", "miss")
+                .description("Deliveries not seen before")
+                .register(meterRegistry);
+        Gauge.builder("notifications.dedup.hit.ratio", this, NotificationDeduplicator::hitRatio)
+                .description("Share of delivery attempts dropped as duplicates")
+                .register(meterRegistry);
+        Gauge.builder("notifications.dedup.memory.entries", this, NotificationDeduplicator::memoryEntries)
+                .description("Delivery keys held in the in-memory LRU")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drop records that were already delivered on the channel.
+     *
+     * @return The records still to be delivered, in their original order
+     */
+    public List<ConsumerRecord<String, NotificationMessage>> filterDelivered(
+            NotificationChannel channel, List<ConsumerRecord<String, NotificationMessage>> records) {
+        List<String> unknownKeys = new ArrayList<>();
+        synchronized (recentlyDelivered) {
+            for (ConsumerRecord<String, NotificationMessage> record : records) {
+                String key = deliveryKey(record.value(), channel);
+                if (key != null && !recentlyDelivered.containsKey(key)) {
+                    unknownKeys.add(key);
+                }
+            }
+        }
+
+        Set<String> storedKeys = new HashSet<>();
+        if (!unknownKeys.isEmpty()) {
+            deliveredNotificationRepository.findAllById(unknownKeys)
+                    .forEach(delivered -> storedKeys.add(delivered.getDeliveryKey()));
+            remember(storedKeys);
+        }
+
+        List<ConsumerRecord<String, NotificationMessage>> pending = new ArrayList<>(records.size());
+        Set<String> unknown = new HashSet<>(unknownKeys);
+        for (ConsumerRecord<String, NotificationMessage> record : records) {
+            String key = deliveryKey(record.value(), channel);
+            if (key == null) {
+                pending.add(record);
+            } else if (storedKeys.contains(key)) {
+                storeHits.increment();
+                log.info("♻️ Skipping duplicate {} delivery of notification {}", channel, record.value().getNotificationId());
+            } else if (!unknown.contains(key)) {
+                memoryHits.increment();
+                log.info("♻️ Skipping duplicate {} delivery of notification {}", channel, record.value().getNotificationId());
+            } else {
+                misses.increment();
+                pending.add(record);
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Remember successfully delivered records.
+     */
+    public void markDelivered(NotificationChannel channel, List<ConsumerRecord<String, NotificationMessage>> records) {
+        List<String> keys = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, NotificationMessage> record : records) {
+            String key = deliveryKey(record.value(), channel);
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        remember(keys);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, keys, keys.size(), (statement, key) -> {
+                statement.setString(1, key);
+                statement.setTimestamp(2, now);
+            });
+        } catch (Exception e) {
+            log.error("❌ Failed to persist {} delivery keys: {}", keys.size(), e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "${app.notification.dedup.cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = deliveredNotificationRepository.deleteDeliveredBefore(LocalDateTime.now().minusDays(retentionDays));
+        log.info("Purged {} expired delivery keys", purged);
+    }
+
+    private void remember(Iterable<String> keys) {
+        synchronized (recentlyDelivered) {
+            keys.forEach(key -> recentlyDelivered.put(key, Boolean.TRUE));
+        }
+    }
+
+    private String deliveryKey(NotificationMessage notification, NotificationChannel channel) {
+        if (notification == null || notification.getNotificationId() == null) {
+            return null;
+        }
+        return notification.getNotificationId() + ":" + channel;
+    }
+
+    private double hitRatio() {
+        double hits = memoryHits.count() + storeHits.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    private int memoryEntries() {
+        synchronized (recentlyDelivered) {
+            return recentlyDelivered.size();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationHeaders;
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.model.NotificationDelivery;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Write-behind ledger of notification delivery attempts (notification_deliveries).
+ *
+ * Delivery threads only enqueue entries into a bounded in-memory buffer; a scheduled
+ * flush drains it and writes up to batch-size entries per multi-row INSERT, so the
+ * ledger adds no database round-trip to a delivery. The ledger is best effort: when the
+ * buffer is full new entries are dropped (and counted) rather than slowing delivery down.
+ * A batch that cannot be written is kept and retried by the next flushes, while new entries
+ * keep buffering; after max-write-attempts it is dropped and counted as well.
+ *
+ * A digest is recorded once per task it covers, so the per-task history includes coalesced
+ * deliveries. Entries older than retention-days are purged daily.
+ */
+@Component
+@Slf4j
+public class NotificationDeliveryLedger {
+
+    private static final String INSERT_PREFIX = "INSERT INTO notification_deliveries "
+            + "(notification_id, task_id, recipient, channel, status, attempt, latency_ms, error, recorded_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String PURGE_SQL = "DELETE FROM notification_deliveries WHERE recorded_at < ?";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<NotificationDelivery> buffer;
+    private final Counter droppedCounter;
+    private final List<NotificationDelivery> unwritten = new ArrayList<>();
+    private int failedWrites;
+
+    @Value("${app.notification.ledger.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.notification.ledger.max-write-attempts:5}")
+    private int maxWriteAttempts;
+
+    @Value("${app.notification.ledger.retention-days:30}")
+    private int retentionDays;
+
+    public NotificationDeliveryLedger(JdbcTemplate jdbcTemplate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.notification.ledger.buffer-size:20000}") int bufferSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.droppedCounter = Counter.builder("notifications.ledger.dropped")
+                .description("Delivery ledger entries dropped because the buffer was full or they could not be written")
+                .register(meterRegistry);
+        Gauge.builder("notifications.ledger.buffered", buffer, BlockingQueue::size)
+                .description("Delivery ledger entries waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    public void recordDelivered(ConsumerRecord<String, NotificationMessage> record, NotificationChannel channel) {
+        record(record, channel, NotificationDelivery.DeliveryStatus.DELIVERED, null);
+    }
+
+    public void recordFailed(ConsumerRecord<String, NotificationMessage> record, NotificationChannel channel,
+                             Exception error) {
+        record(record, channel, NotificationDelivery.DeliveryStatus.FAILED, error);
+    }
+
+    private void record(ConsumerRecord<String, NotificationMessage> record, NotificationChannel channel,
+                        NotificationDelivery.DeliveryStatus status, Exception error) {
+        NotificationMessage notification = record.value();
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> taskIds = notification.getPartTaskIds() != null
+                ? notification.getPartTaskIds()
+                : Collections.singletonList(notification.getTaskId());
+        for (Long taskId : taskIds) {
+            NotificationDelivery delivery = NotificationDelivery.builder()
+                    .notificationId(notification.getNotificationId())
+                    .taskId(taskId)
+                    .recipient(notification.recipientKey())
+                    .channel(channel)
+                    .status(status)
+                    .attempt((int) NotificationHeaders.getLong(record.headers(), NotificationHeaders.ATTEMPT, 0) + 1)
+                    .latencyMs(notification.getTimestamp() != null
+                            ? Duration.between(notification.getTimestamp(), now).toMillis()
+                            : null)
+                    .error(error != null ? truncate(String.valueOf(error.getMessage())) : null)
+                    .recordedAt(now)
+                    .build();
+
+            if (!buffer.offer(delivery)) {
+                droppedCounter.increment();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.ledger.flush-interval-ms:1000}")
+    @PreDestroy
+    public synchronized void flush() {
+        while (!unwritten.isEmpty() || buffer.drainTo(unwritten, batchSize) > 0) {
+            try {
+                insert(unwritten);
+            } catch (Exception e) {
+                if (++failedWrites < maxWriteAttempts) {
+                    log.warn("⚠️ Failed to write {} delivery ledger entries (attempt {}), retrying with the next flush: {}",
+                            unwritten.size(), failedWrites, e.getMessage());
+                    return;
+                }
+                log.error("❌ Dropping {} delivery ledger entries after {} failed writes: {}",
+                        unwritten.size(), failedWrites, e.getMessage(), e);
+                droppedCounter.increment(unwritten.size());
+            }
+            unwritten.clear();
+            failedWrites = 0;
+        }
+    }
+
+    @Scheduled(cron = "${app.notification.ledger.cleanup-cron:0 45 3 * * *}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays)));
+        log.info("Purged {} expired delivery ledger entries", purged);
+    }
+
+    private void insert(List<NotificationDelivery> batch) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW.length() + 2))
+                .append(INSERT_PREFIX);
+        List<Object> params = new ArrayList<>(batch.size() * 9);
+        for (NotificationDelivery delivery : batch) {
+            if (params.size() > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+            params.add(delivery.getNotificationId());
+            params.add(delivery.getTaskId());
+            params.add(delivery.getRecipient());
+            params.add(delivery.getChannel().name());
+            params.add(delivery.getStatus().name());
+            params.add(delivery.getAttempt());
+            params.add(delivery.getLatencyMs());
+            params.add(delivery.getError());
+            params.add(Timestamp.valueOf(delivery.getRecordedAt()));
+        }
+        jdbcTemplate.update(sql.toString(), params.toArray());
+        log.debug("Wrote {} delivery ledger entries", batch.size());
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
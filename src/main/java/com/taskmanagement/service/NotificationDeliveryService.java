@@ -0,0 +1,58 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.NotificationDeliveryDTO;
+import com.taskmanagement.dto.NotificationDeliveryPageDTO;
+import com.taskmanagement.model.NotificationDelivery;
+import com.taskmanagement.repository.NotificationDeliveryRepository;
+import lombok.RequiredArgsConstructor;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Queries the notification delivery ledger with keyset pagination (newest first).
+ * The cursor is the ID of the last entry of the previous page, so a page costs the same
+ * index range scan no matter how deep it is.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class NotificationDeliveryService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final NotificationDeliveryRepository notificationDeliveryRepository;
+    private final ModelMapper modelMapper;
+
+    public NotificationDeliveryPageDTO findByTask(Long taskId, Long cursor, int size) {
+        int pageSize = pageSize(size);
+        return toPage(notificationDeliveryRepository.findByTaskIdBefore(taskId, cursorOrStart(cursor),
+                PageRequest.ofSize(pageSize)), pageSize);
+    }
+
+    public NotificationDeliveryPageDTO findByRecipient(String recipient, Long cursor, int size) {
+        int pageSize = pageSize(size);
+        return toPage(notificationDeliveryRepository.findByRecipientBefore(recipient, cursorOrStart(cursor),
+                PageRequest.ofSize(pageSize)), pageSize);
+    }
+
+    private NotificationDeliveryPageDTO toPage(List<NotificationDelivery> deliveries, int pageSize) {
+        return NotificationDeliveryPageDTO.builder()
+                .deliveries(deliveries.stream()
+                        .map(delivery -> modelMapper.map(delivery, NotificationDeliveryDTO.class))
+                        .toList())
+                .nextCursor(deliveries.size() == pageSize ? deliveries.get(deliveries.size() - 1).getId() : null)
+                .build();
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static Long cursorOrStart(Long cursor) {
+        return cursor != null ? cursor : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,74 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.DltReplayResultDTO;
+import com.taskmanagement.event.NotificationLane;
+import com.taskmanagement.service.transport.NotificationTransport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replays notifications parked on the dead-letter topic.
+ *
+ * The DLT is read through the NotificationTransport: from Kafka with the Kafka transport, from
+ * the bounded in-memory DLT of the in-process transport otherwise. Each record is republished
+ * to the topic of its original lane with a fresh retry budget, and only then removed from the
+ * DLT, so a failed replay can simply be run again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDltService {
+
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+
+    private final NotificationTransport notificationTransport;
+    private final NotificationService notificationService;
+
+    @Value("${app.notification.kafka.topic.dlt:notifications-dlt}")
+    private String dltTopic;
+
+    /**
+     * Republish up to maxRecords dead-lettered notifications to their lane topics.
+     *
+     * @param maxRecords Maximum number of records to replay
+     * @return The replay result
+     */
+    public synchronized DltReplayResultDTO replay(int maxRecords) {
+        log.info("Replaying up to {} notifications from DLT '{}'", maxRecords, dltTopic);
+
+        AtomicInteger replayed = new AtomicInteger();
+        Set<String> targetTopics = new TreeSet<>();
+        try {
+            notificationTransport.replayDeadLetters(maxRecords, record -> {
+                if (record.value() == null) {
+                    return;
+                }
+                String targetTopic = notificationService.topicFor(NotificationLane.of(record.value()));
+                notificationTransport.send(new ProducerRecord<>(targetTopic, record.key(), record.value()))
+                        .get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                targetTopics.add(targetTopic);
+                replayed.incrementAndGet();
+            });
+        } catch (Exception e) {
+            log.error("❌ DLT replay stopped after {} notifications: {}", replayed.get(), e.getMessage(), e);
+        }
+
+        log.info("✅ Replayed {} notifications from DLT '{}' to {}", replayed.get(), dltTopic, targetTopics);
+        return DltReplayResultDTO.builder()
+                .sourceTopic(dltTopic)
+                .targetTopics(List.copyOf(targetTopics))
+                .replayed(replayed.get())
+                .replayedAt(LocalDateTime.now())
+                .build();
+    }
+}
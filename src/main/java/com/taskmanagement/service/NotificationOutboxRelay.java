@@ -0,0 +1,34 @@
+package com.taskmanagement.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically drains the notification outbox to Kafka.
+ * Several instances can relay concurrently; each claims a disjoint set of rows.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxRelay {
+
+    private final NotificationOutboxService outboxService;
+
+    @Value("${app.notification.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.notification.outbox.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            // Keep draining while full batches are found
+            while (outboxService.relayBatch() >= batchSize) {
+                log.debug("Outbox batch full, relaying next batch");
+            }
+        } catch (Exception e) {
+            log.error("❌ Outbox relay failed, will retry on next run: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.taskmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.event.NotificationLane;
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.model.NotificationOutbox;
+import com.taskmanagement.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox for notifications.
+ *
+ * Notifications are written to the notification_outbox table in the same transaction
+ * as the task change that caused them, so they are published if and only if the change
+ * commits - even if the JVM dies right after the commit. NotificationOutboxRelay drains
+ * the table in batches and publishes to Kafka.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxService {
+
+    private static final String INSERT_PREFIX = "INSERT INTO notification_outbox "
+            + "(recipient, task_id, lane, payload, created_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?)";
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationService notificationService;
+    private final NotificationCoalescer notificationCoalescer;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.notification.enabled:true}")
+    private boolean notificationsEnabled;
+
+    @Value("${app.notification.coalesce.enabled:true}")
+    private boolean coalescingEnabled;
+
+    @Value("${app.notification.coalesce.window-ms:30000}")
+    private long coalesceWindowMillis;
+
+    @Value("${app.notification.outbox.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Store a notification in the outbox, joining the caller's transaction.
+     * The notification gets its stable ID here, so every relay attempt publishes the same ID.
+     *
+     * @param notification The notification to publish once the transaction commits
+     */
+    @Transactional
+    public void enqueue(NotificationMessage notification) {
+        if (!notificationsEnabled) {
+            log.info("Notifications are disabled");
+            return;
+        }
+
+        if (notification.getNotificationId() == null) {
+            notification.setNotificationId(UUID.randomUUID().toString());
+        }
+        outboxRepository.save(NotificationOutbox.builder()
+                .recipient(notification.recipientKey())
+                .taskId(notification.getTaskId())
+                .lane(NotificationLane.of(notification))
+                .payload(toJson(notification))
+                .build());
+        log.debug("Notification queued in outbox: {} to {}", notification.getType(), notification.recipientKey());
+    }
+
+    /**
+     * Store a batch of notifications in the outbox with one multi-row INSERT, joining the
+     * caller's transaction. Used for scheduled scans that raise many notifications at once.
+     *
+     * @param notifications The notifications to publish once the transaction commits
+     */
+    @Transactional
+    public void enqueueAll(List<NotificationMessage> notifications) {
+        if (!notificationsEnabled) {
+            log.info("Notifications are disabled");
+            return;
+        }
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + notifications.size() * (ROW.length() + 2))
+                .append(INSERT_PREFIX);
+        List<Object> params = new ArrayList<>(notifications.size() * 5);
+        for (NotificationMessage notification : notifications) {
+            if (notification.getNotificationId() == null) {
+                notification.setNotificationId(UUID.randomUUID().toString());
+            }
+            if (params.size() > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+            params.add(notification.recipientKey());
+            params.add(notification.getTaskId());
+            params.add(NotificationLane.of(notification).name());
+            params.add(toJson(notification));
+            params.add(createdAt);
+        }
+        jdbcTemplate.update(sql.toString(), params.toArray());
+        log.debug("{} notifications queued in outbox", notifications.size());
+    }
+
+    /**
+     * Claim, publish and delete one batch of outbox entries.
+     *
+     * Entries become due once they are older than the coalescing window, HIGH lane entries
+     * are due immediately. All pending entries
+     * of the recipients in the batch are claimed together and merged per recipient, so a burst
+     * for one recipient is published as one message. If publishing fails the transaction rolls
+     * back and the entries are picked up again by the next run.
+     *
+     * @return Number of outbox entries relayed
+     */
+    @Transactional
+    public int relayBatch() {
+        LocalDateTime cutoff = coalescingEnabled
+                ? LocalDateTime.now().minusNanos(coalesceWindowMillis * 1_000_000)
+                : LocalDateTime.now();
+        // Two index-backed queries rather than one OR that scans the table
+        Map<Long, NotificationOutbox> claimed = new LinkedHashMap<>();
+        outboxRepository.claimHigh(batchSize).forEach(entry -> claimed.put(entry.getId(), entry));
+        if (claimed.size() < batchSize) {
+            outboxRepository.claimDue(cutoff, batchSize - claimed.size())
+                    .forEach(entry -> claimed.putIfAbsent(entry.getId(), entry));
+        }
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        List<NotificationOutbox> due = new ArrayList<>(claimed.values());
+        if (coalescingEnabled) {
+            Set<String> recipients = due.stream().map(NotificationOutbox::getRecipient).collect(Collectors.toSet());
+            outboxRepository.claimForRecipients(recipients, batchSize)
+                    .forEach(entry -> claimed.putIfAbsent(entry.getId(), entry));
+        }
+
+        List<NotificationMessage> notifications = new ArrayList<>(claimed.size());
+        claimed.values().forEach(entry -> notifications.add(fromJson(entry.getPayload())));
+
+        notificationService.publishAll(coalescingEnabled
+                ? notificationCoalescer.coalesce(notifications)
+                : notifications);
+
+        outboxRepository.deleteAllByIdInBatch(claimed.keySet());
+        log.info("📤 Relayed {} outbox entries to Kafka", claimed.size());
+        return due.size();
+    }
+
+    private String toJson(NotificationMessage notification) {
+        try {
+            return objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize notification", e);
+        }
+    }
+
+    private NotificationMessage fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, NotificationMessage.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationHeaders;
+import com.taskmanagement.event.NotificationLane;
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.service.channel.ChannelCircuitBreaker;
+import com.taskmanagement.service.channel.DeliveryChannelRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Kafka Consumer Service for the retry topics.
+ *
+ * Each tier has a fixed delay, so records within a partition become due in offset order.
+ * When the head record is not due yet the consumer is paused (via nack) until it is,
+ * without blocking the main topic or holding any message in memory.
+ * While the circuit of the record's channel is open the consumer waits the same way,
+ * so an outage does not use up the remaining retry attempts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRetryConsumerService {
+
+    private final NotificationConsumerService notificationConsumerService;
+    private final NotificationClaimCheckResolver notificationClaimCheckResolver;
+    private final DeliveryChannelRegistry deliveryChannelRegistry;
+
+    @Value("${app.notification.circuit-breaker.probe-interval-ms:1000}")
+    private long probeIntervalMillis;
+
+    @KafkaListener(
+            topics = "${app.notification.kafka.topic.retry-1m:notifications-retry-1m}",
+            groupId = "notification-retry-consumer-group",
+            containerFactory = "notificationRetryKafkaListenerContainerFactory"
+    )
+    public void consumeRetry1m(ConsumerRecord<String, NotificationMessage> record, Acknowledgment acknowledgment) {
+        retry(record, acknowledgment, Duration.ofMinutes(1));
+    }
+
+    @KafkaListener(
+            topics = "${app.notification.kafka.topic.retry-10m:notifications-retry-10m}",
+            groupId = "notification-retry-consumer-group",
+            containerFactory = "notificationRetryKafkaListenerContainerFactory"
+    )
+    public void consumeRetry10m(ConsumerRecord<String, NotificationMessage> record, Acknowledgment acknowledgment) {
+        retry(record, acknowledgment, Duration.ofMinutes(10));
+    }
+
+    @KafkaListener(
+            topics = "${app.notification.kafka.topic.retry-1h:notifications-retry-1h}",
+            groupId = "notification-retry-consumer-group",
+            containerFactory = "notificationRetryKafkaListenerContainerFactory"
+    )
+    public void consumeRetry1h(ConsumerRecord<String, NotificationMessage> record, Acknowledgment acknowledgment) {
+        retry(record, acknowledgment, Duration.ofHours(1));
+    }
+
+    /**
+     * Deliver a retry record once its tier delay has passed.
+     * Also called by the in-process transport, which sleeps and redelivers the record on nack.
+     */
+    public void retry(ConsumerRecord<String, NotificationMessage> record, Acknowledgment acknowledgment, Duration delay) {
+        long remaining = record.timestamp() + delay.toMillis() - System.currentTimeMillis();
+        if (remaining > 0) {
+            // Head record not due yet - pause this partition until it is and redeliver it then
+            acknowledgment.nack(Duration.ofMillis(remaining));
+            return;
+        }
+
+        String header = NotificationHeaders.get(record.headers(), NotificationHeaders.CHANNEL);
+        NotificationChannel channel = header != null ? NotificationChannel.valueOf(header) : NotificationChannel.EMAIL;
+        ChannelCircuitBreaker circuitBreaker = deliveryChannelRegistry.circuitBreaker(channel);
+        if (circuitBreaker != null && !circuitBreaker.isCallPermitted()) {
+            // Channel is down - wait for its circuit to close instead of failing the attempt
+            acknowledgment.nack(Duration.ofMillis(Math.max(probeIntervalMillis, circuitBreaker.millisUntilProbe())));
+            return;
+        }
+
+        if (record.value() == null || !notificationClaimCheckResolver.resolve(List.of(record)).isEmpty()) {
+            log.error("❌ Dropping undeserializable or unresolvable retry record [{}-{}@{}]",
+                    record.topic(), record.partition(), record.offset());
+            acknowledgment.acknowledge();
+            return;
+        }
+
+        log.info("🔁 Retrying notification to {} from '{}' (attempt {})", record.value().getRecipient(),
+                record.topic(), NotificationHeaders.get(record.headers(), NotificationHeaders.ATTEMPT));
+
+        try {
+            notificationConsumerService.deliver(NotificationLane.of(record.value()), channel, List.of(record));
+        } catch (RuntimeException e) {
+            // Neither delivered nor routed to the next tier - redeliver it instead of losing it
+            log.error("❌ Retry of [{}-{}@{}] failed, redelivering it: {}",
+                    record.topic(), record.partition(), record.offset(), e.getMessage());
+            acknowledgment.nack(Duration.ofMillis(probeIntervalMillis));
+            return;
+        }
+        acknowledgment.acknowledge();
+    }
+}
@@ -0,0 +1,101 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationHeaders;
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.service.transport.NotificationTransport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes failed deliveries through the non-blocking retry topics.
+ *
+ * A failed record is republished to the next retry tier instead of being retried inline,
+ * so healthy traffic on the main topic never waits behind it:
+ * notifications → retry-1m → retry-10m → retry-1h → dlt
+ *
+ * Every hop carries the attempt count, the first-failure time, the last error and the
+ * channel to retry, so only the channel that failed is delivered again.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRetryRouter {
+
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+
+    private final NotificationTransport notificationTransport;
+
+    @Value("${app.notification.kafka.topic.retry-1m:notifications-retry-1m}")
+    private String retry1mTopic;
+
+    @Value("${app.notification.kafka.topic.retry-10m:notifications-retry-10m}")
+    private String retry10mTopic;
+
+    @Value("${app.notification.kafka.topic.retry-1h:notifications-retry-1h}")
+    private String retry1hTopic;
+
+    @Value("${app.notification.kafka.topic.dlt:notifications-dlt}")
+    private String dltTopic;
+
+    /**
+     * Republish a failed record to the next retry tier, or to the DLT once all tiers are exhausted.
+     *
+     * @param record  The record whose delivery failed
+     * @param channel The channel that failed
+     * @param error   The delivery failure
+     * @throws IllegalStateException if the record could not be published, so the caller
+     *                               must not acknowledge it
+     */
+    public void route(ConsumerRecord<String, NotificationMessage> record, NotificationChannel channel, Exception error) {
+        long attempt = NotificationHeaders.getLong(record.headers(), NotificationHeaders.ATTEMPT, 0) + 1;
+        long firstFailure = NotificationHeaders.getLong(record.headers(), NotificationHeaders.FIRST_FAILURE,
+                System.currentTimeMillis());
+        String originalTopic = NotificationHeaders.get(record.headers(), NotificationHeaders.ORIGINAL_TOPIC);
+        String targetTopic = nextTopic(attempt);
+
+        ProducerRecord<String, NotificationMessage> retryRecord =
+                new ProducerRecord<>(targetTopic, record.key(), record.value());
+        NotificationHeaders.set(retryRecord.headers(), NotificationHeaders.ATTEMPT, attempt);
+        NotificationHeaders.set(retryRecord.headers(), NotificationHeaders.FIRST_FAILURE, firstFailure);
+        NotificationHeaders.set(retryRecord.headers(), NotificationHeaders.LAST_ERROR, error.getMessage());
+        NotificationHeaders.set(retryRecord.headers(), NotificationHeaders.CHANNEL, channel);
+        NotificationHeaders.set(retryRecord.headers(), NotificationHeaders.ORIGINAL_TOPIC,
+                originalTopic != null ? originalTopic : record.topic());
+        NotificationHeaders.set(retryRecord.headers(), NotificationHeaders.CREATED_AT,
+                NotificationHeaders.get(record.headers(), NotificationHeaders.CREATED_AT));
+
+        try {
+            notificationTransport.send(retryRecord).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (targetTopic.equals(dltTopic)) {
+                log.error("☠️ Notification to {} moved to DLT '{}' after {} attempts",
+                        record.value().getRecipient(), dltTopic, attempt);
+            } else {
+                log.warn("🔁 Notification to {} scheduled for retry on '{}' (attempt {})",
+                        record.value().getRecipient(), targetTopic, attempt);
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("Failed to route notification [" + record.topic() + "-"
+                    + record.partition() + "@" + record.offset() + "] to '" + targetTopic + "': " + e.getMessage(), e);
+        }
+    }
+
+    public List<String> retryTopics() {
+        return List.of(retry1mTopic, retry10mTopic, retry1hTopic);
+    }
+
+    private String nextTopic(long attempt) {
+        List<String> tiers = retryTopics();
+        return attempt <= tiers.size() ? tiers.get((int) attempt - 1) : dltTopic;
+    }
+}
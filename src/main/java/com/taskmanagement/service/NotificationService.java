@@ -1,66 +1,160 @@
 package com.taskmanagement.service;
 
+import com.taskmanagement.event.NotificationLane;
 import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.event.NotificationHeaders;
+import com.taskmanagement.service.transport.NotificationTransport;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Notification Service - Kafka Producer
- * This service publishes notification messages to Kafka.
- * The actual notification sending (email, SMS, etc.) is handled by NotificationConsumerService.
+ * This service publishes notification messages to Kafka, on the topic of their priority lane.
+ * Records go through the configured NotificationTransport (Kafka, or the in-process ring buffers).
+ * Notifications with a future deliverAt are published to a delay-bucket topic instead and
+ * forwarded to their lane once due (see DeferredNotificationConsumerService).
+ * Notifications reach it through the transactional outbox (see NotificationOutboxService);
+ * the actual notification sending (email, SMS, etc.) is handled by NotificationConsumerService.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
-    private final KafkaTemplate<String, NotificationMessage> notificationKafkaTemplate;
+    /** Hop delays of the delay-bucket topics. */
+    public static final Duration DELAY_1M = Duration.ofMinutes(1);
+    public static final Duration DELAY_10M = Duration.ofMinutes(10);
+    public static final Duration DELAY_1H = Duration.ofHours(1);
+    public static final Duration DELAY_4H = Duration.ofHours(4);
+
+    private final NotificationTransport notificationTransport;
+    private final NotificationStageMetrics notificationStageMetrics;
 
     @Value("${app.notification.kafka.topic.notifications:notifications}")
     private String notificationTopic;
 
-    @Value("${app.notification.enabled:true}")
-    private boolean notificationsEnabled;
+    @Value("${app.notification.kafka.topic.notifications-high:notifications-high}")
+    private String notificationHighTopic;
+
+    @Value("${app.notification.kafka.topic.notifications-bulk:notifications-bulk}")
+    private String notificationBulkTopic;
+
+    @Value("${app.notification.kafka.topic.delay-1m:notifications-delay-1m}")
+    private String delay1mTopic;
+
+    @Value("${app.notification.kafka.topic.delay-10m:notifications-delay-10m}")
+    private String delay10mTopic;
+
+    @Value("${app.notification.kafka.topic.delay-1h:notifications-delay-1h}")
+    private String delay1hTopic;
+
+    @Value("${app.notification.kafka.topic.delay-4h:notifications-delay-4h}")
+    private String delay4hTopic;
+
+    @Value("${app.notification.producer.send-timeout-ms:30000}")
+    private long sendTimeoutMillis;
 
     /**
-     * Publish notification message to Kafka.
-     * The message will be consumed by NotificationConsumerService which handles actual delivery.
+     * Publish a batch of notification messages to Kafka and wait until all of them are acknowledged.
+     * All sends are issued before waiting, so the producer can batch them into few requests.
+     * The messages will be consumed by NotificationConsumerService which handles actual delivery.
      *
-     * @param notification The notification message to publish
+     * @param notifications The notification messages to publish
+     * @throws IllegalStateException if any message could not be published
      */
-    @Async
-    public void sendNotification(NotificationMessage notification) {
-        if (!notificationsEnabled) {
-            log.info("Notifications are disabled");
-            return;
-        }
+    public void publishAll(List<NotificationMessage> notifications) {
+        log.info("📤 Publishing {} notifications to Kafka", notifications.size());
 
-        log.info("📤 Publishing notification to Kafka: {} to {}",
-                notification.getType(), notification.getRecipient());
+        CompletableFuture<?>[] sends = notifications.stream()
+                .map(this::publish)
+                .toArray(CompletableFuture[]::new);
 
         try {
-            // Publish to Kafka - consumer will handle actual sending
-            notificationKafkaTemplate.send(notificationTopic, notification)
-                    .whenComplete((result, ex) -> {
-                        if (ex == null) {
-                            log.info("✅ Notification published to Kafka topic '{}': {} for task ID: {}",
-                                    notificationTopic, notification.getType(), notification.getTaskId());
-                        } else {
-                            log.error("❌ Failed to publish notification to Kafka: {}", ex.getMessage(), ex);
-                        }
-                    });
-
+            CompletableFuture.allOf(sends).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+            log.info("✅ {} notifications published to Kafka", notifications.size());
         } catch (Exception e) {
-            log.error("❌ Exception while publishing notification to Kafka: {}", e.getMessage(), e);
-            // In production, you might want to:
-            // 1. Store failed notifications in database for retry
-            // 2. Send alert to monitoring system
-            // 3. Fall back to direct email sending
+            log.error("❌ Failed to publish notifications to Kafka: {}", e.getMessage(), e);
+            throw new IllegalStateException("Publishing notifications to Kafka failed", e);
         }
     }
-}
 
+    private CompletableFuture<?> publish(NotificationMessage notification) {
+        log.debug("Publishing notification to Kafka: {} to {}", notification.getType(), notification.recipientKey());
+
+        // Publish to Kafka keyed by recipient - all notifications for one recipient
+        // land on the same partition of their lane and are delivered in order
+        ProducerRecord<String, NotificationMessage> record = new ProducerRecord<>(
+                topicFor(notification), notification.recipientKey(), notification);
+
+        // Carry the stage timestamps to the consumer
+        long publishedAt = System.currentTimeMillis();
+        if (notification.getTimestamp() != null) {
+            long createdAt = notification.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            NotificationHeaders.set(record.headers(), NotificationHeaders.CREATED_AT, createdAt);
+            notificationStageMetrics.record(NotificationStageMetrics.Stage.OUTBOX, publishedAt - createdAt);
+        }
+        NotificationHeaders.set(record.headers(), NotificationHeaders.PUBLISHED_AT, publishedAt);
+
+        return notificationTransport.send(record).whenComplete((result, ex) -> {
+            if (ex == null) {
+                notificationStageMetrics.record(NotificationStageMetrics.Stage.KAFKA_SEND,
+                        System.currentTimeMillis() - publishedAt);
+            }
+        });
+    }
+
+    /**
+     * The topic a notification is published to: the delay bucket for its remaining delay
+     * while its deliverAt lies in the future, otherwise the topic of its priority lane.
+     */
+    public String topicFor(NotificationMessage notification) {
+        if (notification.getDeliverAt() != null) {
+            long remainingMillis = Duration.between(LocalDateTime.now(), notification.getDeliverAt()).toMillis();
+            if (remainingMillis > 0) {
+                return delayTopicFor(remainingMillis);
+            }
+        }
+        return topicFor(NotificationLane.of(notification));
+    }
+
+    /**
+     * The largest bucket whose hop delay fits into the remaining delay, so a record
+     * never overshoots its deliverAt and reaches it in a few hops.
+     */
+    private String delayTopicFor(long remainingMillis) {
+        if (remainingMillis >= DELAY_4H.toMillis()) {
+            return delay4hTopic;
+        }
+        if (remainingMillis >= DELAY_1H.toMillis()) {
+            return delay1hTopic;
+        }
+        if (remainingMillis >= DELAY_10M.toMillis()) {
+            return delay10mTopic;
+        }
+        return delay1mTopic;
+    }
+
+    /**
+     * The topic of a priority lane.
+     */
+    public String topicFor(NotificationLane lane) {
+        switch (lane) {
+            case HIGH:
+                return notificationHighTopic;
+            case BULK:
+                return notificationBulkTopic;
+            default:
+                return notificationTopic;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationChannel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage latency timers of the notification pipeline (notifications.stage.latency{stage}).
+ *
+ * Stages, in pipeline order:
+ * - listener:   task event published -> TaskEventListener starts handling it
+ * - outbox:     notification created -> relay sends it to Kafka (includes the coalescing window)
+ * - kafka_send: send issued -> broker acknowledged (producer callback)
+ * - transit:    record timestamp -> consumer receives it
+ * - render:     claim-check resolution and rendering of a consumed batch
+ * - channel:    one channel delivery call until the provider acknowledged it
+ * - end_to_end: notification created -> delivered on a channel
+ * Timestamps travel between the stages in Kafka headers (see NotificationHeaders).
+ * Timers publish p50/p99 and a percentile histogram, so percentiles can also be
+ * aggregated across instances from the Prometheus endpoint.
+ */
+@Component
+public class NotificationStageMetrics {
+
+    public enum Stage {
+        LISTENER,
+        OUTBOX,
+        KAFKA_SEND,
+        TRANSIT,
+        RENDER,
+        CHANNEL,
+        END_TO_END
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public NotificationStageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(Stage stage, long millis) {
+        record(stage, null, millis);
+    }
+
+    public void record(Stage stage, NotificationChannel channel, long millis) {
+        String key = channel == null ? stage.name() : stage.name() + ":" + channel.name();
+        timers.computeIfAbsent(key, k -> Timer.builder("notifications.stage.latency")
+                        .description("Latency of one stage of the notification pipeline")
+                        .tag("stage", stage.name().toLowerCase())
+                        .tag("channel", channel == null ? "none" : channel.name())
+                        .publishPercentiles(0.5, 0.99)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(Math.max(0, millis), TimeUnit.MILLISECONDS);
+    }
+}
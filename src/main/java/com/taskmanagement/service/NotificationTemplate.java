@@ -0,0 +1,85 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A notification template compiled into alternating literal and variable segments.
+ *
+ * Placeholders are written as {variable}; a literal brace is written as {{ or }}.
+ * Variables are resolved to accessors at compile time, so rendering is a plain sequence
+ * of appends with no parsing and no format-string handling.
+ */
+public final class NotificationTemplate {
+
+    private final String[] literals;
+    private final List<Function<Model, String>> variables;
+
+    private NotificationTemplate(String[] literals, List<Function<Model, String>> variables) {
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    /**
+     * Compile a template source.
+     *
+     * @param source    The template text
+     * @param accessors Known variables and how to read them from the task and recipient
+     * @throws IllegalArgumentException if the template is malformed or uses an unknown variable
+     */
+    public static NotificationTemplate compile(String source, Map<String, Function<Model, String>> accessors) {
+        List<String> literals = new ArrayList<>();
+        List<Function<Model, String>> variables = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if ((c == '{' || c == '}') && i + 1 < source.length() && source.charAt(i + 1) == c) {
+                literal.append(c);
+                i += 2;
+            } else if (c == '{') {
+                int end = source.indexOf('}', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed placeholder at " + i + " in template: " + source);
+                }
+                String name = source.substring(i + 1, end).trim();
+                Function<Model, String> accessor = accessors.get(name);
+                if (accessor == null) {
+                    throw new IllegalArgumentException("Unknown template variable '" + name + "'");
+                }
+                literals.add(literal.toString());
+                literal.setLength(0);
+                variables.add(accessor);
+                i = end + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+
+        return new NotificationTemplate(literals.toArray(new String[0]), List.copyOf(variables));
+    }
+
+    /**
+     * Append the rendered template to the given builder.
+     */
+    public void renderTo(StringBuilder out, Model model) {
+        out.append(literals[0]);
+        for (int i = 0; i < variables.size(); i++) {
+            out.append(variables.get(i).apply(model)).append(literals[i + 1]);
+        }
+    }
+
+    /**
+     * What a template is rendered from: the task, and the user the notification is sent to.
+     */
+    public record Model(Task task, User recipient) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Notification Template Engine - renders notification subjects and bodies.
+ *
+ * Templates are read from {base-name}[_{locale}].properties as TYPE.subject / TYPE.body and
+ * compiled once into NotificationTemplate segments. Compiled templates are cached by
+ * (type, locale); a locale without its own file falls back to the default templates.
+ * Rendering appends into a per-thread reusable StringBuilder.
+ */
+@Component
+@Slf4j
+public class NotificationTemplateEngine {
+
+    private static final int MAX_RETAINED_BUILDER_CAPACITY = 16 * 1024;
+
+    private static final Map<String, Function<NotificationTemplate.Model, String>> VARIABLES = Map.of(
+            "name", model -> displayName(model.recipient()),
+            "assignee", model -> displayName(model.task().getAssignee()),
+            "title", model -> model.task().getTitle(),
+            "description", model -> model.task().getDescription() != null ? model.task().getDescription() : "N/A",
+            "status", model -> String.valueOf(model.task().getStatus()),
+            "priority", model -> String.valueOf(model.task().getPriority()),
+            "dueDate", model -> model.task().getDueDate() != null ? model.task().getDueDate().toString() : "N/A"
+    );
+
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    private final String baseName;
+    private final Locale defaultLocale;
+    private final Map<TemplateKey, CompiledTemplates> cache = new ConcurrentHashMap<>();
+
+    public NotificationTemplateEngine(@Value("${app.notification.template.base-name:notification-templates}") String baseName,
+                                      @Value("${app.notification.template.default-locale:en}") String defaultLocale) {
+        this.baseName = baseName;
+        this.defaultLocale = Locale.forLanguageTag(defaultLocale);
+
+        // Compile the default templates eagerly so a broken template fails startup
+        Properties defaults = loadProperties(null);
+        for (NotificationMessage.NotificationType type : NotificationMessage.NotificationType.values()) {
+            if (defaults.containsKey(type.name() + ".subject")) {
+                templates(type, this.defaultLocale);
+            }
+        }
+        log.info("Compiled {} notification templates", cache.size());
+    }
+
+    /**
+     * Render a notification in the default locale.
+     *
+     * @param recipient The user the notification is sent to, e.g. the creator for escalations
+     */
+    public RenderedNotification render(NotificationMessage.NotificationType type, Task task, User recipient) {
+        return render(type, defaultLocale, task, recipient);
+    }
+
+    /**
+     * Render a notification in the given locale.
+     */
+    public RenderedNotification render(NotificationMessage.NotificationType type, Locale locale, Task task,
+                                       User recipient) {
+        CompiledTemplates templates = templates(type, locale);
+        NotificationTemplate.Model model = new NotificationTemplate.Model(task, recipient);
+        StringBuilder builder = BUILDER.get();
+        try {
+            builder.setLength(0);
+            templates.subject.renderTo(builder, model);
+            String subject = builder.toString();
+
+            builder.setLength(0);
+            templates.body.renderTo(builder, model);
+            return new RenderedNotification(subject, builder.toString());
+        } finally {
+            if (builder.capacity() > MAX_RETAINED_BUILDER_CAPACITY) {
+                BUILDER.remove();
+            }
+        }
+    }
+
+    private static String displayName(User user) {
+        if (user == null) {
+            return "N/A";
+        }
+        return user.getFirstName() != null ? user.getFirstName() : user.getUsername();
+    }
+
+    private CompiledTemplates templates(NotificationMessage.NotificationType type, Locale locale) {
+        return cache.computeIfAbsent(new TemplateKey(type, locale), this::compile);
+    }
+
+    private CompiledTemplates compile(TemplateKey key) {
+        Properties properties = loadProperties(null);
+        if (!key.locale().equals(defaultLocale)) {
+            Properties localized = new Properties(properties);
+            localized.putAll(loadProperties(key.locale()));
+            properties = localized;
+        }
+
+        String subject = properties.getProperty(key.type().name() + ".subject");
+        String body = properties.getProperty(key.type().name() + ".body");
+        if (subject == null || body == null) {
+            throw new IllegalStateException("No notification template for " + key.type());
+        }
+        return new CompiledTemplates(
+                NotificationTemplate.compile(subject, VARIABLES),
+                NotificationTemplate.compile(body, VARIABLES));
+    }
+
+    private Properties loadProperties(Locale locale) {
+        String name = locale == null ? baseName + ".properties" : baseName + "_" + locale.toLanguageTag().replace('-', '_') + ".properties";
+        Properties properties = new Properties();
+        ClassPathResource resource = new ClassPathResource(name);
+        if (!resource.exists()) {
+            return properties;
+        }
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load notification templates from " + name, e);
+        }
+        return properties;
+    }
+
+    public record RenderedNotification(String subject, String body) {
+    }
+
+    private record TemplateKey(NotificationMessage.NotificationType type, Locale locale) {
+    }
+
+    private record CompiledTemplates(NotificationTemplate subject, NotificationTemplate body) {
+    }
+}
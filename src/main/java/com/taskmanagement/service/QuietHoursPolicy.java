@@ -0,0 +1,79 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationLane;
+import com.taskmanagement.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Quiet hours - defers notifications that would reach a recipient outside their working hours.
+ *
+ * The window is evaluated in the recipient's time zone (User.timeZone), falling back to
+ * app.notification.quiet-hours.zone and then to the server's zone. A window may wrap past
+ * midnight (e.g. 21:00-08:00). HIGH lane notifications (overdue and critical tasks) are
+ * never deferred.
+ */
+@Component
+@Slf4j
+public class QuietHoursPolicy {
+
+    @Value("${app.notification.quiet-hours.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notification.quiet-hours.zone:}")
+    private String defaultZone;
+
+    private final LocalTime start;
+    private final LocalTime end;
+
+    public QuietHoursPolicy(@Value("${app.notification.quiet-hours.start:21:00}") String start,
+                            @Value("${app.notification.quiet-hours.end:08:00}") String end) {
+        this.start = LocalTime.parse(start);
+        this.end = LocalTime.parse(end);
+    }
+
+    /**
+     * The time a notification for the recipient should be delivered at.
+     *
+     * @return The end of the current quiet hours in server local time, or null to deliver right away
+     */
+    public LocalDateTime deliverAt(User recipient, NotificationLane lane) {
+        if (!enabled || lane == NotificationLane.HIGH || start.equals(end)) {
+            return null;
+        }
+
+        ZonedDateTime now = ZonedDateTime.now(zoneOf(recipient));
+        LocalTime time = now.toLocalTime();
+        boolean wraps = start.isAfter(end);
+        boolean quiet = wraps ? !time.isBefore(start) || time.isBefore(end) : !time.isBefore(start) && time.isBefore(end);
+        if (!quiet) {
+            return null;
+        }
+
+        ZonedDateTime deliverAt = now.with(end);
+        if (!deliverAt.isAfter(now)) {
+            deliverAt = deliverAt.plusDays(1);
+        }
+        return deliverAt.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    private ZoneId zoneOf(User recipient) {
+        String zone = recipient != null && recipient.getTimeZone() != null ? recipient.getTimeZone() : defaultZone;
+        if (zone == null || zone.isBlank()) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(zone);
+        } catch (DateTimeException e) {
+            log.warn("Invalid time zone '{}', using the server time zone for quiet hours", zone);
+            return ZoneId.systemDefault();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.taskmanagement.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One-time migration of the legacy reminder_sent flag to the reminders_sent bitmask.
+ *
+ * Hibernate adds reminders_sent with 0 for existing rows, which would make every open task
+ * look as if none of its thresholds had fired: tasks reminded by the old 24h job, or simply
+ * past a threshold already, would be reminded and escalated again. On the first start after
+ * the upgrade every bit whose cutoff is already past is set (for all tasks, so a reopened task
+ * is not reminded either) in one UPDATE, then reminder_sent is dropped. Only while the column
+ * exists is the table locked and the column checked again, so the migration runs exactly once
+ * when several nodes start together, and later starts read information_schema and nothing else.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReminderBitsMigration implements ApplicationRunner {
+
+    private static final String LEGACY_COLUMN_SQL = "SELECT COUNT(*) FROM information_schema.columns "
+            + "WHERE table_schema = current_schema() AND table_name = 'tasks' AND column_name = 'reminder_sent'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReminderSchedule reminderSchedule;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        if (!hasLegacyColumn()) {
+            return;
+        }
+        // Only while the column exists, and checked again under the lock: another node may have migrated meanwhile
+        jdbcTemplate.execute("LOCK TABLE tasks IN SHARE ROW EXCLUSIVE MODE");
+        if (!hasLegacyColumn()) {
+            return;
+        }
+
+        List<LocalDateTime> cutoffs = reminderSchedule.cutoffs(LocalDateTime.now());
+        int tasks = 0;
+        if (!cutoffs.isEmpty()) {
+            StringBuilder dueMask = new StringBuilder();
+            Object[] params = new Object[cutoffs.size() + 1];
+            LocalDateTime maxCutoff = cutoffs.get(0);
+            for (int bit = 0; bit < cutoffs.size(); bit++) {
+                dueMask.append(bit > 0 ? " + " : "")
+                        .append("CASE WHEN due_date <= ? THEN ").append(1 << bit).append(" ELSE 0 END");
+                params[bit] = Timestamp.valueOf(cutoffs.get(bit));
+                if (cutoffs.get(bit).isAfter(maxCutoff)) {
+                    maxCutoff = cutoffs.get(bit);
+                }
+            }
+            params[cutoffs.size()] = Timestamp.valueOf(maxCutoff);
+            tasks = jdbcTemplate.update("UPDATE tasks SET reminders_sent = reminders_sent | (" + dueMask
+                    + ") WHERE due_date <= ?", params);
+        }
+        jdbcTemplate.execute("ALTER TABLE tasks DROP COLUMN IF EXISTS reminder_sent");
+        log.info("🔧 Migrated reminder_sent to reminders_sent: past reminder thresholds marked as sent for {} tasks",
+                tasks);
+    }
+
+    private boolean hasLegacyColumn() {
+        Integer columns = jdbcTemplate.queryForObject(LEGACY_COLUMN_SQL, Integer.class);
+        return columns != null && columns > 0;
+    }
+}
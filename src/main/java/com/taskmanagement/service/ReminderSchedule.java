@@ -0,0 +1,93 @@
+package com.taskmanagement.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The reminder thresholds of a task and their bits in Task.remindersSent.
+ *
+ * Bit i stands for the i-th entry of thresholds-hours (reminders to the assignee), the bit
+ * after them for the escalation to the creator. A threshold is due once the due date is at
+ * most its hours away. All due bits are set together, so a task that is reminded late gets one
+ * reminder rather than one per threshold it skipped. Bits are positional: append new
+ * thresholds at the end.
+ */
+@Component
+public class ReminderSchedule {
+
+    private final int[] hours;  // Per bit
+    private final int assigneeMask;
+    private final int escalationMask;
+
+    public ReminderSchedule(@Value("${app.notification.reminder.thresholds-hours:72,24,1}") int[] thresholdsHours,
+                            @Value("${app.notification.reminder.escalation-hours:1}") int escalationHours) {
+        boolean escalation = escalationHours >= 0;
+        if (thresholdsHours.length + (escalation ? 1 : 0) > Integer.SIZE - 1) {
+            throw new IllegalArgumentException("At most " + (Integer.SIZE - 1) + " reminder thresholds are supported");
+        }
+        this.hours = new int[thresholdsHours.length + (escalation ? 1 : 0)];
+        System.arraycopy(thresholdsHours, 0, hours, 0, thresholdsHours.length);
+        this.assigneeMask = (1 << thresholdsHours.length) - 1;
+        if (escalation) {
+            hours[thresholdsHours.length] = escalationHours;
+            this.escalationMask = 1 << thresholdsHours.length;
+        } else {
+            this.escalationMask = 0;
+        }
+    }
+
+    /**
+     * The due-date cutoff of every bit at the given time: bit i is due for tasks whose due
+     * date is at or before cutoffs.get(i).
+     */
+    public List<LocalDateTime> cutoffs(LocalDateTime now) {
+        List<LocalDateTime> cutoffs = new ArrayList<>(hours.length);
+        for (int h : hours) {
+            cutoffs.add(now.plusHours(h));
+        }
+        return cutoffs;
+    }
+
+    /**
+     * When the next threshold not in the sent mask is due, or null if all have fired.
+     */
+    public LocalDateTime nextDueAt(LocalDateTime dueDate, int sent) {
+        LocalDateTime next = null;
+        for (int bit = 0; bit < hours.length; bit++) {
+            if ((sent & (1 << bit)) == 0) {
+                LocalDateTime dueAt = dueDate.minusHours(hours[bit]);
+                if (next == null || dueAt.isBefore(next)) {
+                    next = dueAt;
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * The longest threshold, bounding the due dates a reminder scan has to look at.
+     */
+    public int maxHours() {
+        int max = 0;
+        for (int h : hours) {
+            max = Math.max(max, h);
+        }
+        return max;
+    }
+
+    public int allMask() {
+        return assigneeMask | escalationMask;
+    }
+
+    public int assigneeMask() {
+        return assigneeMask;
+    }
+
+    public int escalationMask() {
+        return escalationMask;
+    }
+}
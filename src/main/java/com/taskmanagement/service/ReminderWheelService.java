@@ -0,0 +1,203 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.TaskDueDateDTO;
+import com.taskmanagement.dto.TaskNotificationDTO;
+import com.taskmanagement.event.TaskEvent;
+import com.taskmanagement.model.Task;
+import com.taskmanagement.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fires task reminders at their exact time from an in-memory TimingWheel.
+ *
+ * A task's trigger is the time its next unfired reminder threshold becomes due (see
+ * ReminderSchedule); after firing, the task is scheduled again from the fired bits it has
+ * in the database, whether this trigger sent a reminder or not.
+ * The wheel holds the triggers firing within the next lookahead-hours:
+ * - loaded in keyset chunks for every shard this node acquires (see ShardLeaseManager)
+ *   and reloaded by every reconciliation run, which also drops triggers of released shards
+ * - kept current from the TaskEvents of TaskService once their transaction has committed,
+ *   for any task changed on this node, whichever node holds its shard
+ *
+ * Triggers are only hints: TaskService.sendReminders re-checks every fired task against the
+ * database under the lock of its shard, so stale or duplicate triggers send nothing.
+ * ScheduledNotificationService still sweeps the database as a safety net.
+ */
+@Service
+@Slf4j
+public class ReminderWheelService {
+
+    private final TaskService taskService;
+    private final TaskRepository taskRepository;
+    private final ShardLeaseManager shardLeaseManager;
+    private final ReminderSchedule reminderSchedule;
+    private final TimingWheel<Long> wheel;
+    private final Counter firedCounter;
+    private final Set<Integer> loadedShards = new HashSet<>();
+
+    @Value("${app.notification.reminder.wheel.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notification.reminder.wheel.lookahead-hours:24}")
+    private int lookaheadHours;
+
+    @Value("${app.notification.reminder.wheel.retry-ms:30000}")
+    private long retryMillis;
+
+    @Value("${app.notification.reminder.chunk-size:500}")
+    private int chunkSize;
+
+    public ReminderWheelService(TaskService taskService,
+                                TaskRepository taskRepository,
+                                ShardLeaseManager shardLeaseManager,
+                                ReminderSchedule reminderSchedule,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.notification.reminder.wheel.tick-ms:1000}") long tickMillis) {
+        this.taskService = taskService;
+        this.taskRepository = taskRepository;
+        this.shardLeaseManager = shardLeaseManager;
+        this.reminderSchedule = reminderSchedule;
+        this.wheel = new TimingWheel<>(tickMillis, System.currentTimeMillis());
+        this.firedCounter = Counter.builder("notifications.reminder.wheel.fired")
+                .description("Reminder triggers fired by the timing wheel")
+                .register(meterRegistry);
+        Gauge.builder("notifications.reminder.wheel.size", wheel, TimingWheel::size)
+                .description("Reminder triggers scheduled in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load the triggers of newly acquired shards and send the reminders that are due.
+     */
+    @Scheduled(fixedRateString = "${app.notification.reminder.wheel.tick-ms:1000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        loadAcquiredShards();
+
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        for (int from = 0; from < due.size(); from += chunkSize) {
+            List<Long> chunk = due.subList(from, Math.min(from + chunkSize, due.size()));
+            firedCounter.increment(chunk.size());
+            try {
+                List<TaskNotificationDTO> reminded = taskService.sendReminders(LocalDateTime.now(), chunk);
+                log.info("⏰ Reminders sent for {} of {} fired tasks", reminded.size(), chunk.size());
+                // Every fired task, reminded or not (e.g. its due date moved on another node),
+                // is scheduled again from its committed state; tasks no longer open drop out
+                taskRepository.findDueDatesByIdIn(chunk)
+                        .forEach(task -> schedule(task.getId(), task.getDueDate(), task.getRemindersSent()));
+            } catch (Exception e) {
+                log.error("Failed to send reminders for {} fired tasks, retrying in {} ms: {}",
+                        chunk.size(), retryMillis, e.getMessage(), e);
+                long retryAt = System.currentTimeMillis() + retryMillis;
+                chunk.forEach(taskId -> wheel.schedule(taskId, retryAt));
+            }
+        }
+    }
+
+    /**
+     * Reload the triggers of all held shards and drop those of released shards,
+     * picking up tasks that entered the lookahead and changes made on other nodes.
+     */
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        List<Integer> held = shardLeaseManager.getHeldShards();
+        synchronized (loadedShards) {
+            loadedShards.retainAll(held);
+            wheel.cancelIf(taskId -> !held.contains(shardLeaseManager.shardOf(taskId)));
+        }
+        held.forEach(this::load);
+    }
+
+    /**
+     * Keep the task's trigger current once its transaction has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Task task = event.getTask();
+        if (event.getEventType() == TaskEvent.EventType.DELETED
+                || task.getDueDate() == null
+                || task.getStatus() == Task.TaskStatus.COMPLETED
+                || task.getStatus() == Task.TaskStatus.CANCELLED) {
+            wheel.cancel(task.getId());
+        } else {
+            schedule(task.getId(), task.getDueDate(), task.getRemindersSent() != null ? task.getRemindersSent() : 0);
+        }
+    }
+
+    private void loadAcquiredShards() {
+        for (int shard : shardLeaseManager.getHeldShards()) {
+            synchronized (loadedShards) {
+                if (loadedShards.contains(shard)) {
+                    continue;
+                }
+            }
+            load(shard);
+        }
+    }
+
+    /**
+     * Schedule the pending reminders of a shard that fire within the lookahead.
+     */
+    private void load(int shard) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plusHours(reminderSchedule.maxHours() + lookaheadHours);
+        LocalDateTime afterDueDate = now;
+        long cursor = 0;
+        int loaded = 0;
+        List<TaskDueDateDTO> chunk;
+        do {
+            chunk = taskRepository.findPendingReminderDueDates(afterDueDate, cursor, until, reminderSchedule.allMask(),
+                    shardLeaseManager.getShards(), shard, PageRequest.ofSize(chunkSize));
+            for (TaskDueDateDTO task : chunk) {
+                schedule(task.getId(), task.getDueDate(), task.getRemindersSent());
+                afterDueDate = task.getDueDate();
+                cursor = task.getId();
+            }
+            loaded += chunk.size();
+        } while (chunk.size() == chunkSize);
+
+        synchronized (loadedShards) {
+            loadedShards.add(shard);
+        }
+        log.debug("Loaded {} reminder triggers of shard {}", loaded, shard);
+    }
+
+    /**
+     * Schedule the task's next reminder threshold not in the sent mask, or cancel its trigger.
+     */
+    private void schedule(Long taskId, LocalDateTime dueDate, int sent) {
+        LocalDateTime nextDueAt = reminderSchedule.nextDueAt(dueDate, sent);
+        if (nextDueAt == null) {
+            wheel.cancel(taskId);
+            return;
+        }
+        long fireAt = nextDueAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long lookaheadMillis = Math.min(lookaheadHours * 3_600_000L, wheel.horizonMillis());
+        if (fireAt - System.currentTimeMillis() > lookaheadMillis || !wheel.schedule(taskId, fireAt)) {
+            // Too far ahead, loaded by a later reconciliation run
+            wheel.cancel(taskId);
+        }
+    }
+}
@@ -1,56 +1,118 @@
 package com.taskmanagement.service;
 
-import com.taskmanagement.event.TaskEvent;
-import com.taskmanagement.model.Task;
+import com.taskmanagement.dto.TaskNotificationDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Scheduled task reminders - reconciliation sweep.
+ *
+ * Reminders are fired at their exact time by ReminderWheelService; this job sweeps the
+ * database for any the wheel missed (e.g. a node died before its trigger fired) and then
+ * reloads the wheel.
+ * The task ID space is split into shards leased to the nodes of the cluster (see
+ * ShardLeaseManager); every node runs the job but only scans the shards it holds, so no
+ * reminder is sent twice and the scan scales with the number of nodes.
+ * Each shard is walked in keyset-ordered chunks by (dueDate, id) over the due dates between
+ * now and the largest threshold, each handled in its own transaction
+ * by TaskService.sendReminderChunk, so memory use stays flat and the number of SQL statements
+ * per chunk is constant, however large the backlog.
+ *
+ * The same shards drive overdue detection, which advances a persisted watermark per shard.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ScheduledNotificationService {
 
     private final TaskService taskService;
-    private final ApplicationEventPublisher eventPublisher;
+    private final ShardLeaseManager shardLeaseManager;
+    private final ReminderWheelService reminderWheelService;
 
-    @Value("${app.notification.reminder.hours-before-due:24}")
-    private int hoursBeforeDue;
+    @Value("${app.notification.reminder.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.notification.overdue.enabled:true}")
+    private boolean overdueEnabled;
+
+    @Value("${app.notification.overdue.chunk-size:500}")
+    private int overdueChunkSize;
 
     @Scheduled(cron = "${app.notification.reminder.cron:0 0 * * * *}")
     public void sendTaskReminders() {
         log.info("Running scheduled task reminder job");
 
-        try {
-            LocalDateTime reminderThreshold = LocalDateTime.now().plusHours(hoursBeforeDue);
-            List<Task> tasksNeedingReminder = taskService.getTasksNeedingReminder(reminderThreshold);
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> shards = shardLeaseManager.getHeldShards();
+        int reminded = 0;
+        for (int shard : shards) {
+            reminded += sendShardReminders(now, shard);
+        }
 
-            log.info("Found {} tasks needing reminders", tasksNeedingReminder.size());
+        log.info("Scheduled task reminder job completed: {} reminders sent for shards {}", reminded, shards);
 
-            for (Task task : tasksNeedingReminder) {
-                try {
-                    // Publish reminder event
-                    eventPublisher.publishEvent(new TaskEvent(this, task, TaskEvent.EventType.REMINDER));
+        try {
+            reminderWheelService.reload();
+        } catch (Exception e) {
+            log.error("Failed to reload the reminder timing wheel: {}", e.getMessage(), e);
+        }
+    }
 
-                    // Mark reminder as sent
-                    taskService.markReminderSent(task.getId());
+    /**
+     * Overdue detection: for every held shard, publish overdue events for the tasks whose due
+     * date passed since the shard's watermark. Each run only reads the due-date range between
+     * the previous and the current watermark, never the whole table.
+     */
+    @Scheduled(fixedDelayString = "${app.notification.overdue.interval-ms:60000}")
+    public void detectOverdueTasks() {
+        if (!overdueEnabled) {
+            return;
+        }
 
-                    log.info("Reminder sent for task ID: {}", task.getId());
-                } catch (Exception e) {
-                    log.error("Failed to send reminder for task ID {}: {}", task.getId(), e.getMessage(), e);
-                }
+        LocalDateTime now = LocalDateTime.now();
+        int overdue = 0;
+        for (int shard : shardLeaseManager.getHeldShards()) {
+            try {
+                int processed;
+                do {
+                    processed = taskService.sendOverdueChunk(shard, now, overdueChunkSize);
+                    overdue += processed;
+                } while (processed == overdueChunkSize);
+            } catch (Exception e) {
+                log.error("Error in overdue detection for shard {}: {}", shard, e.getMessage(), e);
             }
+        }
+
+        if (overdue > 0) {
+            log.info("Overdue detection completed: {} tasks became overdue", overdue);
+        }
+    }
 
-            log.info("Scheduled task reminder job completed");
+    private int sendShardReminders(LocalDateTime now, int shard) {
+        LocalDateTime afterDueDate = now;
+        long cursor = 0;
+        int reminded = 0;
+        try {
+            List<TaskNotificationDTO> chunk;
+            do {
+                chunk = taskService.sendReminderChunk(now, shard, afterDueDate, cursor, chunkSize);
+                if (!chunk.isEmpty()) {
+                    afterDueDate = chunk.get(chunk.size() - 1).getDueDate();
+                    cursor = chunk.get(chunk.size() - 1).getId();
+                    reminded += chunk.size();
+                    log.debug("Reminders sent for {} tasks of shard {} up to task ID: {}", chunk.size(), shard, cursor);
+                }
+            } while (chunk.size() == chunkSize);
         } catch (Exception e) {
-            log.error("Error in scheduled task reminder job: {}", e.getMessage(), e);
+            log.error("Error in scheduled task reminder job for shard {} after {} reminders (task ID {}): {}",
+                    shard, reminded, cursor, e.getMessage(), e);
         }
+        return reminded;
     }
 }
-
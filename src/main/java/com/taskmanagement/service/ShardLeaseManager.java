@@ -0,0 +1,147 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.repository.SchedulerLeaseRepository;
+import com.taskmanagement.repository.SchedulerNodeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Splits scheduled work into shards and leases them to the nodes of the cluster.
+ *
+ * Every node heartbeats into scheduler_nodes and holds time-limited leases on shards in
+ * scheduler_leases. Each heartbeat renews the node's leases and rebalances towards a fair
+ * share of ceil(shards / live nodes): a node above its share releases its highest shards,
+ * a node below it takes over free or expired ones. When a node joins, the others shed
+ * shards on their next heartbeat; when one leaves, its leases are released on shutdown or
+ * expire after lease-ttl-ms and are taken over.
+ *
+ * Work on a shard is fenced by lockShard: it locks the lease row in the worker's transaction,
+ * so a shard cannot change hands while a transaction on it is in progress.
+ */
+@Component
+@Slf4j
+public class ShardLeaseManager {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final SchedulerNodeRepository nodeRepository;
+    private final String nodeId;
+    private final int shards;
+    private volatile List<Integer> heldShards = List.of();
+    private volatile boolean shardsCreated;
+
+    @Value("${app.scheduler.lease-ttl-ms:30000}")
+    private long leaseTtlMillis;
+
+    public ShardLeaseManager(SchedulerLeaseRepository leaseRepository,
+                             SchedulerNodeRepository nodeRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.scheduler.node-id:${random.uuid}}") String nodeId,
+                             @Value("${app.scheduler.shards:16}") int shards) {
+        this.leaseRepository = leaseRepository;
+        this.nodeRepository = nodeRepository;
+        this.nodeId = nodeId;
+        this.shards = shards;
+        Gauge.builder("scheduler.shards.held", this, manager -> manager.heldShards.size())
+                .description("Scheduler shards leased by this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Renew this node's leases and rebalance them towards its fair share.
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.heartbeat-interval-ms:10000}")
+    @Transactional
+    public void heartbeat() {
+        if (!shardsCreated) {
+            leaseRepository.createShards(shards);
+            shardsCreated = true;
+        }
+
+        nodeRepository.heartbeat(nodeId);
+        nodeRepository.deleteDead(leaseTtlMillis);
+        long alive = Math.max(1, nodeRepository.countAlive(leaseTtlMillis));
+        int fairShare = (int) ((shards + alive - 1) / alive);
+
+        leaseRepository.renew(nodeId, leaseTtlMillis);
+        List<Integer> held = new ArrayList<>(leaseRepository.findHeld(nodeId, shards));
+        while (held.size() > fairShare) {
+            leaseRepository.release(held.remove(held.size() - 1), nodeId);
+        }
+        int acquired = 0;
+        while (held.size() + acquired < fairShare && leaseRepository.acquireOne(nodeId, leaseTtlMillis, shards) == 1) {
+            acquired++;
+        }
+        if (acquired > 0) {
+            held = leaseRepository.findHeld(nodeId, shards);
+        }
+
+        if (!held.equals(heldShards)) {
+            log.info("🔑 Holding {} of {} scheduler shards ({} nodes): {}", held.size(), shards, alive, held);
+        }
+        heldShards = List.copyOf(held);
+    }
+
+    /**
+     * Lock the shard's lease for the rest of the current transaction.
+     *
+     * @return false if this node no longer holds the shard
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean lockShard(int shard) {
+        return !leaseRepository.lockIfHeld(shard, nodeId).isEmpty();
+    }
+
+    /**
+     * Lock the leases of the shards of the given IDs for the rest of the current transaction,
+     * whether this node holds them or not, to serialize with the holders' work on them.
+     * Rows are locked in shard order, so concurrent callers cannot deadlock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockShardsOf(Collection<Long> ids) {
+        TreeSet<Integer> shardsOfIds = new TreeSet<>();
+        ids.forEach(id -> shardsOfIds.add(shardOf(id)));
+        leaseRepository.lockAll(shardsOfIds);
+    }
+
+    public int shardOf(long id) {
+        return (int) (id % shards);
+    }
+
+    /**
+     * The shards this node held at its last heartbeat, in ascending order.
+     */
+    public List<Integer> getHeldShards() {
+        return heldShards;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    /**
+     * Hand the shards over right away instead of letting the leases expire.
+     */
+    @PreDestroy
+    public void releaseAll() {
+        heldShards = List.of();
+        try {
+            leaseRepository.releaseAll(nodeId);
+            nodeRepository.deleteById(nodeId);
+            log.info("🔑 Released the scheduler shards of node {}", nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to release scheduler shards, they are taken over once the leases expire: {}", e.getMessage());
+        }
+    }
+}
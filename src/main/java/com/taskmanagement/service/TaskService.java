@@ -2,17 +2,22 @@ package com.taskmanagement.service;
 
 import com.taskmanagement.dto.TaskDTO;
 import com.taskmanagement.dto.TaskFilterDTO;
+import com.taskmanagement.dto.TaskNotificationDTO;
+import com.taskmanagement.event.TaskBatchEvent;
 import com.taskmanagement.event.TaskEvent;
 import com.taskmanagement.exception.ResourceNotFoundException;
 import com.taskmanagement.model.AuditLog;
+import com.taskmanagement.model.SchedulerWatermark;
 import com.taskmanagement.model.Task;
 import com.taskmanagement.model.User;
+import com.taskmanagement.repository.SchedulerWatermarkRepository;
 import com.taskmanagement.repository.TaskRepository;
 import com.taskmanagement.repository.TaskSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +35,9 @@ public class TaskService {
     private final AuditLogService auditLogService;
     private final ModelMapper modelMapper;
     private final ApplicationEventPublisher eventPublisher;
+    private final ShardLeaseManager shardLeaseManager;
+    private final SchedulerWatermarkRepository watermarkRepository;
+    private final ReminderSchedule reminderSchedule;
 
     @Transactional
     public TaskDTO createTask(TaskDTO taskDTO) {
@@ -43,7 +51,7 @@ public class TaskService {
                 .dueDate(taskDTO.getDueDate())
                 .estimatedHours(taskDTO.getEstimatedHours())
                 .tags(taskDTO.getTags())
-                .reminderSent(false)
+                .remindersSent(0)
                 .build();
 
         // Set assignee if provided
@@ -65,6 +73,7 @@ public class TaskService {
                 "SYSTEM", null, savedTask.getTitle(), "Task created");
 
         // Publish event for real-time notification
+        eventPublisher.publishEvent(new TaskEvent(this, savedTask, TaskEvent.EventType.CREATED));
         if (savedTask.getAssignee() != null) {
             eventPublisher.publishEvent(new TaskEvent(this, savedTask, TaskEvent.EventType.ASSIGNED));
         }
@@ -146,6 +155,7 @@ public class TaskService {
         }
 
         Task updatedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(new TaskEvent(this, updatedTask, TaskEvent.EventType.UPDATED));
 
         // General update audit log
         auditLogService.log("TASK", updatedTask.getId(), AuditLog.AuditAction.UPDATE,
@@ -163,6 +173,7 @@ public class TaskService {
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
 
         taskRepository.delete(task);
+        eventPublisher.publishEvent(new TaskEvent(this, task, TaskEvent.EventType.DELETED));
 
         // Audit log
         auditLogService.log("TASK", id, AuditLog.AuditAction.DELETE,
@@ -171,17 +182,126 @@ public class TaskService {
         log.info("Task deleted successfully: {}", id);
     }
 
+    /**
+     * Fire the due reminder thresholds of the next chunk of a shard's tasks and publish their events.
+     * One projection query, one bitwise UPDATE and one outbox INSERT per event type and chunk,
+     * all in one transaction - if any of them fails the whole chunk is retried by the next run.
+     * The shard's lease is locked for the transaction, so no other node reminds the same tasks.
+     *
+     * @param afterDueDate Due date of the last task of the previous chunk, now to start
+     * @param afterId      ID of the last task of the previous chunk, 0 to start
+     * @return The chunk in (dueDate, id) order, shorter than chunkSize once the scan is complete
+     * @throws IllegalStateException if this node no longer holds the shard
+     */
     @Transactional
-    public void markReminderSent(Long taskId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
-        task.setReminderSent(true);
-        taskRepository.save(task);
+    public List<TaskNotificationDTO> sendReminderChunk(LocalDateTime now, int shard, LocalDateTime afterDueDate,
+                                                       long afterId, int chunkSize) {
+        if (reminderSchedule.allMask() == 0) {
+            return List.of();
+        }
+        if (!shardLeaseManager.lockShard(shard)) {
+            throw new IllegalStateException("Reminder shard " + shard + " is no longer held by this node");
+        }
+
+        List<LocalDateTime> cutoffs = reminderSchedule.cutoffs(now);
+        List<TaskNotificationDTO> chunk = taskRepository.findReminderChunk(cutoffs, shardLeaseManager.getShards(), shard,
+                afterDueDate, afterId, chunkSize);
+        remind(chunk, cutoffs);
+        return chunk;
     }
 
-    @Transactional(readOnly = true)
-    public List<Task> getTasksNeedingReminder(LocalDateTime dueDate) {
-        return taskRepository.findTasksNeedingReminder(dueDate);
+    /**
+     * Send the reminders of the given tasks that are still due, e.g. when their timing wheel
+     * triggers fire. The shards of the tasks are locked for the transaction, so this never
+     * overlaps with the reminder scan of the node holding them.
+     *
+     * @return The tasks that had reminder thresholds due
+     */
+    @Transactional
+    public List<TaskNotificationDTO> sendReminders(LocalDateTime now, List<Long> taskIds) {
+        if (reminderSchedule.allMask() == 0) {
+            return List.of();
+        }
+        shardLeaseManager.lockShardsOf(taskIds);
+        List<LocalDateTime> cutoffs = reminderSchedule.cutoffs(now);
+        List<TaskNotificationDTO> due = taskRepository.findRemindersByIdIn(cutoffs, taskIds);
+        remind(due, cutoffs);
+        return due;
+    }
+
+    /**
+     * Publish overdue events for the next chunk of a shard's open tasks whose due date passed
+     * since the shard's persisted watermark, and move the watermark past them.
+     * The watermark is updated in the same transaction as the outbox write, so a restart
+     * neither misses nor repeats a task. A shard without a watermark starts at the given time.
+     * The watermark never moves backwards, so a node whose clock lags behind skips the run.
+     *
+     * @return The number of tasks processed, less than chunkSize once the shard has caught up
+     * @throws IllegalStateException if this node no longer holds the shard
+     */
+    @Transactional
+    public int sendOverdueChunk(int shard, LocalDateTime until, int chunkSize) {
+        if (!shardLeaseManager.lockShard(shard)) {
+            throw new IllegalStateException("Overdue shard " + shard + " is no longer held by this node");
+        }
+
+        String name = "overdue:" + shard;
+        SchedulerWatermark watermark = watermarkRepository.findById(name).orElse(null);
+        if (watermark == null) {
+            watermarkRepository.save(SchedulerWatermark.builder()
+                    .name(name).watermarkAt(until).watermarkId(Long.MAX_VALUE).build());
+            return 0;
+        }
+        if (until.isBefore(watermark.getWatermarkAt())) {
+            // This node's clock is behind the one that moved the watermark; never move it back
+            log.debug("Overdue shard {} is ahead of this node's clock ({} > {})", shard, watermark.getWatermarkAt(), until);
+            return 0;
+        }
+
+        List<TaskNotificationDTO> chunk = taskRepository.findOverdueChunk(watermark.getWatermarkAt(),
+                watermark.getWatermarkId(), until, shardLeaseManager.getShards(), shard, PageRequest.ofSize(chunkSize));
+        if (chunk.size() == chunkSize) {
+            TaskNotificationDTO last = chunk.get(chunk.size() - 1);
+            watermark.setWatermarkAt(last.getDueDate());
+            watermark.setWatermarkId(last.getId());
+        } else {
+            // Caught up: everything due up to until has been seen
+            watermark.setWatermarkAt(until);
+            watermark.setWatermarkId(Long.MAX_VALUE);
+        }
+        watermarkRepository.save(watermark);
+
+        if (!chunk.isEmpty()) {
+            eventPublisher.publishEvent(new TaskBatchEvent(this,
+                    chunk.stream().map(TaskNotificationDTO::toTask).toList(), TaskEvent.EventType.OVERDUE));
+        }
+        return chunk.size();
+    }
+
+    /**
+     * Set the due bits of the tasks and publish one reminder per task with a due assignee
+     * threshold, however many of them fired at once, and the escalations to the creators.
+     */
+    private void remind(List<TaskNotificationDTO> tasks, List<LocalDateTime> cutoffs) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        taskRepository.markRemindersSent(cutoffs, tasks.stream().map(TaskNotificationDTO::getId).toList());
+
+        List<Task> reminders = tasks.stream()
+                .filter(task -> (task.pendingMask() & reminderSchedule.assigneeMask()) != 0)
+                .map(TaskNotificationDTO::toTask)
+                .toList();
+        List<Task> escalations = tasks.stream()
+                .filter(task -> (task.pendingMask() & reminderSchedule.escalationMask()) != 0)
+                .map(TaskNotificationDTO::toTask)
+                .toList();
+        if (!reminders.isEmpty()) {
+            eventPublisher.publishEvent(new TaskBatchEvent(this, reminders, TaskEvent.EventType.REMINDER));
+        }
+        if (!escalations.isEmpty()) {
+            eventPublisher.publishEvent(new TaskBatchEvent(this, escalations, TaskEvent.EventType.ESCALATION));
+        }
     }
 
     private TaskDTO convertToDTO(Task task) {
@@ -0,0 +1,160 @@
+package com.taskmanagement.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Hierarchical timing wheel of keys with a deadline (Varghese & Lauck).
+ *
+ * LEVELS wheels of SLOTS slots each; a slot on level l spans SLOTS^l ticks, so the wheel
+ * reaches SLOTS^LEVELS ticks ahead. A key is placed on the lowest level whose span covers
+ * its distance from the current tick. Every tick fires the current slot of level 0, and
+ * whenever a level wraps around the next slot of the level above is cascaded down.
+ * Scheduling, cancelling and firing a key are O(1), and a tick with nothing due is O(1).
+ *
+ * Scheduling a key again replaces its deadline. All methods are synchronized.
+ */
+public class TimingWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+    private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final List<Set<K>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private final Set<K> overdue = new LinkedHashSet<>();
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private long currentTick;
+
+    public TimingWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * How far ahead of the current time keys can be scheduled.
+     */
+    public long horizonMillis() {
+        return (SPAN - 1) * tickMillis;
+    }
+
+    /**
+     * Schedule the key to fire once the deadline has passed, replacing an earlier deadline.
+     * A deadline in the past fires on the next advance.
+     *
+     * @return false if the deadline lies beyond the horizon (the key is not scheduled then)
+     */
+    public synchronized boolean schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long deadline = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        if (deadline - currentTick >= SPAN) {
+            return false;
+        }
+
+        Entry<K> entry = new Entry<>(deadline);
+        entries.put(key, entry);
+        if (deadline <= currentTick) {
+            // The current tick has been fired already
+            entry.slot = overdue;
+            overdue.add(key);
+        } else {
+            place(key, entry);
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the key was scheduled
+     */
+    public synchronized boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.slot.remove(key);
+        return true;
+    }
+
+    /**
+     * Cancel every key matching the filter. O(n) in the number of scheduled keys.
+     *
+     * @return The number of keys cancelled
+     */
+    public synchronized int cancelIf(Predicate<K> filter) {
+        List<K> cancelled = entries.keySet().stream().filter(filter).toList();
+        cancelled.forEach(this::cancel);
+        return cancelled.size();
+    }
+
+    /**
+     * Advance the wheel to the given time.
+     *
+     * @return The keys whose deadline has passed, in deadline order
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        List<K> fired = new ArrayList<>();
+        fire(overdue, fired);
+
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = 1; level < LEVELS && (currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0; level++) {
+                cascade(slot(level, currentTick));
+            }
+            fire(slot(0, currentTick), fired);
+        }
+        return fired;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void place(K key, Entry<K> entry) {
+        long delta = entry.deadline - currentTick;
+        int level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        entry.slot = slot(level, entry.deadline);
+        entry.slot.add(key);
+    }
+
+    private void cascade(Set<K> slot) {
+        List<K> keys = new ArrayList<>(slot);
+        slot.clear();
+        for (K key : keys) {
+            place(key, entries.get(key));
+        }
+    }
+
+    private void fire(Set<K> slot, List<K> fired) {
+        for (K key : slot) {
+            entries.remove(key);
+            fired.add(key);
+        }
+        slot.clear();
+    }
+
+    private Set<K> slot(int level, long tick) {
+        return slots.get(level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1)));
+    }
+
+    private static final class Entry<K> {
+        private final long deadline;
+        private Set<K> slot;
+
+        private Entry(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+}
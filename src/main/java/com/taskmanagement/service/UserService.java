@@ -46,6 +46,7 @@ public class UserService {
                 .firstName(userCreateDTO.getFirstName())
                 .lastName(userCreateDTO.getLastName())
                 .phoneNumber(userCreateDTO.getPhoneNumber())
+                .timeZone(userCreateDTO.getTimeZone())
                 .role(userCreateDTO.getRole())
                 .active(true)
                 .build();
@@ -101,6 +102,7 @@ public class UserService {
         if (userDTO.getFirstName() != null) user.setFirstName(userDTO.getFirstName());
         if (userDTO.getLastName() != null) user.setLastName(userDTO.getLastName());
         if (userDTO.getPhoneNumber() != null) user.setPhoneNumber(userDTO.getPhoneNumber());
+        if (userDTO.getTimeZone() != null) user.setTimeZone(userDTO.getTimeZone());
         if (userDTO.getRole() != null) user.setRole(userDTO.getRole());
         if (userDTO.getActive() != null) user.setActive(userDTO.getActive());
 
@@ -0,0 +1,114 @@
+package com.taskmanagement.service.channel;
+
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationLane;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulkhead isolating one delivery channel: its own executor and a cap on deliveries in flight.
+ * A slow or hanging channel exhausts only its own resources.
+ *
+ * A delivery holds its in-flight slot until it has actually finished, even if the caller stops
+ * waiting for it, so the cap always bounds the calls running against the provider. Only the wait
+ * for a free slot is bounded here; the calls themselves are bounded by the channel's own I/O
+ * timeouts (SMTP socket timeouts, webhook request timeout), so a delivery is never abandoned
+ * while it may still succeed.
+ *
+ * A few slots, each with its own thread, are reserved for the HIGH lane, so urgent deliveries
+ * never queue behind NORMAL and BULK deliveries for a slot or a thread.
+ */
+public class ChannelBulkhead {
+
+    private final NotificationChannel channel;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final ExecutorService reservedExecutor;
+    private final Semaphore reservedInFlight;
+    private final long slotTimeoutMillis;
+
+    public ChannelBulkhead(NotificationChannel channel, int threads, int maxInFlight, int reservedHigh,
+                           long slotTimeoutMillis) {
+        this.channel = channel;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.reservedInFlight = new Semaphore(reservedHigh);
+        this.slotTimeoutMillis = slotTimeoutMillis;
+        this.executor = Executors.newFixedThreadPool(threads, threadFactory(channel.name().toLowerCase()));
+        this.reservedExecutor = reservedHigh > 0
+                ? Executors.newFixedThreadPool(reservedHigh, threadFactory(channel.name().toLowerCase() + "-high"))
+                : null;
+    }
+
+    /**
+     * Run a delivery of the NORMAL lane inside the bulkhead and wait for it.
+     *
+     * @see #execute(NotificationLane, Runnable)
+     */
+    public void execute(Runnable delivery) throws InterruptedException, ExecutionException {
+        execute(NotificationLane.NORMAL, delivery);
+    }
+
+    /**
+     * Run a delivery inside the bulkhead and wait for it. HIGH lane deliveries use the reserved
+     * slots if there are any.
+     * If the caller is interrupted while waiting, the delivery keeps running and releases its slot when done.
+     *
+     * @throws RejectedExecutionException if no in-flight slot frees up within the slot timeout
+     * @throws ExecutionException         if the delivery fails
+     */
+    public void execute(NotificationLane lane, Runnable delivery) throws InterruptedException, ExecutionException {
+        boolean reserved = lane == NotificationLane.HIGH && reservedExecutor != null;
+        Semaphore slots = reserved ? reservedInFlight : inFlight;
+        if (!slots.tryAcquire(slotTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new RejectedExecutionException("Bulkhead for " + channel + " is full");
+        }
+
+        Future<?> future;
+        try {
+            future = (reserved ? reservedExecutor : executor).submit(() -> {
+                try {
+                    delivery.run();
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            throw e;
+        }
+
+        future.get();
+    }
+
+    public int availableSlots() {
+        return inFlight.availablePermits();
+    }
+
+    public int availableReservedSlots() {
+        return reservedInFlight.availablePermits();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        if (reservedExecutor != null) {
+            reservedExecutor.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "notification-" + name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,167 @@
+package com.taskmanagement.service.channel;
+
+import com.taskmanagement.event.NotificationChannel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Circuit breaker of one delivery channel.
+ *
+ * - CLOSED: deliveries are permitted and their outcomes recorded in a sliding window of the
+ *   last window-size calls. Once at least min-calls are recorded and the share of failed
+ *   calls reaches failure-rate-threshold percent, the circuit opens.
+ * - OPEN: no deliveries are permitted. After the open interval a probe may be started.
+ * - HALF_OPEN: a single probe checks the provider. Success closes the circuit, failure
+ *   opens it again for twice the previous interval, up to max-open-ms.
+ *
+ * A call fails when the channel throws, times out, or fails every notification of the call
+ * (e.g. the SMTP server is unreachable); rejecting single recipients does not count.
+ */
+@Slf4j
+public class ChannelCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    /**
+     * Notified after every state transition.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onStateChange(NotificationChannel channel, State state);
+    }
+
+    private final NotificationChannel channel;
+    private final boolean[] window;
+    private final int minCalls;
+    private final int failureRateThreshold;
+    private final long openMillis;
+    private final long maxOpenMillis;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failures;
+    private long currentOpenMillis;
+    private long openUntil;
+
+    public ChannelCircuitBreaker(NotificationChannel channel, int windowSize, int minCalls,
+                                 int failureRateThreshold, long openMillis, long maxOpenMillis) {
+        this.channel = channel;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minCalls = Math.max(1, Math.min(minCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openMillis;
+        this.maxOpenMillis = Math.max(openMillis, maxOpenMillis);
+        this.currentOpenMillis = openMillis;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized boolean isCallPermitted() {
+        return state == State.CLOSED;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Milliseconds until a probe may be started, 0 if the circuit is not open.
+     */
+    public synchronized long millisUntilProbe() {
+        return state == State.OPEN ? Math.max(0, openUntil - System.currentTimeMillis()) : 0;
+    }
+
+    public void onSuccess() {
+        record(false);
+    }
+
+    public void onFailure() {
+        record(true);
+    }
+
+    /**
+     * Move an open circuit whose interval has elapsed to HALF_OPEN.
+     *
+     * @return true if the caller should now run the probe and report it with onProbeResult()
+     */
+    public boolean tryStartProbe() {
+        synchronized (this) {
+            if (state != State.OPEN || System.currentTimeMillis() < openUntil) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+        }
+        notifyListeners(State.HALF_OPEN);
+        return true;
+    }
+
+    public void onProbeResult(boolean success) {
+        State newState;
+        synchronized (this) {
+            if (state != State.HALF_OPEN) {
+                return;
+            }
+            if (success) {
+                state = State.CLOSED;
+                currentOpenMillis = openMillis;
+                resetWindow();
+            } else {
+                currentOpenMillis = Math.min(currentOpenMillis * 2, maxOpenMillis);
+                open();
+            }
+            newState = state;
+        }
+        notifyListeners(newState);
+    }
+
+    private void record(boolean failed) {
+        synchronized (this) {
+            if (state != State.CLOSED) {
+                return;
+            }
+            if (recorded == window.length) {
+                failures -= window[next] ? 1 : 0;
+            } else {
+                recorded++;
+            }
+            window[next] = failed;
+            failures += failed ? 1 : 0;
+            next = (next + 1) % window.length;
+
+            if (recorded < minCalls || failures * 100 < failureRateThreshold * recorded) {
+                return;
+            }
+            log.warn("🔌 {} circuit opened: {} of the last {} deliveries failed", channel, failures, recorded);
+            open();
+        }
+        notifyListeners(State.OPEN);
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openUntil = System.currentTimeMillis() + currentOpenMillis;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+
+    private void notifyListeners(State newState) {
+        for (Listener listener : listeners) {
+            listener.onStateChange(channel, newState);
+        }
+    }
+}
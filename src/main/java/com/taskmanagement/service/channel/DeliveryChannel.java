@@ -0,0 +1,38 @@
+package com.taskmanagement.service.channel;
+
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationMessage;
+
+import java.util.List;
+
+/**
+ * Delivery channel SPI.
+ *
+ * Every Spring bean implementing this interface is registered with DeliveryChannelRegistry
+ * and receives its share of each consumed batch, isolated in its own ChannelBulkhead.
+ * Implementations should deliver the whole list in as few provider round-trips as possible.
+ */
+public interface DeliveryChannel {
+
+    /**
+     * The channel this implementation delivers.
+     */
+    NotificationChannel channel();
+
+    /**
+     * Deliver a batch of notifications.
+     *
+     * @param notifications The notifications to deliver, in order
+     * @return The per-notification outcome; throwing fails the whole batch
+     */
+    DeliveryResult deliver(List<NotificationMessage> notifications) throws Exception;
+
+    /**
+     * Check that the provider is reachable, without delivering anything.
+     * Used by the channel's circuit breaker while half-open; the default assumes it is.
+     *
+     * @throws Exception if the provider cannot be reached
+     */
+    default void probe() throws Exception {
+    }
+}
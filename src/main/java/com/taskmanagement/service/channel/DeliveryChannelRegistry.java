@@ -0,0 +1,97 @@
+package com.taskmanagement.service.channel;
+
+import com.taskmanagement.event.NotificationChannel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the available DeliveryChannel implementations and their bulkheads.
+ *
+ * Bulkhead and circuit breaker settings are read per channel with a shared default, e.g.
+ * app.notification.bulkhead.webhook.slot-timeout-ms overrides app.notification.bulkhead.slot-timeout-ms.
+ */
+@Component
+@Slf4j
+public class DeliveryChannelRegistry {
+
+    private static final String BULKHEAD = "app.notification.bulkhead.";
+    private static final String CIRCUIT_BREAKER = "app.notification.circuit-breaker.";
+
+    private final Map<NotificationChannel, DeliveryChannel> channels = new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, ChannelBulkhead> bulkheads = new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, ChannelCircuitBreaker> circuitBreakers =
+            new EnumMap<>(NotificationChannel.class);
+
+    public DeliveryChannelRegistry(List<DeliveryChannel> deliveryChannels, Environment environment,
+                                   MeterRegistry meterRegistry) {
+        for (DeliveryChannel deliveryChannel : deliveryChannels) {
+            NotificationChannel channel = deliveryChannel.channel();
+            int threads = setting(environment, BULKHEAD, channel, "threads", 8);
+            int maxInFlight = setting(environment, BULKHEAD, channel, "max-in-flight", 32);
+            int reservedHigh = setting(environment, BULKHEAD, channel, "reserved-high", 2);
+            long slotTimeoutMillis = setting(environment, BULKHEAD, channel, "slot-timeout-ms", 30000L);
+
+            ChannelBulkhead bulkhead = new ChannelBulkhead(channel, threads, maxInFlight, reservedHigh,
+                    slotTimeoutMillis);
+            channels.put(channel, deliveryChannel);
+            bulkheads.put(channel, bulkhead);
+            Gauge.builder("notifications.bulkhead.available", bulkhead, ChannelBulkhead::availableSlots)
+                    .tag("channel", channel.name())
+                    .description("Free in-flight slots in the channel bulkhead")
+                    .register(meterRegistry);
+            Gauge.builder("notifications.bulkhead.reserved.available", bulkhead, ChannelBulkhead::availableReservedSlots)
+                    .tag("channel", channel.name())
+                    .description("Free in-flight slots reserved for the HIGH lane")
+                    .register(meterRegistry);
+            circuitBreakers.put(channel, new ChannelCircuitBreaker(channel,
+                    setting(environment, CIRCUIT_BREAKER, channel, "window-size", 20),
+                    setting(environment, CIRCUIT_BREAKER, channel, "min-calls", 5),
+                    setting(environment, CIRCUIT_BREAKER, channel, "failure-rate-threshold", 50),
+                    setting(environment, CIRCUIT_BREAKER, channel, "open-ms", 30000L),
+                    setting(environment, CIRCUIT_BREAKER, channel, "max-open-ms", 600000L)));
+            log.info("Registered {} delivery channel (threads={}, max-in-flight={}, reserved-high={}, slot-timeout={} ms)",
+                    channel, threads, maxInFlight, reservedHigh, slotTimeoutMillis);
+        }
+    }
+
+    public boolean isAvailable(NotificationChannel channel) {
+        return channels.containsKey(channel);
+    }
+
+    public DeliveryChannel channel(NotificationChannel channel) {
+        return channels.get(channel);
+    }
+
+    public ChannelBulkhead bulkhead(NotificationChannel channel) {
+        return bulkheads.get(channel);
+    }
+
+    public ChannelCircuitBreaker circuitBreaker(NotificationChannel channel) {
+        return circuitBreakers.get(channel);
+    }
+
+    public Map<NotificationChannel, ChannelCircuitBreaker> circuitBreakers() {
+        return circuitBreakers;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bulkheads.values().forEach(ChannelBulkhead::shutdown);
+    }
+
+    private static <T> T setting(Environment environment, String prefix, NotificationChannel channel, String name,
+                                 T defaultValue) {
+        @SuppressWarnings("unchecked")
+        Class<T> type = (Class<T>) defaultValue.getClass();
+        T shared = environment.getProperty(prefix + name, type, defaultValue);
+        return environment.getProperty(prefix + channel.name().toLowerCase() + "." + name, type, shared);
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskmanagement.service.channel;
+
+import com.taskmanagement.event.NotificationMessage;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Outcome of a DeliveryChannel batch: every notification not marked as failed was delivered,
+ * unless the whole batch was skipped (e.g. because the channel is not configured).
+ */
+public final class DeliveryResult {
+
+    private final Map<NotificationMessage, Exception> failures = new IdentityHashMap<>();
+    private final boolean skipped;
+
+    private DeliveryResult(boolean skipped) {
+        this.skipped = skipped;
+    }
+
+    public static DeliveryResult success() {
+        return new DeliveryResult(false);
+    }
+
+    public static DeliveryResult skipped() {
+        return new DeliveryResult(true);
+    }
+
+    public boolean isSkipped() {
+        return skipped;
+    }
+
+    public void fail(NotificationMessage notification, Exception cause) {
+        failures.put(notification, cause);
+    }
+
+    public Exception failureOf(NotificationMessage notification) {
+        return failures.get(notification);
+    }
+
+    public int failureCount() {
+        return failures.size();
+    }
+}
@@ -0,0 +1,94 @@
+package com.taskmanagement.service.channel;
+
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationMessage;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Email delivery channel - sends a whole batch over a single SMTP transport session.
+ */
+@Component
+@Slf4j
+public class EmailDeliveryChannel implements DeliveryChannel {
+
+    @Autowired(required = false)
+    private JavaMailSender mailSender;
+
+    @Override
+    public NotificationChannel channel() {
+        return NotificationChannel.EMAIL;
+    }
+
+    @Override
+    public DeliveryResult deliver(List<NotificationMessage> notifications) {
+        if (mailSender == null) {
+            log.warn("⚠️ JavaMailSender is not configured. {} email notifications will not be sent", notifications.size());
+            return DeliveryResult.skipped();
+        }
+
+        DeliveryResult result = DeliveryResult.success();
+        Map<MimeMessage, NotificationMessage> messages = new IdentityHashMap<>();
+        for (NotificationMessage notification : notifications) {
+            try {
+                messages.put(buildMimeMessage(notification), notification);
+            } catch (MessagingException e) {
+                result.fail(notification, e);
+            }
+        }
+
+        if (messages.isEmpty()) {
+            return result;
+        }
+
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            log.info("📧 {} emails sent successfully in one SMTP session", messages.size());
+
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                messages.values().forEach(notification -> result.fail(notification, e));
+                return result;
+            }
+            failedMessages.forEach((message, cause) -> {
+                NotificationMessage notification = messages.get(message);
+                if (notification != null) {
+                    result.fail(notification, cause);
+                }
+            });
+            log.info("📧 {} of {} emails sent successfully", messages.size() - failedMessages.size(), messages.size());
+        }
+        return result;
+    }
+
+    /**
+     * Connect to the SMTP server and disconnect again.
+     */
+    @Override
+    public void probe() throws MessagingException {
+        if (mailSender instanceof JavaMailSenderImpl javaMailSender) {
+            javaMailSender.testConnection();
+        }
+    }
+
+    private MimeMessage buildMimeMessage(NotificationMessage notification) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "UTF-8");
+        helper.setTo(notification.getRecipient());
+        helper.setSubject(notification.getSubject());
+        helper.setText(notification.getMessage());
+        return mimeMessage;
+    }
+}
@@ -0,0 +1,81 @@
+package com.taskmanagement.service.channel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Webhook delivery channel - POSTs a whole batch as one JSON array to the configured URL.
+ * Any non-2xx response fails the batch.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notification.webhook.enabled", havingValue = "true")
+@Slf4j
+public class WebhookDeliveryChannel implements DeliveryChannel {
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final URI url;
+    private final Duration requestTimeout;
+
+    public WebhookDeliveryChannel(ObjectMapper objectMapper,
+                                  @Value("${app.notification.webhook.url:http://localhost:8089/notifications}") String url,
+                                  @Value("${app.notification.webhook.timeout-ms:5000}") long timeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.url = URI.create(url);
+        this.requestTimeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .build();
+    }
+
+    @Override
+    public NotificationChannel channel() {
+        return NotificationChannel.WEBHOOK;
+    }
+
+    @Override
+    public DeliveryResult deliver(List<NotificationMessage> notifications) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(notifications)))
+                .build();
+
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook " + url + " responded with HTTP " + response.statusCode());
+        }
+
+        log.info("🪝 {} notifications posted to webhook {}", notifications.size(), url);
+        return DeliveryResult.success();
+    }
+
+    /**
+     * Send a HEAD request; any response below 500 means the receiver is up.
+     */
+    @Override
+    public void probe() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(requestTimeout)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 500) {
+            throw new IOException("Webhook " + url + " responded with HTTP " + response.statusCode());
+        }
+    }
+}
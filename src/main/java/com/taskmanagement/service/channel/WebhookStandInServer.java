@@ -0,0 +1,70 @@
+package com.taskmanagement.service.channel;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+
+/**
+ * Local HTTP stand-in for the webhook receiver, for development and testing.
+ * Accepts every POST on the configured port, logs its size and answers 204 No Content.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notification.webhook.stand-in.enabled", havingValue = "true")
+@Slf4j
+public class WebhookStandInServer implements SmartLifecycle {
+
+    private final int port;
+    private HttpServer server;
+
+    public WebhookStandInServer(@Value("${app.notification.webhook.stand-in.port:8089}") int port) {
+        this.port = port;
+    }
+
+    @Override
+    public void start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start webhook stand-in on port " + port, e);
+        }
+        server.createContext("/", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                log.debug("Webhook stand-in received {} {} ({} bytes)",
+                        exchange.getRequestMethod(), exchange.getRequestURI(), body.readAllBytes().length);
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(2));
+        server.start();
+        log.info("Webhook stand-in listening on http://localhost:{}/", port);
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    @Override
+    public int getPhase() {
+        // Start before the Kafka listener containers so the first deliveries can reach it
+        return Integer.MIN_VALUE;
+    }
+}
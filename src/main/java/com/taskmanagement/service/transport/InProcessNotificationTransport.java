@@ -0,0 +1,560 @@
+package com.taskmanagement.service.transport;
+
+import com.taskmanagement.event.NotificationLane;
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.event.NotificationMessageCodec;
+import com.taskmanagement.service.ConsumptionController;
+import com.taskmanagement.service.DeferredNotificationConsumerService;
+import com.taskmanagement.service.InAppNotificationConsumerService;
+import com.taskmanagement.service.NotificationConsumerService;
+import com.taskmanagement.service.NotificationRetryConsumerService;
+import com.taskmanagement.service.NotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process transport for single-node deployments without Kafka.
+ *
+ * Every topic is a RingBuffer drained by its own consumer thread, which hands the
+ * listeners the same batches of ConsumerRecords (offset = ring sequence) and the same
+ * manual Acknowledgment contract as the Kafka listener containers:
+ * - lane topics: NotificationConsumerService.consume() per batch, then the in-app hub;
+ *   a lane paused through ConsumptionController is not drained until it is resumed, and
+ *   a lane redelivered through it hands out its unacknowledged batches again
+ * - retry and delay-bucket topics: NotificationRetryConsumerService and
+ *   DeferredNotificationConsumerService record by record; a nack sleeps the topic's
+ *   thread and redelivers the record, like pausing the partition in Kafka
+ * - DLT: records are kept in a bounded in-memory queue (dlt-capacity, oldest dropped first)
+ *   for NotificationDltService to replay; unlike the journaled topics it does not survive a
+ *   restart
+ *
+ * With app.notification.in-process.journal.enabled every record is appended to a
+ * NotificationJournal before it is published, so a send completes only once the record
+ * would survive a process restart; acknowledged batches are committed in the journal.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notification.transport", havingValue = "in-process")
+@Slf4j
+public class InProcessNotificationTransport implements NotificationTransport, SmartLifecycle {
+
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long PAUSED_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final ObjectProvider<NotificationConsumerService> notificationConsumerService;
+    private final ObjectProvider<NotificationRetryConsumerService> notificationRetryConsumerService;
+    private final ObjectProvider<DeferredNotificationConsumerService> deferredNotificationConsumerService;
+    private final ObjectProvider<InAppNotificationConsumerService> inAppNotificationConsumerService;
+    private final ConsumptionController consumptionController;
+    private final Counter deadLetterCounter;
+    private final Counter droppedDeadLetterCounter;
+    private final Deque<ConsumerRecord<String, NotificationMessage>> deadLetters = new ArrayDeque<>();
+    private final Map<String, TopicLog> topics = new LinkedHashMap<>();
+
+    @Value("${app.notification.inapp.enabled:true}")
+    private boolean inAppEnabled;
+
+    @Value("${app.notification.producer.send-timeout-ms:30000}")
+    private long sendTimeoutMillis;
+
+    @Value("${app.notification.in-process.journal.enabled:false}")
+    private boolean journalEnabled;
+
+    @Value("${app.notification.in-process.journal.dir:data/journal}")
+    private String journalDir;
+
+    @Value("${app.notification.in-process.journal.size-mb:64}")
+    private int journalSizeMb;
+
+    @Value("${app.notification.in-process.dlt-capacity:10000}")
+    private int deadLetterCapacity;
+
+    private volatile boolean running;
+
+    public InProcessNotificationTransport(
+            ObjectProvider<NotificationConsumerService> notificationConsumerService,
+            ObjectProvider<NotificationRetryConsumerService> notificationRetryConsumerService,
+            ObjectProvider<DeferredNotificationConsumerService> deferredNotificationConsumerService,
+            ObjectProvider<InAppNotificationConsumerService> inAppNotificationConsumerService,
+            ConsumptionController consumptionController,
+            MeterRegistry meterRegistry,
+            @Value("${app.notification.in-process.ring-size:8192}") int ringSize,
+            @Value("${app.notification.consumer.max-poll-records:500}") int maxPollRecords,
+            @Value("${app.notification.kafka.topic.notifications-high:notifications-high}") String highTopic,
+            @Value("${app.notification.kafka.topic.notifications:notifications}") String normalTopic,
+            @Value("${app.notification.kafka.topic.notifications-bulk:notifications-bulk}") String bulkTopic,
+            @Value("${app.notification.kafka.topic.retry-1m:notifications-retry-1m}") String retry1mTopic,
+            @Value("${app.notification.kafka.topic.retry-10m:notifications-retry-10m}") String retry10mTopic,
+            @Value("${app.notification.kafka.topic.retry-1h:notifications-retry-1h}") String retry1hTopic,
+            @Value("${app.notification.kafka.topic.dlt:notifications-dlt}") String dltTopic,
+            @Value("${app.notification.kafka.topic.delay-1m:notifications-delay-1m}") String delay1mTopic,
+            @Value("${app.notification.kafka.topic.delay-10m:notifications-delay-10m}") String delay10mTopic,
+            @Value("${app.notification.kafka.topic.delay-1h:notifications-delay-1h}") String delay1hTopic,
+            @Value("${app.notification.kafka.topic.delay-4h:notifications-delay-4h}") String delay4hTopic) {
+        this.notificationConsumerService = notificationConsumerService;
+        this.notificationRetryConsumerService = notificationRetryConsumerService;
+        this.deferredNotificationConsumerService = deferredNotificationConsumerService;
+        this.inAppNotificationConsumerService = inAppNotificationConsumerService;
+        this.consumptionController = consumptionController;
+        this.deadLetterCounter = Counter.builder("notifications.transport.dead.letters")
+                .description("Notifications that exhausted their retries on the in-process transport")
+                .register(meterRegistry);
+        this.droppedDeadLetterCounter = Counter.builder("notifications.transport.dead.letters.dropped")
+                .description("Dead-lettered notifications dropped because the in-process DLT was full")
+                .register(meterRegistry);
+        Gauge.builder("notifications.transport.dead.letters.parked", deadLetters, InProcessNotificationTransport::parkedDeadLetters)
+                .description("Dead-lettered notifications waiting for replay on the in-process transport")
+                .register(meterRegistry);
+
+        addLane(highTopic, NotificationLane.HIGH, ringSize, maxPollRecords);
+        addLane(normalTopic, NotificationLane.NORMAL, ringSize, maxPollRecords);
+        addLane(bulkTopic, NotificationLane.BULK, ringSize, maxPollRecords);
+        addRetry(retry1mTopic, Duration.ofMinutes(1), ringSize);
+        addRetry(retry10mTopic, Duration.ofMinutes(10), ringSize);
+        addRetry(retry1hTopic, Duration.ofHours(1), ringSize);
+        addDelay(delay1mTopic, NotificationService.DELAY_1M, ringSize);
+        addDelay(delay10mTopic, NotificationService.DELAY_10M, ringSize);
+        addDelay(delay1hTopic, NotificationService.DELAY_1H, ringSize);
+        addDelay(delay4hTopic, NotificationService.DELAY_4H, ringSize);
+        topics.put(dltTopic, new TopicLog(dltTopic, null, ringSize, maxPollRecords, this::deadLetter));
+
+        topics.values().forEach(topic -> Gauge.builder("notifications.transport.backlog", topic.ring, RingBuffer::size)
+                .tag("topic", topic.name)
+                .description("Records published to the in-process transport and not yet consumed")
+                .register(meterRegistry));
+    }
+
+    @Override
+    public CompletableFuture<?> send(ProducerRecord<String, NotificationMessage> record) {
+        TopicLog topic = topics.get(record.topic());
+        if (topic == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown topic: " + record.topic()));
+        }
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("In-process transport is not running"));
+        }
+        try {
+            topic.publish(record, record.timestamp() != null ? record.timestamp() : System.currentTimeMillis());
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Replays the records parked when the call starts; a record whose replay fails is put
+     * back at the head of the DLT.
+     */
+    @Override
+    public void replayDeadLetters(int maxRecords, DeadLetterReplayer replayer) throws Exception {
+        int parked;
+        synchronized (deadLetters) {
+            parked = deadLetters.size();
+        }
+        for (int handed = 0; handed < Math.min(maxRecords, parked); handed++) {
+            ConsumerRecord<String, NotificationMessage> record;
+            synchronized (deadLetters) {
+                record = deadLetters.pollFirst();
+            }
+            if (record == null) {
+                return;
+            }
+            try {
+                replayer.replay(record);
+            } catch (Exception e) {
+                synchronized (deadLetters) {
+                    deadLetters.addFirst(record);
+                }
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        for (TopicLog topic : topics.values()) {
+            topic.start();
+        }
+        running = true;
+        log.info("🚀 In-process notification transport started ({} topics, journal {})",
+                topics.size(), journalEnabled ? "enabled in " + journalDir : "disabled");
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (TopicLog topic : topics.values()) {
+            topic.stop();
+        }
+        log.info("🛑 In-process notification transport stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void addLane(String name, NotificationLane lane, int ringSize, int maxPollRecords) {
+        TopicLog topic = new TopicLog(name, lane, ringSize, maxPollRecords, (records, acknowledgment) -> {
+            notificationConsumerService.getObject().consume(lane, records, acknowledgment);
+            if (inAppEnabled) {
+                inAppNotificationConsumerService.getObject().consumeNotifications(records);
+            }
+        });
+        topics.put(name, topic);
+        consumptionController.registerRedelivery(lane, topic::requestRedelivery);
+    }
+
+    private void addRetry(String name, Duration delay, int ringSize) {
+        addRecordTopic(name, ringSize, (record, acknowledgment) ->
+                notificationRetryConsumerService.getObject().retry(record, acknowledgment, delay));
+    }
+
+    private void addDelay(String name, Duration delay, int ringSize) {
+        addRecordTopic(name, ringSize, (record, acknowledgment) ->
+                deferredNotificationConsumerService.getObject().release(record, acknowledgment, delay));
+    }
+
+    /**
+     * A topic consumed record by record, redelivering a record after the sleep of its nack.
+     * One record per batch, so the journal is committed record by record.
+     */
+    private void addRecordTopic(String name, int ringSize, RecordHandler handler) {
+        topics.put(name, new TopicLog(name, null, ringSize, 1, (records, acknowledgment) -> {
+            RecordAcknowledgment recordAcknowledgment = new RecordAcknowledgment(acknowledgment);
+            do {
+                recordAcknowledgment.nackMillis = -1;
+                handler.handle(records.get(0), recordAcknowledgment);
+            } while (recordAcknowledgment.nackMillis >= 0 && sleep(recordAcknowledgment.nackMillis));
+        }));
+    }
+
+    private void deadLetter(List<ConsumerRecord<String, NotificationMessage>> records, Acknowledgment acknowledgment) {
+        synchronized (deadLetters) {
+            for (ConsumerRecord<String, NotificationMessage> record : records) {
+                if (deadLetters.size() >= deadLetterCapacity) {
+                    ConsumerRecord<String, NotificationMessage> dropped = deadLetters.pollFirst();
+                    droppedDeadLetterCounter.increment();
+                    log.error("☠️ In-process DLT is full ({} records), dropping the oldest notification to {}",
+                            deadLetterCapacity, dropped.value() != null ? dropped.value().recipientKey() : "unknown");
+                }
+                deadLetters.addLast(record);
+            }
+        }
+        deadLetterCounter.increment(records.size());
+        acknowledgment.acknowledge();
+    }
+
+    private static double parkedDeadLetters(Deque<?> queue) {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Journal payload: timestamp, key, headers and the binary NotificationMessage encoding.
+     */
+    private static byte[] encode(ProducerRecord<String, NotificationMessage> record, long timestamp) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(timestamp);
+            out.writeBoolean(record.key() != null);
+            if (record.key() != null) {
+                out.writeUTF(record.key());
+            }
+            Header[] headers = record.headers().toArray();
+            out.writeShort(headers.length);
+            for (Header header : headers) {
+                out.writeUTF(header.key());
+                out.writeInt(header.value().length);
+                out.write(header.value());
+            }
+            byte[] value = NotificationMessageCodec.encode(record.value());
+            out.writeInt(value.length);
+            out.write(value);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Entry decode(String topic, NotificationJournal.Uncommitted uncommitted) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(uncommitted.payload()));
+        long timestamp = in.readLong();
+        String key = in.readBoolean() ? in.readUTF() : null;
+        RecordHeaders headers = new RecordHeaders();
+        for (int i = in.readShort(); i > 0; i--) {
+            String name = in.readUTF();
+            byte[] value = new byte[in.readInt()];
+            in.readFully(value);
+            headers.add(name, value);
+        }
+        byte[] value = new byte[in.readInt()];
+        in.readFully(value);
+        ProducerRecord<String, NotificationMessage> record = new ProducerRecord<>(
+                topic, null, timestamp, key, NotificationMessageCodec.decode(value), headers);
+        return new Entry(record, timestamp, uncommitted.position());
+    }
+
+    @FunctionalInterface
+    private interface RecordHandler {
+        void handle(ConsumerRecord<String, NotificationMessage> record, Acknowledgment acknowledgment);
+    }
+
+    @FunctionalInterface
+    private interface BatchHandler {
+        void handle(List<ConsumerRecord<String, NotificationMessage>> records, Acknowledgment acknowledgment);
+    }
+
+    /**
+     * One topic: its ring buffer, optional journal and consumer thread.
+     */
+    private final class TopicLog {
+        private final String name;
+        private final NotificationLane lane;
+        private final RingBuffer<Entry> ring;
+        private final int maxBatch;
+        private final BatchHandler handler;
+        private volatile NotificationJournal journal;  // Read by producer and consumer threads
+        private Thread consumer;
+        private volatile boolean waiting;
+        private volatile Runnable redeliveryRequest;
+        private final Deque<Batch> unacknowledged = new ArrayDeque<>();
+        private final Deque<Batch> redeliveries = new ArrayDeque<>();
+        private long nextOffset;
+
+        private TopicLog(String name, NotificationLane lane, int ringSize, int maxBatch, BatchHandler handler) {
+            this.name = name;
+            this.lane = lane;
+            this.ring = new RingBuffer<>(ringSize);
+            this.maxBatch = maxBatch;
+            this.handler = handler;
+        }
+
+        private void publish(ProducerRecord<String, NotificationMessage> record, long timestamp) throws Exception {
+            long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+            if (journal == null) {
+                ring.publish(new Entry(record, timestamp, 0), timeoutNanos);
+            } else {
+                byte[] payload = encode(record, timestamp);
+                // Journal and ring must see records in the same order, so commits only ever advance
+                synchronized (this) {
+                    ring.publish(new Entry(record, timestamp, journal.append(payload)), timeoutNanos);
+                }
+            }
+            if (waiting) {
+                LockSupport.unpark(consumer);
+            }
+        }
+
+        private void start() {
+            // Opened before the consumer starts, so it never handles a batch without committing it
+            try {
+                if (journalEnabled) {
+                    journal = new NotificationJournal(Path.of(journalDir, name + ".journal"), journalSizeMb << 20);
+                }
+
+                consumer = new Thread(this::consume, "notification-transport-" + name);
+                consumer.setDaemon(true);
+                consumer.start();
+
+                if (journal != null) {
+                    // After the consumer started, which drains a backlog larger than the ring
+                    recover();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open journal for topic " + name, e);
+            }
+        }
+
+        /**
+         * Publish the records that were accepted but not acknowledged before the last shutdown.
+         */
+        private synchronized void recover() throws IOException {
+            List<NotificationJournal.Uncommitted> uncommitted = journal.uncommitted();
+            for (NotificationJournal.Uncommitted entry : uncommitted) {
+                try {
+                    ring.publish(decode(name, entry), TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis));
+                } catch (TimeoutException e) {
+                    throw new IllegalStateException("Cannot recover the " + name + " journal", e);
+                }
+            }
+            if (!uncommitted.isEmpty()) {
+                log.warn("♻️ Recovered {} unacknowledged notifications from the {} journal", uncommitted.size(), name);
+                LockSupport.unpark(consumer);
+            }
+        }
+
+        private void stop() {
+            consumer.interrupt();
+            try {
+                consumer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (journal != null) {
+                journal.close();
+            }
+        }
+
+        /**
+         * Hand out every unacknowledged batch again, in order, after running onStopped
+         * on the consumer thread between two batches.
+         */
+        private void requestRedelivery(Runnable onStopped) {
+            redeliveryRequest = onStopped;
+            LockSupport.unpark(consumer);
+        }
+
+        private void consume() {
+            List<Entry> batch = new ArrayList<>(maxBatch);
+            while (!Thread.currentThread().isInterrupted()) {
+                Runnable onStopped = redeliveryRequest;
+                if (onStopped != null) {
+                    redeliveryRequest = null;
+                    synchronized (unacknowledged) {
+                        redeliveries.addAll(unacknowledged);
+                        unacknowledged.clear();
+                    }
+                    onStopped.run();
+                }
+                if (lane != null && consumptionController.isPaused(lane)) {
+                    LockSupport.parkNanos(PAUSED_WAIT_NANOS);
+                    continue;
+                }
+                if (!redeliveries.isEmpty()) {
+                    handle(redeliveries.pollFirst());
+                    continue;
+                }
+                if (ring.drainTo(batch, maxBatch) == 0) {
+                    waiting = true;
+                    if (ring.size() == 0) {
+                        LockSupport.parkNanos(IDLE_WAIT_NANOS);
+                    }
+                    waiting = false;
+                    continue;
+                }
+
+                List<ConsumerRecord<String, NotificationMessage>> records = new ArrayList<>(batch.size());
+                for (Entry entry : batch) {
+                    records.add(entry.toConsumerRecord(name, nextOffset++));
+                }
+                Batch handed = new Batch(records, batch.get(batch.size() - 1).journalPosition);
+                batch.clear();
+                handle(handed);
+            }
+        }
+
+        private void handle(Batch batch) {
+            if (lane != null) {
+                synchronized (unacknowledged) {
+                    unacknowledged.addLast(batch);
+                }
+            }
+            try {
+                handler.handle(batch.records(), () -> {
+                    if (lane != null) {
+                        synchronized (unacknowledged) {
+                            unacknowledged.remove(batch);
+                        }
+                    }
+                    if (journal != null) {
+                        journal.commit(batch.journalPosition());
+                    }
+                });
+            } catch (Exception e) {
+                log.error("❌ Unexpected failure while consuming {} records from {}: {}",
+                        batch.records().size(), name, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Records handed to the handler as one batch, and the journal position committed with them.
+     */
+    private record Batch(List<ConsumerRecord<String, NotificationMessage>> records, long journalPosition) {
+    }
+
+    private static final class Entry {
+        private final ProducerRecord<String, NotificationMessage> record;
+        private final long timestamp;
+        private final long journalPosition;
+
+        private Entry(ProducerRecord<String, NotificationMessage> record, long timestamp, long journalPosition) {
+            this.record = record;
+            this.timestamp = timestamp;
+            this.journalPosition = journalPosition;
+        }
+
+        private ConsumerRecord<String, NotificationMessage> toConsumerRecord(String topic, long offset) {
+            return new ConsumerRecord<>(topic, 0, offset, timestamp, TimestampType.CREATE_TIME,
+                    ConsumerRecord.NULL_SIZE, ConsumerRecord.NULL_SIZE, record.key(), record.value(),
+                    record.headers(), Optional.empty());
+        }
+    }
+
+    /**
+     * Acknowledgment of a single retry record: nack() asks the consumer thread to sleep and redeliver.
+     */
+    private static final class RecordAcknowledgment implements Acknowledgment {
+        private final Acknowledgment batch;
+        private long nackMillis = -1;
+
+        private RecordAcknowledgment(Acknowledgment batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void acknowledge() {
+            batch.acknowledge();
+        }
+
+        @Override
+        public void nack(Duration sleep) {
+            nackMillis = sleep.toMillis();
+        }
+    }
+}
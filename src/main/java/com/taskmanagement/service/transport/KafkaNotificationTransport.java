@@ -0,0 +1,102 @@
+package com.taskmanagement.service.transport;
+
+import com.taskmanagement.event.NotificationMessage;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Default transport: records are sent to Kafka and consumed by the @KafkaListener containers.
+ *
+ * The DLT is replayed by a consumer assigned every DLT partition directly, without joining a
+ * group rebalance, which continues from the offsets the replay group committed last time
+ * (from the beginning for partitions never replayed) up to the end offsets taken when the
+ * replay starts. Offsets are committed after each poll for the records replayed from it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notification.transport", havingValue = "kafka", matchIfMissing = true)
+@RequiredArgsConstructor
+public class KafkaNotificationTransport implements NotificationTransport {
+
+    private static final String REPLAY_GROUP_ID = "notification-dlt-replay-group";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration REPLAY_TIMEOUT = Duration.ofMinutes(1);
+
+    private final KafkaTemplate<String, NotificationMessage> notificationKafkaTemplate;
+    private final ConsumerFactory<String, NotificationMessage> notificationConsumerFactory;
+
+    @Value("${app.notification.kafka.topic.dlt:notifications-dlt}")
+    private String dltTopic;
+
+    @Override
+    public CompletableFuture<?> send(ProducerRecord<String, NotificationMessage> record) {
+        return notificationKafkaTemplate.send(record);
+    }
+
+    @Override
+    public void replayDeadLetters(int maxRecords, DeadLetterReplayer replayer) throws Exception {
+        int handed = 0;
+        try (Consumer<String, NotificationMessage> consumer =
+                     notificationConsumerFactory.createConsumer(REPLAY_GROUP_ID, "-replay")) {
+            List<TopicPartition> partitions = consumer.partitionsFor(dltTopic).stream()
+                    .map(partition -> new TopicPartition(partition.topic(), partition.partition()))
+                    .toList();
+            consumer.assign(partitions);
+            Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(new HashSet<>(partitions));
+            for (TopicPartition partition : partitions) {
+                OffsetAndMetadata offset = committed.get(partition);
+                if (offset != null) {
+                    consumer.seek(partition, offset);
+                } else {
+                    consumer.seekToBeginning(List.of(partition));
+                }
+            }
+            // Records dead-lettered while the replay runs are left for the next one
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+            long deadline = System.currentTimeMillis() + REPLAY_TIMEOUT.toMillis();
+            while (handed < maxRecords && !reachedEnd(consumer, endOffsets)
+                    && System.currentTimeMillis() < deadline) {
+                ConsumerRecords<String, NotificationMessage> records = consumer.poll(POLL_TIMEOUT);
+
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                try {
+                    for (ConsumerRecord<String, NotificationMessage> record : records) {
+                        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                        if (handed >= maxRecords || record.offset() >= endOffsets.get(partition)) {
+                            continue;
+                        }
+                        replayer.replay(record);
+                        handed++;
+                        offsets.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                    }
+                } finally {
+                    if (!offsets.isEmpty()) {
+                        consumer.commitSync(offsets);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean reachedEnd(Consumer<?, ?> consumer, Map<TopicPartition, Long> endOffsets) {
+        return endOffsets.entrySet().stream()
+                .allMatch(end -> consumer.position(end.getKey()) >= end.getValue());
+    }
+}
@@ -0,0 +1,160 @@
+package com.taskmanagement.service.transport;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Memory-mapped journal of the in-process transport, one file per topic.
+ *
+ * Records are appended before they are published to the ring buffer and committed once
+ * their batch has been acknowledged, so records that were accepted but not delivered
+ * survive a restart and are published again on startup. Writes go to the mapped file
+ * and are flushed by the OS, which survives a process crash but not a power loss.
+ *
+ * Layout: a header with the base, committed and write positions, followed by entries of
+ * [int length][payload]. Positions are logical and only ever grow; when the file is full
+ * the uncommitted tail is moved to the front and the base advanced. A journal that is
+ * still full after that rejects the append, which fails the send.
+ */
+@Slf4j
+public class NotificationJournal implements AutoCloseable {
+
+    private static final int HEADER_SIZE = 32;
+    private static final int BASE_OFFSET = 0;
+    private static final int COMMITTED_OFFSET = 8;
+    private static final int WRITE_OFFSET = 16;
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private long base;
+    private long committed;
+    private long write;
+    private boolean closed;
+
+    public NotificationJournal(Path file, int sizeBytes) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.file = file;
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = Math.max(channel.size(), HEADER_SIZE + (long) sizeBytes);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            this.capacity = (int) size - HEADER_SIZE;
+        }
+        this.base = buffer.getLong(BASE_OFFSET);
+        this.committed = buffer.getLong(COMMITTED_OFFSET);
+        this.write = buffer.getLong(WRITE_OFFSET);
+    }
+
+    /**
+     * Append an entry.
+     *
+     * @return The position after the entry, to be passed to commit() once it has been handled
+     * @throws IllegalStateException if the journal is closed or full
+     */
+    public synchronized long append(byte[] payload) {
+        if (closed) {
+            throw new IllegalStateException("Journal " + file + " is closed");
+        }
+        int length = Integer.BYTES + payload.length;
+        if (write - base + length > capacity) {
+            compact();
+            if (write - base + length > capacity) {
+                throw new IllegalStateException("Journal " + file + " is full ("
+                        + (write - committed) + " bytes uncommitted)");
+            }
+        }
+
+        int position = HEADER_SIZE + (int) (write - base);
+        buffer.putInt(position, payload.length);
+        buffer.put(position + Integer.BYTES, payload);
+        write += length;
+        buffer.putLong(WRITE_OFFSET, write);
+        return write;
+    }
+
+    /**
+     * Mark every entry up to the given position as handled.
+     */
+    public synchronized void commit(long position) {
+        if (!closed && position > committed) {
+            committed = position;
+            buffer.putLong(COMMITTED_OFFSET, committed);
+        }
+    }
+
+    /**
+     * Read the entries that were appended but not committed, in append order.
+     */
+    public synchronized List<Uncommitted> uncommitted() {
+        List<Uncommitted> entries = new ArrayList<>();
+        long position = committed;
+        while (position < write) {
+            int offset = HEADER_SIZE + (int) (position - base);
+            byte[] payload = new byte[buffer.getInt(offset)];
+            buffer.get(offset + Integer.BYTES, payload);
+            position += Integer.BYTES + payload.length;
+            entries.add(new Uncommitted(payload, position));
+        }
+        return entries;
+    }
+
+    public synchronized long uncommittedBytes() {
+        return write - committed;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            buffer.force();
+        }
+    }
+
+    /**
+     * Move the uncommitted entries to the front of the file.
+     */
+    private void compact() {
+        if (committed == base) {
+            return;
+        }
+        int from = HEADER_SIZE + (int) (committed - base);
+        int length = (int) (write - committed);
+        byte[] tail = new byte[length];
+        buffer.get(from, tail);
+        buffer.put(HEADER_SIZE, tail);
+
+        base = committed;
+        buffer.putLong(BASE_OFFSET, base);
+        log.debug("Compacted journal {}: {} uncommitted bytes kept", file, length);
+    }
+
+    /**
+     * An entry that was not committed before the last shutdown.
+     */
+    public static final class Uncommitted {
+        private final byte[] payload;
+        private final long position;
+
+        private Uncommitted(byte[] payload, long position) {
+            this.payload = payload;
+            this.position = position;
+        }
+
+        public byte[] payload() {
+            return payload;
+        }
+
+        public long position() {
+            return position;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskmanagement.service.transport;
+
+import com.taskmanagement.event.NotificationMessage;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport carrying notification records from the producers (outbox relay, retry router)
+ * to the consumers.
+ *
+ * Both implementations keep the same contract: records are addressed by topic, keyed by
+ * recipient, carry headers, and are handed to the same listener methods as batches of
+ * ConsumerRecords with manual acknowledgment. Selected with app.notification.transport:
+ * - kafka (default): KafkaNotificationTransport
+ * - in-process: InProcessNotificationTransport, for single-node deployments without Kafka
+ */
+public interface NotificationTransport {
+
+    /**
+     * Send a record.
+     *
+     * @return A future completing once the record is durably accepted by the transport
+     */
+    CompletableFuture<?> send(ProducerRecord<String, NotificationMessage> record);
+
+    /**
+     * Hand dead-lettered records to the replayer, oldest first, until maxRecords were handed
+     * or the records dead-lettered before the call are exhausted. A record leaves the DLT only
+     * once the replayer returned for it, so a failed replay can simply be run again.
+     *
+     * @throws Exception The failure of the replayer, or of the transport reading the DLT
+     */
+    void replayDeadLetters(int maxRecords, DeadLetterReplayer replayer) throws Exception;
+
+    /**
+     * Republishes one dead-lettered record.
+     */
+    @FunctionalInterface
+    interface DeadLetterReplayer {
+        void replay(ConsumerRecord<String, NotificationMessage> record) throws Exception;
+    }
+}
@@ -0,0 +1,109 @@
+package com.taskmanagement.service.transport;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer ring buffer (Disruptor-style).
+ *
+ * Producers claim a sequence with a CAS on the claim cursor, store the entry in its
+ * preallocated slot and then publish the slot by writing the sequence into the slot's
+ * published marker. The consumer drains every contiguous published slot in one go, so
+ * it naturally batches whatever accumulated while it was busy. A producer that would
+ * overwrite an unconsumed slot waits until the consumer has moved on.
+ *
+ * @param <E> Entry type
+ */
+public class RingBuffer<E> {
+
+    private static final long PRODUCER_WAIT_NANOS = 1_000;
+
+    private final Object[] entries;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private volatile long consumed = -1;
+
+    /**
+     * @param capacity Number of slots, rounded up to a power of two (at least 2)
+     */
+    public RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.entries = new Object[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Publish an entry, waiting up to the timeout while the ring is full.
+     *
+     * @return The sequence assigned to the entry
+     * @throws TimeoutException if no slot became free in time
+     */
+    public long publish(E entry, long timeoutNanos) throws TimeoutException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        long sequence;
+        while (true) {
+            long current = claimed.get();
+            sequence = current + 1;
+            if (sequence - entries.length > consumed) {
+                if (System.nanoTime() > deadline) {
+                    throw new TimeoutException("Ring buffer is full");
+                }
+                LockSupport.parkNanos(PRODUCER_WAIT_NANOS);
+                continue;
+            }
+            if (claimed.compareAndSet(current, sequence)) {
+                break;
+            }
+        }
+
+        int slot = (int) sequence & mask;
+        entries[slot] = entry;
+        published.set(slot, sequence);  // Volatile write publishes the entry to the consumer
+        return sequence;
+    }
+
+    /**
+     * Move every contiguous published entry, up to max, into the given list.
+     * Must only be called by the single consumer thread.
+     *
+     * @return Number of entries drained
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(List<? super E> batch, int max) {
+        long next = consumed + 1;
+        int drained = 0;
+        while (drained < max) {
+            int slot = (int) next & mask;
+            if (published.get(slot) != next) {
+                break;
+            }
+            batch.add((E) entries[slot]);
+            entries[slot] = null;
+            next++;
+            drained++;
+        }
+        if (drained > 0) {
+            consumed = next - 1;  // Frees the slots for producers
+        }
+        return drained;
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Entries published or being published and not drained yet.
+     */
+    public long size() {
+        return claimed.get() - consumed;
+    }
+}
@@ -0,0 +1,89 @@
+package com.taskmanagement.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationMessageCodecTest {
+
+    @Test
+    void roundTripsEveryField() {
+        NotificationMessage part = NotificationMessage.builder()
+                .type(NotificationMessage.NotificationType.TASK_REMINDER)
+                .taskId(7L)
+                .taskVersion(3L)
+                .recipientId(11L)
+                .build();
+        NotificationMessage notification = NotificationMessage.builder()
+                .notificationId("n-1")
+                .recipient("jane@example.com")
+                .subject("Überfällig")
+                .message("Task is overdue")
+                .type(NotificationMessage.NotificationType.TASK_DIGEST)
+                .taskId(-42L)
+                .timestamp(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_789))
+                .lane(NotificationLane.HIGH)
+                .parts(List.of(part))
+                .deliverAt(LocalDateTime.of(2024, 5, 2, 8, 0))
+                .partTaskIds(List.of(7L, 8L))
+                .build();
+
+        byte[] data = NotificationMessageCodec.encode(notification);
+
+        assertThat(NotificationMessageCodec.isBinary(data)).isTrue();
+        assertThat(NotificationMessageCodec.decode(data)).isEqualTo(notification);
+    }
+
+    @Test
+    void skipsUnknownTags() {
+        byte[] known = NotificationMessageCodec.encode(NotificationMessage.builder().recipient("a@b.c").build());
+        byte[] data = Arrays.copyOf(known, known.length + 4);
+        // Tag 99 with two bytes of payload
+        data[known.length] = 99;
+        data[known.length + 1] = 2;
+
+        assertThat(NotificationMessageCodec.decode(data).getRecipient()).isEqualTo("a@b.c");
+    }
+
+    @Test
+    void rejectsNegativeLengths() {
+        // Tag 99, length -1 as a 5 byte varint
+        byte[] data = {NotificationMessageCodec.MAGIC, 1, 99, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+
+        assertThatThrownBy(() -> NotificationMessageCodec.decode(data))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid field length");
+    }
+
+    @Test
+    void rejectsLengthsPastTheEnd() {
+        byte[] data = {NotificationMessageCodec.MAGIC, 1, 2, 10, 'a', 'b'};
+
+        assertThatThrownBy(() -> NotificationMessageCodec.decode(data))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid field length");
+    }
+
+    @Test
+    void rejectsTruncatedVarints() {
+        byte[] data = {NotificationMessageCodec.MAGIC, 1, 2, (byte) 0x80};
+
+        assertThatThrownBy(() -> NotificationMessageCodec.decode(data))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    @Test
+    void rejectsNewerFormatVersions() {
+        byte[] data = {NotificationMessageCodec.MAGIC, 2};
+
+        assertThatThrownBy(() -> NotificationMessageCodec.decode(data))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+    }
+}
@@ -0,0 +1,124 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationLane;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConsumerAutoscalerTest {
+
+    private static final int BASE_HIGH = 500;  // 1000 * 5 / (5 + 3 + 2)
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConsumptionController consumptionController = mock(ConsumptionController.class);
+    private final Map<NotificationLane, AtomicLong> lag = new EnumMap<>(NotificationLane.class);
+    private InFlightBatchTracker tracker;
+    private ConsumerAutoscaler autoscaler;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new InFlightBatchTracker(consumptionController, meterRegistry, 1000, 5, 3, 2, 0);
+        ReflectionTestUtils.setField(tracker, "batchTimeResetMillis", 60_000L);
+
+        NotificationService notificationService = mock(NotificationService.class);
+        for (NotificationLane lane : NotificationLane.values()) {
+            String topic = "notifications-" + lane.name().toLowerCase();
+            when(notificationService.topicFor(lane)).thenReturn(topic);
+            AtomicLong laneLag = new AtomicLong();
+            lag.put(lane, laneLag);
+            Gauge.builder("notifications.transport.backlog", laneLag, AtomicLong::get).tag("topic", topic)
+                    .register(meterRegistry);
+            when(consumptionController.getConcurrency(lane)).thenReturn(1);
+        }
+        when(consumptionController.setConcurrency(eq(NotificationLane.HIGH), anyInt())).thenReturn(true);
+
+        autoscaler = new ConsumerAutoscaler(tracker, consumptionController, notificationService, meterRegistry);
+        ReflectionTestUtils.setField(autoscaler, "enabled", true);
+        ReflectionTestUtils.setField(autoscaler, "transport", "in-process");
+        ReflectionTestUtils.setField(autoscaler, "lagHigh", 5000L);
+        ReflectionTestUtils.setField(autoscaler, "lagLow", 100L);
+        ReflectionTestUtils.setField(autoscaler, "targetRecordMillis", 100L);
+        ReflectionTestUtils.setField(autoscaler, "stableChecks", 1);
+        ReflectionTestUtils.setField(autoscaler, "inFlightStep", 2.0);
+        ReflectionTestUtils.setField(autoscaler, "maxInFlightFactor", 4.0);
+        ReflectionTestUtils.setField(autoscaler, "minConcurrency", 1);
+        ReflectionTestUtils.setField(autoscaler, "maxConcurrency", 3);
+        ReflectionTestUtils.setField(autoscaler, "concurrencyCooldownMillis", 0L);
+    }
+
+    @Test
+    void lowersTheInFlightLimitWhileBatchesAreSlowAndRestoresItOnceTheyAreFastAgain() throws Exception {
+        completeBatch(NotificationLane.HIGH, 1, 150);
+        autoscaler.check();
+        assertThat(tracker.getMaxInFlight(NotificationLane.HIGH)).isEqualTo(BASE_HIGH / 2);
+
+        // Fast batches pull the average below the target; the lane is quiet, far below lag-high
+        for (int i = 0; i < 20; i++) {
+            completeBatch(NotificationLane.HIGH, 100, 0);
+        }
+        autoscaler.check();
+
+        assertThat(tracker.getMaxInFlight(NotificationLane.HIGH)).isEqualTo(BASE_HIGH);
+    }
+
+    @Test
+    void quietLaneForgetsASlowSpellAndReturnsToItsShare() throws Exception {
+        ReflectionTestUtils.setField(tracker, "batchTimeResetMillis", 50L);
+        completeBatch(NotificationLane.HIGH, 1, 150);
+        autoscaler.check();
+        assertThat(tracker.getMaxInFlight(NotificationLane.HIGH)).isEqualTo(BASE_HIGH / 2);
+
+        // Nothing completes any more: without the reset the lane would stay "slow" forever
+        Thread.sleep(100);
+        assertThat(tracker.averageRecordMillis(NotificationLane.HIGH)).isZero();
+        autoscaler.check();
+
+        assertThat(tracker.getMaxInFlight(NotificationLane.HIGH)).isEqualTo(BASE_HIGH);
+    }
+
+    @Test
+    void keepsTheAverageOfALaneWithBatchesStillInFlight() throws Exception {
+        ReflectionTestUtils.setField(tracker, "batchTimeResetMillis", 50L);
+        completeBatch(NotificationLane.HIGH, 1, 150);
+        tracker.track(NotificationLane.HIGH, 1, new CompletableFuture<>(), () -> { });
+
+        Thread.sleep(100);
+
+        assertThat(tracker.averageRecordMillis(NotificationLane.HIGH)).isGreaterThan(100);
+    }
+
+    @Test
+    void addsAConsumerToABackloggedLaneThatDoesNotSaturateItsLimit() {
+        lag.get(NotificationLane.HIGH).set(10_000);
+
+        autoscaler.check();
+
+        verify(consumptionController).setConcurrency(NotificationLane.HIGH, 2);
+        verify(consumptionController, never()).setConcurrency(eq(NotificationLane.BULK), anyInt());
+    }
+
+    private void completeBatch(NotificationLane lane, int records, long millis) throws InterruptedException {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        tracker.track(lane, records, completion, () -> { });
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+        completion.complete(null);
+    }
+}
@@ -0,0 +1,135 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationLane;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class DeliveryRateLimiterTest {
+
+    private final ConsumptionController consumptionController = mock(ConsumptionController.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DeliveryRateLimiter limiter;
+
+    @AfterEach
+    void tearDown() {
+        limiter.shutdown();
+    }
+
+    @Test
+    void increasesAdditivelyUpToTheMaximumRate() {
+        limiter = limiter(10);
+
+        limiter.onResult(NotificationChannel.EMAIL, 10, 0, 100);
+        assertThat(rate()).isCloseTo(11, within(0.01));
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.onResult(NotificationChannel.EMAIL, 10, 0, 100);
+        }
+        assertThat(rate()).isEqualTo(50);
+    }
+
+    @Test
+    void decreasesMultiplicativelyOncePerSecondDownToTheMinimumRate() {
+        limiter = limiter(10);
+
+        limiter.onResult(NotificationChannel.EMAIL, 9, 1, 100);
+        limiter.onResult(NotificationChannel.EMAIL, 9, 1, 100);
+        assertThat(rate()).isEqualTo(5);
+
+        ReflectionTestUtils.setField(limiter, "minRate", 4.0);
+        bucketField("lastDecreaseNanos", 0L);
+        limiter.onResult(NotificationChannel.EMAIL, 0, 10, 100);
+        assertThat(rate()).isEqualTo(4);
+    }
+
+    @Test
+    void comparesLatencyPerMessage() {
+        limiter = limiter(10);
+
+        // 100 messages in 20 s are 200 ms each, well below the 1 s target
+        limiter.onResult(NotificationChannel.EMAIL, 100, 0, 20_000);
+        double increased = rate();
+        assertThat(increased).isGreaterThan(10);
+
+        limiter.onResult(NotificationChannel.EMAIL, 2, 0, 5_000);
+        assertThat(rate()).isLessThan(increased);
+    }
+
+    @Test
+    void callerWaitsForItsOwnPermits() throws InterruptedException {
+        limiter = limiter(10);
+
+        // The first 10 permits empty the bucket, 3 more at 10/s take another 300 ms
+        long start = System.nanoTime();
+        limiter.acquire(NotificationChannel.EMAIL, NotificationLane.NORMAL, 10);
+        limiter.acquire(NotificationChannel.EMAIL, NotificationLane.NORMAL, 3);
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(250_000_000L);
+        verify(consumptionController).pause(eq(NotificationLane.NORMAL), anyString());
+        verify(consumptionController).pause(eq(NotificationLane.BULK), anyString());
+        verify(consumptionController, never()).pause(eq(NotificationLane.HIGH), anyString());
+    }
+
+    @Test
+    void highLaneDoesNotWaitForTheDebtOfEarlierReservations() throws InterruptedException {
+        limiter = limiter(10);
+        limiter.acquire(NotificationChannel.EMAIL, NotificationLane.BULK, 10);
+        // 50 more BULK permits would wait 5 s; reserved from another thread, they only add debt here
+        Thread bulk = new Thread(() -> {
+            try {
+                limiter.acquire(NotificationChannel.EMAIL, NotificationLane.BULK, 50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        bulk.start();
+        while (tokens() > -40) {
+            Thread.sleep(5);
+        }
+
+        long start = System.nanoTime();
+        limiter.acquire(NotificationChannel.EMAIL, NotificationLane.HIGH, 2);
+
+        assertThat(System.nanoTime() - start).isBetween(150_000_000L, 1_000_000_000L);
+        bulk.interrupt();
+    }
+
+    private DeliveryRateLimiter limiter(double initialRate) {
+        DeliveryRateLimiter limiter = new DeliveryRateLimiter(consumptionController, meterRegistry, initialRate);
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "minRate", 1.0);
+        ReflectionTestUtils.setField(limiter, "maxRate", 50.0);
+        ReflectionTestUtils.setField(limiter, "increaseStep", 1.0);
+        ReflectionTestUtils.setField(limiter, "decreaseFactor", 0.5);
+        ReflectionTestUtils.setField(limiter, "targetLatencyMillis", 1000L);
+        return limiter;
+    }
+
+    private double rate() {
+        return meterRegistry.get("notifications.ratelimit.rate").tag("channel", "EMAIL").gauge().value();
+    }
+
+    private double tokens() {
+        return meterRegistry.get("notifications.ratelimit.tokens").tag("channel", "EMAIL").gauge().value();
+    }
+
+    private void bucketField(String name, Object value) {
+        Object buckets = ReflectionTestUtils.getField(limiter, "buckets");
+        Object bucket = ((Map<?, ?>) buckets).get(NotificationChannel.EMAIL);
+        ReflectionTestUtils.setField(bucket, name, value);
+    }
+}
@@ -0,0 +1,80 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationMessage;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InAppNotificationConsumerServiceTest {
+
+    private final InAppNotificationHub hub = mock(InAppNotificationHub.class);
+    private final NotificationClaimCheckResolver resolver = mock(NotificationClaimCheckResolver.class);
+    private final InAppNotificationConsumerService service = new InAppNotificationConsumerService(hub, resolver);
+
+    @Test
+    void resolvesAndPublishesOnlyTheNotificationsOfConnectedUsers() {
+        when(hub.isConnected(1L)).thenReturn(true);
+        NotificationMessage connected = rendered(1L);
+        NotificationMessage offline = rendered(2L);
+        ConsumerRecord<String, NotificationMessage> connectedRecord = record(connected);
+
+        service.consumeNotifications(List.of(connectedRecord, record(offline)));
+
+        verify(resolver).resolve(List.of(connectedRecord));
+        verify(hub).publish(connected);
+        verify(hub, never()).publish(offline);
+    }
+
+    @Test
+    void doesNotResolveABatchWithoutConnectedRecipients() {
+        NotificationMessage claimCheck = NotificationMessage.builder()
+                .type(NotificationMessage.NotificationType.TASK_ASSIGNED)
+                .taskId(7L)
+                .recipientId(2L)
+                .build();
+
+        service.consumeNotifications(List.of(record(claimCheck)));
+
+        verify(resolver, never()).resolve(any());
+        verify(hub, never()).publish(any());
+    }
+
+    @Test
+    void namesTheGroupAfterTheConfiguredNode() {
+        ReflectionTestUtils.setField(service, "nodeId", "node-1");
+
+        assertThat(service.getGroupId()).isEqualTo("notification-inapp-node-1");
+    }
+
+    @Test
+    void defaultsToAGroupThatIsStableAcrossRestarts() {
+        ReflectionTestUtils.setField(service, "nodeId", "");
+        InAppNotificationConsumerService restarted = new InAppNotificationConsumerService(hub, resolver);
+        ReflectionTestUtils.setField(restarted, "nodeId", "");
+
+        assertThat(service.getGroupId()).startsWith("notification-inapp-").isEqualTo(restarted.getGroupId());
+    }
+
+    private static NotificationMessage rendered(Long recipientId) {
+        return NotificationMessage.builder()
+                .type(NotificationMessage.NotificationType.TASK_ASSIGNED)
+                .recipient("user" + recipientId + "@example.com")
+                .recipientId(recipientId)
+                .subject("Task assigned")
+                .message("Hello")
+                .build();
+    }
+
+    private static ConsumerRecord<String, NotificationMessage> record(NotificationMessage notification) {
+        return new ConsumerRecord<>("notifications", 0, 0, notification.recipientKey(), notification);
+    }
+}
@@ -0,0 +1,110 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.exception.ResourceNotFoundException;
+import com.taskmanagement.model.User;
+import com.taskmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InAppNotificationHubTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ExecutorService deliveryExecutor = mock(ExecutorService.class);
+    private final List<Runnable> drains = new ArrayList<>();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private InAppNotificationHub hub;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> drains.add(invocation.getArgument(0))).when(deliveryExecutor).execute(any());
+        when(userRepository.findByUsername("jdoe")).thenReturn(Optional.of(
+                User.builder().id(1L).username("jdoe").email("john@example.com").build()));
+        hub = new InAppNotificationHub(userRepository, deliveryExecutor, meterRegistry);
+        ReflectionTestUtils.setField(hub, "bufferSize", 2);
+        ReflectionTestUtils.setField(hub, "connectionTimeoutMillis", 60_000L);
+    }
+
+    @Test
+    void indexesConnectionsByUserId() {
+        assertThat(hub.isConnected(1L)).isFalse();
+
+        hub.connect("jdoe");
+
+        assertThat(hub.isConnected(1L)).isTrue();
+        assertThat(hub.isConnected(2L)).isFalse();
+        assertThat(hub.isConnected(null)).isFalse();
+        assertThat(meterRegistry.get("notifications.inapp.connections").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void pushesANotificationOnlyToTheConnectionsOfItsRecipient() {
+        hub.connect("jdoe");
+        hub.connect("jdoe");
+
+        hub.publish(notification(2L));
+        hub.publish(notification(null));
+        assertThat(drains).isEmpty();
+
+        hub.publish(notification(1L));
+        drains.forEach(Runnable::run);
+
+        assertThat(drains).hasSize(2);
+        assertThat(meterRegistry.get("notifications.inapp.events.pushed").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void dropsAConnectionWhoseSendBufferIsFull() {
+        hub.connect("jdoe");
+
+        // Nothing is drained, so the third event overflows the buffer of two
+        hub.publish(notification(1L));
+        hub.publish(notification(1L));
+        hub.publish(notification(1L));
+
+        assertThat(hub.isConnected(1L)).isFalse();
+        assertThat(meterRegistry.get("notifications.inapp.dropped.connections").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notifications.inapp.connections").gauge().value()).isZero();
+    }
+
+    @Test
+    void sendsHeartbeatsOnEveryConnection() {
+        hub.connect("jdoe");
+
+        hub.heartbeat();
+        drains.forEach(Runnable::run);
+
+        assertThat(meterRegistry.get("notifications.inapp.events.pushed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsUnknownUsers() {
+        assertThatThrownBy(() -> hub.connect("ghost")).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static NotificationMessage notification(Long recipientId) {
+        return NotificationMessage.builder()
+                .notificationId("n-" + recipientId)
+                .recipient("user" + recipientId + "@example.com")
+                .recipientId(recipientId)
+                .type(NotificationMessage.NotificationType.TASK_ASSIGNED)
+                .subject("Task assigned")
+                .message("Hello")
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationLane;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InFlightBatchTrackerTest {
+
+    private final ConsumptionController consumptionController = mock(ConsumptionController.class);
+    private InFlightBatchTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        // Shares of 100 records: HIGH 50, NORMAL 30, BULK 20
+        tracker = new InFlightBatchTracker(consumptionController, new SimpleMeterRegistry(), 100, 5, 3, 2, 0);
+    }
+
+    @Test
+    void splitsMaxInFlightByLaneWeight() {
+        assertThat(tracker.getMaxInFlight(NotificationLane.HIGH)).isEqualTo(50);
+        assertThat(tracker.getMaxInFlight(NotificationLane.NORMAL)).isEqualTo(30);
+        assertThat(tracker.getMaxInFlight(NotificationLane.BULK)).isEqualTo(20);
+    }
+
+    @Test
+    void pausesALaneAtItsShareAndResumesItOnceHalfOfItHasDrained() {
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        CompletableFuture<Void> second = new CompletableFuture<>();
+        tracker.track(NotificationLane.BULK, 10, first, mock(Acknowledgment.class));
+        tracker.track(NotificationLane.BULK, 10, second, mock(Acknowledgment.class));
+
+        verify(consumptionController).pause(eq(NotificationLane.BULK), anyString());
+        assertThat(tracker.getInFlight(NotificationLane.BULK)).isEqualTo(20);
+
+        first.complete(null);
+
+        verify(consumptionController).resume(eq(NotificationLane.BULK), anyString());
+        assertThat(tracker.getInFlight(NotificationLane.BULK)).isEqualTo(10);
+    }
+
+    @Test
+    void acknowledgesBatchesInPollOrderOnly() {
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        CompletableFuture<Void> second = new CompletableFuture<>();
+        Acknowledgment firstAck = mock(Acknowledgment.class);
+        Acknowledgment secondAck = mock(Acknowledgment.class);
+        tracker.track(NotificationLane.NORMAL, 1, first, firstAck);
+        tracker.track(NotificationLane.NORMAL, 1, second, secondAck);
+
+        second.complete(null);
+        verify(secondAck, never()).acknowledge();
+
+        first.complete(null);
+        InOrder order = inOrder(firstAck, secondAck);
+        order.verify(firstAck).acknowledge();
+        order.verify(secondAck).acknowledge();
+        assertThat(tracker.oldestPendingAgeMillis(NotificationLane.NORMAL)).isZero();
+    }
+
+    @Test
+    void leavesAFailedBatchAndEveryLaterOneUncommittedAndRedeliversTheLane() {
+        Runnable[] onStopped = new Runnable[1];
+        when(consumptionController.redeliver(eq(NotificationLane.NORMAL), any())).thenAnswer(invocation -> {
+            onStopped[0] = invocation.getArgument(1);
+            return true;
+        });
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        CompletableFuture<Void> later = new CompletableFuture<>();
+        Acknowledgment failedAck = mock(Acknowledgment.class);
+        Acknowledgment laterAck = mock(Acknowledgment.class);
+        tracker.track(NotificationLane.NORMAL, 1, failed, failedAck);
+        tracker.track(NotificationLane.NORMAL, 1, later, laterAck);
+
+        failed.completeExceptionally(new IllegalStateException("delivery and retry routing failed"));
+        later.complete(null);
+
+        verify(consumptionController).pause(eq(NotificationLane.NORMAL), eq("redelivering a failed batch"));
+        verify(consumptionController).redeliver(eq(NotificationLane.NORMAL), any());
+        verify(failedAck, never()).acknowledge();
+        verify(laterAck, never()).acknowledge();
+
+        // Once the consumers have stopped, batches polled after the restart are acknowledged again
+        onStopped[0].run();
+        Acknowledgment redeliveredAck = mock(Acknowledgment.class);
+        tracker.track(NotificationLane.NORMAL, 1, CompletableFuture.completedFuture(null), redeliveredAck);
+        verify(redeliveredAck).acknowledge();
+        verify(laterAck, never()).acknowledge();
+    }
+
+    @Test
+    void pausesOrResumesRightAwayWhenTheShareChanges() {
+        tracker.track(NotificationLane.HIGH, 20, new CompletableFuture<>(), mock(Acknowledgment.class));
+
+        tracker.setMaxInFlight(NotificationLane.HIGH, 10);
+        verify(consumptionController).pause(eq(NotificationLane.HIGH), anyString());
+
+        tracker.setMaxInFlight(NotificationLane.HIGH, 40);
+        verify(consumptionController).resume(eq(NotificationLane.HIGH), anyString());
+    }
+}
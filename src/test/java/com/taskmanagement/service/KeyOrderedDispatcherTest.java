@@ -0,0 +1,110 @@
+package com.taskmanagement.service;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyOrderedDispatcherTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(4, executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void putsRecordsSharingAKeyIntoOneLaneInOffsetOrder() {
+        List<ConsumerRecord<String, String>> records = List.of(
+                record("alice", 0), record("bob", 1), record("alice", 2), record("alice", 3));
+
+        List<List<ConsumerRecord<String, String>>> lanes = dispatcher.split(records);
+
+        List<ConsumerRecord<String, String>> aliceLane = lanes.stream()
+                .filter(lane -> lane.contains(records.get(0)))
+                .findFirst()
+                .orElseThrow();
+        assertThat(aliceLane).containsSubsequence(records.get(0), records.get(2), records.get(3));
+        assertThat(lanes.stream().mapToInt(List::size).sum()).isEqualTo(records.size());
+    }
+
+    @Test
+    void fallsBackToThePartitionForRecordsWithoutAKey() {
+        ConsumerRecord<String, String> first = new ConsumerRecord<>("notifications", 3, 0, null, "a");
+        ConsumerRecord<String, String> second = new ConsumerRecord<>("notifications", 3, 1, null, "b");
+
+        assertThat(dispatcher.split(List.of(first, second)))
+                .anySatisfy(lane -> assertThat(lane).containsExactly(first, second));
+    }
+
+    @Test
+    void keepsTheOrderOfAKeyAcrossBatches() throws Exception {
+        List<Long> handled = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> first = dispatcher.dispatch(List.of(record("alice", 0)), lane -> {
+            await(release);
+            lane.forEach(r -> handled.add(r.offset()));
+        });
+        CompletableFuture<Void> second = dispatcher.dispatch(List.of(record("alice", 1)),
+                lane -> lane.forEach(r -> handled.add(r.offset())));
+        release.countDown();
+
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        assertThat(handled).containsExactly(0L, 1L);
+    }
+
+    @Test
+    void failsTheBatchButStillRunsLaterBatchesOfTheFailedLane() throws Exception {
+        CompletableFuture<Void> failed = dispatcher.dispatch(List.of(record("alice", 0)), lane -> {
+            throw new IllegalStateException("boom");
+        });
+        List<Long> handled = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> next = dispatcher.dispatch(List.of(record("alice", 1)),
+                lane -> lane.forEach(r -> handled.add(r.offset())));
+
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+        next.get(5, TimeUnit.SECONDS);
+        assertThat(handled).containsExactly(1L);
+    }
+
+    @Test
+    void doesNotOrderTheSameKeyAcrossDispatchGroups() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocked =
+                dispatcher.dispatch("email", List.of(record("alice", 0)), lane -> await(release));
+
+        dispatcher.dispatch("webhook", List.of(record("alice", 0)), lane -> { }).get(5, TimeUnit.SECONDS);
+
+        assertThat(blocked).isNotDone();
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+
+    private static ConsumerRecord<String, String> record(String key, long offset) {
+        return new ConsumerRecord<>("notifications", 0, offset, key, key + "-" + offset);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
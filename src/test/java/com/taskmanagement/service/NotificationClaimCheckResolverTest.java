@@ -0,0 +1,163 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationLane;
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.event.NotificationMessage.NotificationType;
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.User;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationClaimCheckResolverTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final User john =
+            User.builder().id(1L).username("jdoe").firstName("John").email("john@example.com").build();
+    private NotificationClaimCheckResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        NotificationCoalescer coalescer = new NotificationCoalescer(new SimpleMeterRegistry());
+        resolver = new NotificationClaimCheckResolver(taskRepository, userRepository,
+                new NotificationTemplateEngine("notification-templates", "en"), coalescer,
+                new SimpleMeterRegistry(), 100);
+        ReflectionTestUtils.setField(resolver, "ttlMillis", 60_000L);
+        when(userRepository.findAllById(any())).thenReturn(List.of(john));
+    }
+
+    @Test
+    void rendersClaimChecksFromTheCurrentTaskReadingEachTaskOnce() {
+        when(taskRepository.findAllWithAssigneeByIdIn(anyCollection())).thenReturn(List.of(task(7L, 1L, "Report")));
+        NotificationMessage assigned = claimCheck(NotificationType.TASK_ASSIGNED, 7L, 1L);
+        NotificationMessage reminder = claimCheck(NotificationType.TASK_REMINDER, 7L, 1L);
+
+        assertThat(resolver.resolve(List.of(record(assigned), record(reminder)))).isEmpty();
+
+        verify(taskRepository).findAllWithAssigneeByIdIn(Set.of(7L));
+        verify(userRepository).findAllById(Set.of(1L));
+        assertThat(assigned.isClaimCheck()).isFalse();
+        assertThat(assigned.getRecipient()).isEqualTo("john@example.com");
+        assertThat(assigned.getSubject()).isEqualTo("New Task Assigned: Report");
+        assertThat(assigned.getMessage()).startsWith("Hello John,");
+        assertThat(reminder.getSubject()).isEqualTo("Task Reminder: Report");
+    }
+
+    @Test
+    void servesLaterBatchesFromTheCacheUntilANewerTaskVersionIsReferenced() {
+        when(taskRepository.findAllWithAssigneeByIdIn(anyCollection()))
+                .thenReturn(List.of(task(7L, 1L, "Report")), List.of(task(7L, 2L, "Quarterly report")));
+
+        resolver.resolve(List.of(record(claimCheck(NotificationType.TASK_ASSIGNED, 7L, 1L))));
+        NotificationMessage cached = claimCheck(NotificationType.TASK_STATUS_CHANGED, 7L, 1L);
+        resolver.resolve(List.of(record(cached)));
+        verify(taskRepository, times(1)).findAllWithAssigneeByIdIn(anyCollection());
+        verify(userRepository, times(1)).findAllById(any());
+        assertThat(cached.getSubject()).isEqualTo("Task Status Updated: Report");
+
+        NotificationMessage newer = claimCheck(NotificationType.TASK_STATUS_CHANGED, 7L, 2L);
+        resolver.resolve(List.of(record(newer)));
+        verify(taskRepository, times(2)).findAllWithAssigneeByIdIn(anyCollection());
+        assertThat(newer.getSubject()).isEqualTo("Task Status Updated: Quarterly report");
+    }
+
+    @Test
+    void returnsTheClaimChecksWhoseTaskOrRecipientNoLongerExists() {
+        when(taskRepository.findAllWithAssigneeByIdIn(anyCollection())).thenReturn(List.of(task(7L, 1L, "Report")));
+        ConsumerRecord<String, NotificationMessage> deletedTask =
+                record(claimCheck(NotificationType.TASK_ASSIGNED, 8L, 1L));
+        NotificationMessage deletedUserClaimCheck = claimCheck(NotificationType.TASK_ASSIGNED, 7L, 1L);
+        deletedUserClaimCheck.setRecipientId(2L);
+        ConsumerRecord<String, NotificationMessage> deletedUser = record(deletedUserClaimCheck);
+
+        assertThat(resolver.resolve(List.of(deletedTask, deletedUser))).containsExactly(deletedTask, deletedUser);
+    }
+
+    @Test
+    void rendersADigestFromThePartsThatStillExist() {
+        when(taskRepository.findAllWithAssigneeByIdIn(anyCollection()))
+                .thenReturn(List.of(task(7L, 1L, "Report"), task(9L, 1L, "Budget")));
+        NotificationMessage digest = NotificationMessage.builder()
+                .recipientId(1L)
+                .type(NotificationType.TASK_DIGEST)
+                .lane(NotificationLane.BULK)
+                .parts(new ArrayList<>(List.of(
+                        claimCheck(NotificationType.TASK_REMINDER, 7L, 1L),
+                        claimCheck(NotificationType.TASK_REMINDER, 8L, 1L),
+                        claimCheck(NotificationType.TASK_REMINDER, 9L, 1L))))
+                .partTaskIds(List.of(7L, 8L, 9L))
+                .build();
+
+        assertThat(resolver.resolve(List.of(record(digest)))).isEmpty();
+
+        assertThat(digest.isClaimCheck()).isFalse();
+        assertThat(digest.getParts()).isNull();
+        assertThat(digest.getRecipient()).isEqualTo("john@example.com");
+        assertThat(digest.getSubject()).isEqualTo("You have 2 task updates");
+        assertThat(digest.getMessage()).contains("Task Reminder: Report", "Task Reminder: Budget");
+        assertThat(digest.getPartTaskIds()).containsExactly(7L, 9L);
+    }
+
+    @Test
+    void leavesRenderedNotificationsAlone() {
+        NotificationMessage rendered = NotificationMessage.builder()
+                .recipient("john@example.com")
+                .subject("Task assigned")
+                .message("Hello")
+                .type(NotificationType.TASK_ASSIGNED)
+                .taskId(7L)
+                .build();
+
+        assertThat(resolver.resolve(List.of(record(rendered)))).isEmpty();
+
+        assertThat(rendered.getMessage()).isEqualTo("Hello");
+        verify(taskRepository, never()).findAllWithAssigneeByIdIn(anyCollection());
+        verify(userRepository, never()).findAllById(any());
+    }
+
+    private Task task(Long id, Long version, String title) {
+        Task task = Task.builder()
+                .id(id)
+                .title(title)
+                .status(Task.TaskStatus.IN_PROGRESS)
+                .priority(Task.TaskPriority.MEDIUM)
+                .dueDate(LocalDateTime.of(2024, 3, 31, 17, 0))
+                .assignee(john)
+                .build();
+        task.setVersion(version);
+        return task;
+    }
+
+    private static NotificationMessage claimCheck(NotificationType type, Long taskId, Long version) {
+        return NotificationMessage.builder()
+                .type(type)
+                .taskId(taskId)
+                .taskVersion(version)
+                .recipientId(1L)
+                .lane(NotificationLane.NORMAL)
+                .build();
+    }
+
+    private static ConsumerRecord<String, NotificationMessage> record(NotificationMessage notification) {
+        return new ConsumerRecord<>("notifications", 0, 0, notification.recipientKey(), notification);
+    }
+}
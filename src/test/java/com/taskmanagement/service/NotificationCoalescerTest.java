@@ -0,0 +1,125 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationLane;
+import com.taskmanagement.event.NotificationMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationCoalescerTest {
+
+    private final NotificationCoalescer coalescer = new NotificationCoalescer(new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(coalescer, "maxSize", 2);
+    }
+
+    @Test
+    void mergesTheNotificationsOfOneRecipientAndLaneIntoADigest() {
+        NotificationMessage first = rendered("n1", "john@example.com", 1L, NotificationLane.NORMAL);
+        NotificationMessage second = rendered("n2", "john@example.com", 2L, NotificationLane.NORMAL);
+        second.setTimestamp(first.getTimestamp().plusMinutes(5));
+
+        List<NotificationMessage> merged = coalescer.coalesce(List.of(first, second));
+
+        assertThat(merged).hasSize(1);
+        NotificationMessage digest = merged.get(0);
+        assertThat(digest.getType()).isEqualTo(NotificationMessage.NotificationType.TASK_DIGEST);
+        assertThat(digest.getRecipient()).isEqualTo("john@example.com");
+        assertThat(digest.getSubject()).isEqualTo("You have 2 task updates");
+        assertThat(digest.getMessage()).contains("=== Subject n1 ===", "=== Subject n2 ===");
+        assertThat(digest.getTimestamp()).isEqualTo(second.getTimestamp());
+        assertThat(digest.getPartTaskIds()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void leavesASingleNotificationUnchanged() {
+        NotificationMessage only = rendered("n1", "john@example.com", 1L, NotificationLane.NORMAL);
+
+        assertThat(coalescer.coalesce(List.of(only))).containsExactly(only);
+    }
+
+    @Test
+    void neverMergesAcrossRecipientsOrLanesNorWithinTheHighLane() {
+        NotificationMessage high1 = rendered("n1", "john@example.com", 1L, NotificationLane.HIGH);
+        NotificationMessage high2 = rendered("n2", "john@example.com", 2L, NotificationLane.HIGH);
+        NotificationMessage normal = rendered("n3", "john@example.com", 3L, NotificationLane.NORMAL);
+        NotificationMessage other = rendered("n4", "alice@example.com", 4L, NotificationLane.NORMAL);
+
+        assertThat(coalescer.coalesce(List.of(high1, high2, normal, other)))
+                .containsExactly(high1, high2, normal, other);
+    }
+
+    @Test
+    void splitsABurstIntoDigestsOfAtMostMaxSize() {
+        List<NotificationMessage> merged = coalescer.coalesce(List.of(
+                rendered("n1", "john@example.com", 1L, NotificationLane.BULK),
+                rendered("n2", "john@example.com", 2L, NotificationLane.BULK),
+                rendered("n3", "john@example.com", 3L, NotificationLane.BULK)));
+
+        assertThat(merged).hasSize(2);
+        assertThat(merged.get(0).getPartTaskIds()).containsExactly(1L, 2L);
+        assertThat(merged.get(1).getTaskId()).isEqualTo(3L);
+    }
+
+    @Test
+    void derivesTheDigestIdFromItsParts() {
+        List<NotificationMessage> burst = List.of(
+                rendered("n1", "john@example.com", 1L, NotificationLane.NORMAL),
+                rendered("n2", "john@example.com", 2L, NotificationLane.NORMAL));
+
+        String relayed = coalescer.merge(burst).getNotificationId();
+
+        assertThat(coalescer.merge(burst).getNotificationId()).isEqualTo(relayed);
+        assertThat(relayed).isNotIn("n1", "n2");
+    }
+
+    @Test
+    void mergesClaimChecksIntoAClaimCheckDigestDeferredUntilItsLastPart() {
+        LocalDateTime morning = LocalDateTime.now().plusHours(8);
+        NotificationMessage first = claimCheck("n1", 1L, null);
+        NotificationMessage second = claimCheck("n2", 2L, morning);
+
+        NotificationMessage digest = coalescer.merge(List.of(first, second));
+
+        assertThat(digest.isClaimCheck()).isTrue();
+        assertThat(digest.getMessage()).isNull();
+        assertThat(digest.getRecipientId()).isEqualTo(42L);
+        assertThat(digest.getParts()).containsExactly(first, second);
+        assertThat(digest.getDeliverAt()).isEqualTo(morning);
+        assertThat(digest.getPartTaskIds()).containsExactly(1L, 2L);
+    }
+
+    private static NotificationMessage rendered(String id, String recipient, Long taskId, NotificationLane lane) {
+        return NotificationMessage.builder()
+                .notificationId(id)
+                .recipient(recipient)
+                .subject("Subject " + id)
+                .message("Body " + id)
+                .type(NotificationMessage.NotificationType.TASK_STATUS_CHANGED)
+                .taskId(taskId)
+                .lane(lane)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private static NotificationMessage claimCheck(String id, Long taskId, LocalDateTime deliverAt) {
+        return NotificationMessage.builder()
+                .notificationId(id)
+                .recipientId(42L)
+                .type(NotificationMessage.NotificationType.TASK_ASSIGNED)
+                .taskId(taskId)
+                .taskVersion(1L)
+                .lane(NotificationLane.NORMAL)
+                .timestamp(LocalDateTime.now())
+                .deliverAt(deliverAt)
+                .build();
+    }
+}
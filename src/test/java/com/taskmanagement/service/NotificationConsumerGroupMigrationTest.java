@@ -0,0 +1,89 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationLane;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AlterConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationConsumerGroupMigrationTest {
+
+    private final Admin admin = mock(Admin.class);
+    private NotificationConsumerGroupMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        NotificationService notificationService = mock(NotificationService.class);
+        when(notificationService.topicFor(NotificationLane.HIGH)).thenReturn("notifications-high");
+        when(notificationService.topicFor(NotificationLane.NORMAL)).thenReturn("notifications");
+        when(notificationService.topicFor(NotificationLane.BULK)).thenReturn("notifications-bulk");
+        migration = new NotificationConsumerGroupMigration(mock(KafkaAdmin.class), notificationService);
+
+        AlterConsumerGroupOffsetsResult altered = mock(AlterConsumerGroupOffsetsResult.class);
+        when(altered.all()).thenReturn(KafkaFuture.completedFuture(null));
+        when(admin.alterConsumerGroupOffsets(anyString(), anyMap())).thenReturn(altered);
+        committed(ConsumptionController.NOTIFICATION_HIGH_GROUP_ID, Map.of());
+        committed(ConsumptionController.NOTIFICATION_GROUP_ID, Map.of());
+        committed(ConsumptionController.NOTIFICATION_BULK_GROUP_ID, Map.of());
+    }
+
+    @Test
+    void copiesTheSharedGroupsOffsetsOfEachLaneTopicToTheLaneGroup() throws Exception {
+        committed(NotificationConsumerGroupMigration.LEGACY_GROUP_ID, Map.of(
+                new TopicPartition("notifications-high", 0), new OffsetAndMetadata(7),
+                new TopicPartition("notifications-high", 1), new OffsetAndMetadata(9),
+                new TopicPartition("notifications-bulk", 0), new OffsetAndMetadata(42)));
+
+        assertThat(migration.migrate(admin)).isEqualTo(2);
+
+        verify(admin).alterConsumerGroupOffsets(ConsumptionController.NOTIFICATION_HIGH_GROUP_ID, Map.of(
+                new TopicPartition("notifications-high", 0), new OffsetAndMetadata(7),
+                new TopicPartition("notifications-high", 1), new OffsetAndMetadata(9)));
+        verify(admin).alterConsumerGroupOffsets(ConsumptionController.NOTIFICATION_BULK_GROUP_ID, Map.of(
+                new TopicPartition("notifications-bulk", 0), new OffsetAndMetadata(42)));
+        verify(admin, never()).alterConsumerGroupOffsets(eq(ConsumptionController.NOTIFICATION_GROUP_ID), anyMap());
+    }
+
+    @Test
+    void leavesLaneGroupsThatAlreadyCommittedOffsetsAlone() throws Exception {
+        committed(NotificationConsumerGroupMigration.LEGACY_GROUP_ID, Map.of(
+                new TopicPartition("notifications-high", 0), new OffsetAndMetadata(7)));
+        committed(ConsumptionController.NOTIFICATION_HIGH_GROUP_ID, Map.of(
+                new TopicPartition("notifications-high", 0), new OffsetAndMetadata(100)));
+
+        assertThat(migration.migrate(admin)).isZero();
+
+        verify(admin, never()).alterConsumerGroupOffsets(anyString(), anyMap());
+    }
+
+    @Test
+    void doesNothingWithoutASharedGroup() throws Exception {
+        committed(NotificationConsumerGroupMigration.LEGACY_GROUP_ID, Map.of());
+
+        assertThat(migration.migrate(admin)).isZero();
+
+        verify(admin, never()).alterConsumerGroupOffsets(anyString(), anyMap());
+    }
+
+    private void committed(String groupId, Map<TopicPartition, OffsetAndMetadata> offsets) {
+        ListConsumerGroupOffsetsResult result = mock(ListConsumerGroupOffsetsResult.class);
+        when(result.partitionsToOffsetAndMetadata()).thenReturn(KafkaFuture.completedFuture(offsets));
+        when(admin.listConsumerGroupOffsets(groupId)).thenReturn(result);
+    }
+}
@@ -0,0 +1,116 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.model.DeliveredNotification;
+import com.taskmanagement.repository.DeliveredNotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationDeduplicatorTest {
+
+    private final DeliveredNotificationRepository repository = mock(DeliveredNotificationRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NotificationDeduplicator deduplicator =
+            new NotificationDeduplicator(repository, jdbcTemplate, meterRegistry, 2);
+
+    @Test
+    void dropsRecordsAlreadyDeliveredOnTheChannelFromMemory() {
+        ConsumerRecord<String, NotificationMessage> delivered = record("n1");
+        ConsumerRecord<String, NotificationMessage> fresh = record("n2");
+        deduplicator.markDelivered(NotificationChannel.EMAIL, List.of(delivered));
+
+        assertThat(deduplicator.filterDelivered(NotificationChannel.EMAIL, List.of(delivered, fresh)))
+                .containsExactly(fresh);
+        assertThat(deduplicator.filterDelivered(NotificationChannel.WEBHOOK, List.of(delivered, fresh)))
+                .containsExactly(delivered, fresh);
+        assertThat(lookups("memory-hit")).isEqualTo(1);
+    }
+
+    @Test
+    void looksUpKeysMissingFromMemoryInTheStoreWithOneQuery() {
+        when(repository.findAllById(List.of("n1:EMAIL", "n2:EMAIL")))
+                .thenReturn(List.of(new DeliveredNotification("n1:EMAIL", LocalDateTime.now())));
+        ConsumerRecord<String, NotificationMessage> storedRecord = record("n1");
+        ConsumerRecord<String, NotificationMessage> fresh = record("n2");
+
+        assertThat(deduplicator.filterDelivered(NotificationChannel.EMAIL, List.of(storedRecord, fresh)))
+                .containsExactly(fresh);
+        assertThat(lookups("store-hit")).isEqualTo(1);
+        assertThat(lookups("miss")).isEqualTo(1);
+
+        // The stored key is remembered, the next redelivery does not query again
+        assertThat(deduplicator.filterDelivered(NotificationChannel.EMAIL, List.of(storedRecord))).isEmpty();
+        verify(repository).findAllById(anyCollection());
+    }
+
+    @Test
+    void deliversRecordsWithoutANotificationIdUnchecked() {
+        ConsumerRecord<String, NotificationMessage> legacy = record(null);
+
+        assertThat(deduplicator.filterDelivered(NotificationChannel.EMAIL, List.of(legacy))).containsExactly(legacy);
+        deduplicator.markDelivered(NotificationChannel.EMAIL, List.of(legacy));
+
+        verify(repository, never()).findAllById(anyCollection());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedKeysBeyondMaxEntries() {
+        deduplicator.markDelivered(NotificationChannel.EMAIL, List.of(record("n1"), record("n2"), record("n3")));
+
+        assertThat(deduplicator.filterDelivered(NotificationChannel.EMAIL, List.of(record("n1"))))
+                .hasSize(1);
+        verify(repository).findAllById(List.of("n1:EMAIL"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keepsDeliveredKeysInMemoryWhenTheStoreIsDown() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        ConsumerRecord<String, NotificationMessage> delivered = record("n1");
+
+        deduplicator.markDelivered(NotificationChannel.EMAIL, List.of(delivered));
+
+        verify(jdbcTemplate).batchUpdate(eq("INSERT INTO delivered_notifications (delivery_key, delivered_at) "
+                + "VALUES (?, ?) ON CONFLICT DO NOTHING"), anyCollection(), eq(1), any());
+        assertThat(deduplicator.filterDelivered(NotificationChannel.EMAIL, List.of(delivered))).isEmpty();
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("notifications.dedup.lookups").tag("result", result).counter().count();
+    }
+
+    private static ConsumerRecord<String, NotificationMessage> record(String notificationId) {
+        NotificationMessage notification = NotificationMessage.builder()
+                .notificationId(notificationId)
+                .recipient("john@example.com")
+                .subject("Task assigned")
+                .message("Hello")
+                .type(NotificationMessage.NotificationType.TASK_ASSIGNED)
+                .build();
+        return new ConsumerRecord<>("notifications", 0, 0, notification.getRecipient(), notification);
+    }
+}
@@ -0,0 +1,102 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationDeliveryLedgerTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationDeliveryLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new NotificationDeliveryLedger(jdbcTemplate, meterRegistry, 10);
+        ReflectionTestUtils.setField(ledger, "batchSize", 10);
+        ReflectionTestUtils.setField(ledger, "maxWriteAttempts", 2);
+    }
+
+    @Test
+    void retriesAFailedBatchWithTheNextFlush() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(1);
+        ledger.recordDelivered(record(), NotificationChannel.EMAIL);
+
+        ledger.flush();
+        ledger.flush();
+
+        verify(jdbcTemplate, times(2)).update(anyString(), any(Object[].class));
+        assertThat(dropped()).isZero();
+    }
+
+    @Test
+    void dropsAndCountsABatchAfterTheLastAttempt() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+        ledger.recordDelivered(record(), NotificationChannel.EMAIL);
+        ledger.recordFailed(record(), NotificationChannel.EMAIL, new IllegalStateException("rejected"));
+
+        ledger.flush();
+        ledger.flush();
+        ledger.flush();
+
+        verify(jdbcTemplate, times(2)).update(anyString(), any(Object[].class));
+        assertThat(dropped()).isEqualTo(2);
+    }
+
+    @Test
+    void recordsADigestOncePerTaskItCovers() {
+        NotificationMessage digest = NotificationMessage.builder()
+                .notificationId("digest-1")
+                .recipient("jane@example.com")
+                .type(NotificationMessage.NotificationType.TASK_DIGEST)
+                .partTaskIds(List.of(7L, 8L))
+                .build();
+        ledger.recordDelivered(new ConsumerRecord<>("notifications", 0, 0, "jane@example.com", digest),
+                NotificationChannel.EMAIL);
+
+        ledger.flush();
+
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(anyString(), params.capture());
+        // Nine columns per row: notification_id, task_id, ...
+        assertThat(params.getValue()).hasSize(18);
+        assertThat(params.getValue()[0]).isEqualTo("digest-1");
+        assertThat(params.getValue()[1]).isEqualTo(7L);
+        assertThat(params.getValue()[9]).isEqualTo("digest-1");
+        assertThat(params.getValue()[10]).isEqualTo(8L);
+    }
+
+    private double dropped() {
+        return meterRegistry.get("notifications.ledger.dropped").counter().count();
+    }
+
+    private static ConsumerRecord<String, NotificationMessage> record() {
+        NotificationMessage notification = NotificationMessage.builder()
+                .notificationId("n-1")
+                .recipient("jane@example.com")
+                .type(NotificationMessage.NotificationType.TASK_ASSIGNED)
+                .build();
+        return new ConsumerRecord<>("notifications", 0, 0, "jane@example.com", notification);
+    }
+}
@@ -0,0 +1,174 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.DltReplayResultDTO;
+import com.taskmanagement.event.NotificationLane;
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.service.transport.InProcessNotificationTransport;
+import com.taskmanagement.service.transport.KafkaNotificationTransport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationDltServiceTest {
+
+    private static final String DLT = "notifications-dlt";
+    private static final TopicPartition PARTITION = new TopicPartition(DLT, 0);
+
+    private final NotificationService notificationService = mock(NotificationService.class);
+
+    @Test
+    void replaysFromTheBeginningToTheLaneOfEachRecord() {
+        KafkaFixture kafka = new KafkaFixture();
+        kafka.addRecords(NotificationLane.HIGH, NotificationLane.BULK);
+
+        DltReplayResultDTO result = kafka.service.replay(10);
+
+        assertThat(result.getReplayed()).isEqualTo(2);
+        assertThat(result.getTargetTopics()).containsExactly("notifications-bulk", "notifications-high");
+        verify(kafka.kafkaTemplate).send(sentTo("notifications-high", "key-0"));
+        verify(kafka.kafkaTemplate).send(sentTo("notifications-bulk", "key-1"));
+        assertThat(kafka.committedOffset()).isEqualTo(2);
+    }
+
+    @Test
+    void stopsAtMaxRecordsAndCommitsOnlyWhatWasReplayed() {
+        KafkaFixture kafka = new KafkaFixture();
+        kafka.addRecords(NotificationLane.HIGH, NotificationLane.HIGH, NotificationLane.HIGH);
+
+        assertThat(kafka.service.replay(2).getReplayed()).isEqualTo(2);
+        assertThat(kafka.committedOffset()).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replaysTheBoundedDltOfTheInProcessTransportAndKeepsRecordsThatFailed() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectProvider<NotificationConsumerService> consumerService = mock(ObjectProvider.class);
+        when(consumerService.getObject()).thenReturn(mock(NotificationConsumerService.class));
+        InProcessNotificationTransport transport = new InProcessNotificationTransport(consumerService,
+                mock(ObjectProvider.class), mock(ObjectProvider.class), mock(ObjectProvider.class),
+                mock(ConsumptionController.class), meterRegistry, 16, 10,
+                "notifications-high", "notifications", "notifications-bulk",
+                "notifications-retry-1m", "notifications-retry-10m", "notifications-retry-1h", DLT,
+                "notifications-delay-1m", "notifications-delay-10m", "notifications-delay-1h", "notifications-delay-4h");
+        ReflectionTestUtils.setField(transport, "deadLetterCapacity", 2);
+        ReflectionTestUtils.setField(transport, "sendTimeoutMillis", 1000L);
+        NotificationDltService service = new NotificationDltService(transport, notificationService);
+        ReflectionTestUtils.setField(service, "dltTopic", DLT);
+
+        transport.start();
+        try {
+            for (int i = 0; i < 3; i++) {
+                transport.send(new ProducerRecord<>(DLT, "key-" + i, message(i, NotificationLane.HIGH))).get();
+            }
+            awaitParked(meterRegistry, 2);
+            assertThat(meterRegistry.get("notifications.transport.dead.letters.dropped").counter().count()).isEqualTo(1);
+
+            // The target topic does not exist, so nothing is replayed and the records stay parked
+            when(notificationService.topicFor(NotificationLane.HIGH)).thenReturn("unknown");
+            assertThat(service.replay(10).getReplayed()).isZero();
+            awaitParked(meterRegistry, 2);
+
+            when(notificationService.topicFor(NotificationLane.HIGH)).thenReturn("notifications-high");
+            DltReplayResultDTO result = service.replay(10);
+
+            assertThat(result.getReplayed()).isEqualTo(2);
+            assertThat(result.getTargetTopics()).containsExactly("notifications-high");
+            awaitParked(meterRegistry, 0);
+        } finally {
+            transport.stop();
+        }
+    }
+
+    private static ProducerRecord<String, NotificationMessage> sentTo(String topic, String key) {
+        return argThat(record -> record.topic().equals(topic) && record.key().equals(key));
+    }
+
+    private static void awaitParked(MeterRegistry meterRegistry, double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        double parked;
+        do {
+            parked = meterRegistry.get("notifications.transport.dead.letters.parked").gauge().value();
+        } while (parked != expected && System.currentTimeMillis() < deadline && sleep());
+        assertThat(parked).isEqualTo(expected);
+    }
+
+    private static boolean sleep() throws InterruptedException {
+        Thread.sleep(10);
+        return true;
+    }
+
+    private static NotificationMessage message(int i, NotificationLane lane) {
+        return NotificationMessage.builder()
+                .recipient("user" + i + "@example.com")
+                .type(NotificationMessage.NotificationType.TASK_ASSIGNED)
+                .lane(lane)
+                .build();
+    }
+
+    private final class KafkaFixture {
+        private final MockConsumer<String, NotificationMessage> consumer;
+        private final KafkaTemplate<String, NotificationMessage> kafkaTemplate;
+        private final NotificationDltService service;
+
+        @SuppressWarnings("unchecked")
+        private KafkaFixture() {
+            consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+                @Override
+                public synchronized void close() {
+                    // Kept open so the committed offsets can be checked
+                }
+            };
+            consumer.updatePartitions(DLT, List.of(new PartitionInfo(DLT, 0, null, null, null)));
+            consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+
+            ConsumerFactory<String, NotificationMessage> consumerFactory = mock(ConsumerFactory.class);
+            when(consumerFactory.createConsumer(anyString(), anyString())).thenReturn(consumer);
+            kafkaTemplate = mock(KafkaTemplate.class);
+            when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+            when(notificationService.topicFor(NotificationLane.HIGH)).thenReturn("notifications-high");
+            when(notificationService.topicFor(NotificationLane.BULK)).thenReturn("notifications-bulk");
+
+            KafkaNotificationTransport transport = new KafkaNotificationTransport(kafkaTemplate, consumerFactory);
+            ReflectionTestUtils.setField(transport, "dltTopic", DLT);
+            service = new NotificationDltService(transport, notificationService);
+            ReflectionTestUtils.setField(service, "dltTopic", DLT);
+        }
+
+        private void addRecords(NotificationLane... lanes) {
+            consumer.updateEndOffsets(Map.of(PARTITION, (long) lanes.length));
+            consumer.schedulePollTask(() -> {
+                for (int offset = 0; offset < lanes.length; offset++) {
+                    consumer.addRecord(new ConsumerRecord<>(DLT, 0, offset, "key-" + offset, message(offset, lanes[offset])));
+                }
+            });
+        }
+
+        private long committedOffset() {
+            return consumer.committed(Set.of(PARTITION)).get(PARTITION).offset();
+        }
+    }
+}
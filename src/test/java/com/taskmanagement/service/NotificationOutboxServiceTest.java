@@ -0,0 +1,151 @@
+package com.taskmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.event.NotificationLane;
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.model.NotificationOutbox;
+import com.taskmanagement.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class NotificationOutboxServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final NotificationOutboxRepository outboxRepository = mock(NotificationOutboxRepository.class);
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private NotificationOutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        NotificationCoalescer coalescer = new NotificationCoalescer(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(coalescer, "maxSize", 20);
+        outboxService = new NotificationOutboxService(outboxRepository, notificationService, coalescer,
+                objectMapper, jdbcTemplate);
+        ReflectionTestUtils.setField(outboxService, "notificationsEnabled", true);
+        ReflectionTestUtils.setField(outboxService, "coalescingEnabled", true);
+        ReflectionTestUtils.setField(outboxService, "coalesceWindowMillis", 30_000L);
+        ReflectionTestUtils.setField(outboxService, "batchSize", 10);
+    }
+
+    @Test
+    void storesANotificationWithAStableIdAndItsRecipientAndLane() throws Exception {
+        NotificationMessage notification = notification(null, "john@example.com", 1L, NotificationLane.HIGH);
+
+        outboxService.enqueue(notification);
+
+        ArgumentCaptor<NotificationOutbox> saved = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(outboxRepository).save(saved.capture());
+        assertThat(notification.getNotificationId()).isNotNull();
+        assertThat(saved.getValue().getRecipient()).isEqualTo("john@example.com");
+        assertThat(saved.getValue().getTaskId()).isEqualTo(1L);
+        assertThat(saved.getValue().getLane()).isEqualTo(NotificationLane.HIGH);
+        assertThat(objectMapper.readValue(saved.getValue().getPayload(), NotificationMessage.class))
+                .isEqualTo(notification);
+    }
+
+    @Test
+    void storesABatchWithOneMultiRowInsert() {
+        outboxService.enqueueAll(List.of(
+                notification(null, "john@example.com", 1L, NotificationLane.BULK),
+                notification("n2", "alice@example.com", 2L, NotificationLane.BULK)));
+
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(eq("INSERT INTO notification_outbox "
+                + "(recipient, task_id, lane, payload, created_at) VALUES (?, ?, ?, ?, ?), (?, ?, ?, ?, ?)"),
+                params.capture());
+        assertThat(params.getValue()).hasSize(10);
+        assertThat(params.getValue()[0]).isEqualTo("john@example.com");
+        assertThat(params.getValue()[7]).isEqualTo("BULK");
+    }
+
+    @Test
+    void storesNothingWhileNotificationsAreDisabled() {
+        ReflectionTestUtils.setField(outboxService, "notificationsEnabled", false);
+
+        outboxService.enqueue(notification(null, "john@example.com", 1L, NotificationLane.NORMAL));
+        outboxService.enqueueAll(List.of(notification(null, "john@example.com", 1L, NotificationLane.NORMAL)));
+
+        verifyNoInteractions(outboxRepository, jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relaysDueEntriesTogetherWithThePendingEntriesOfTheirRecipients() throws Exception {
+        NotificationOutbox high = entry(1L, notification("n1", "alice@example.com", 1L, NotificationLane.HIGH));
+        NotificationOutbox due = entry(2L, notification("n2", "john@example.com", 2L, NotificationLane.NORMAL));
+        NotificationOutbox recent = entry(3L, notification("n3", "john@example.com", 3L, NotificationLane.NORMAL));
+        when(outboxRepository.claimHigh(10)).thenReturn(List.of(high));
+        when(outboxRepository.claimDue(any(LocalDateTime.class), eq(9))).thenReturn(List.of(due));
+        when(outboxRepository.claimForRecipients(anyCollection(), anyInt())).thenReturn(List.of(high, due, recent));
+
+        assertThat(outboxService.relayBatch()).isEqualTo(2);
+
+        ArgumentCaptor<Collection<String>> recipients = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxRepository).claimForRecipients(recipients.capture(), eq(10));
+        assertThat(recipients.getValue()).containsExactlyInAnyOrder("alice@example.com", "john@example.com");
+
+        ArgumentCaptor<List<NotificationMessage>> published = ArgumentCaptor.forClass(List.class);
+        verify(notificationService).publishAll(published.capture());
+        assertThat(published.getValue()).hasSize(2);
+        assertThat(published.getValue().get(1).getType()).isEqualTo(NotificationMessage.NotificationType.TASK_DIGEST);
+        assertThat(published.getValue().get(1).getPartTaskIds()).containsExactly(2L, 3L);
+        verify(outboxRepository).deleteAllByIdInBatch(Set.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void relaysNothingWhenNoEntryIsDue() {
+        when(outboxRepository.claimHigh(10)).thenReturn(List.of());
+        when(outboxRepository.claimDue(any(LocalDateTime.class), eq(10))).thenReturn(List.of());
+
+        assertThat(outboxService.relayBatch()).isZero();
+
+        verify(outboxRepository, never()).claimForRecipients(anyCollection(), anyInt());
+        verify(notificationService, never()).publishAll(any());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    private NotificationOutbox entry(Long id, NotificationMessage notification) throws Exception {
+        return NotificationOutbox.builder()
+                .id(id)
+                .recipient(notification.recipientKey())
+                .taskId(notification.getTaskId())
+                .lane(notification.getLane())
+                .payload(objectMapper.writeValueAsString(notification))
+                .build();
+    }
+
+    private static NotificationMessage notification(String id, String recipient, Long taskId, NotificationLane lane) {
+        return NotificationMessage.builder()
+                .notificationId(id)
+                .recipient(recipient)
+                .subject("Task " + taskId)
+                .message("Task " + taskId + " changed")
+                .type(NotificationMessage.NotificationType.TASK_STATUS_CHANGED)
+                .taskId(taskId)
+                .lane(lane)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
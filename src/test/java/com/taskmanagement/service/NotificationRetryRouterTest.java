@@ -0,0 +1,74 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationHeaders;
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.service.transport.NotificationTransport;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationRetryRouterTest {
+
+    private NotificationTransport transport;
+    private NotificationRetryRouter router;
+
+    @BeforeEach
+    void setUp() {
+        transport = mock(NotificationTransport.class);
+        router = new NotificationRetryRouter(transport);
+        ReflectionTestUtils.setField(router, "retry1mTopic", "retry-1m");
+        ReflectionTestUtils.setField(router, "retry10mTopic", "retry-10m");
+        ReflectionTestUtils.setField(router, "retry1hTopic", "retry-1h");
+        ReflectionTestUtils.setField(router, "dltTopic", "dlt");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void routesToTheNextTierAndFinallyToTheDlt() {
+        when(transport.send(any())).thenAnswer(invocation -> CompletableFuture.completedFuture(null));
+        ConsumerRecord<String, NotificationMessage> record = record();
+
+        router.route(record, NotificationChannel.EMAIL, new IOException("SMTP down"));
+        NotificationHeaders.set(record.headers(), NotificationHeaders.ATTEMPT, 3L);
+        router.route(record, NotificationChannel.EMAIL, new IOException("SMTP down"));
+
+        ArgumentCaptor<ProducerRecord<String, NotificationMessage>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(transport, times(2)).send(sent.capture());
+        assertThat(sent.getAllValues()).extracting(ProducerRecord::topic).containsExactly("retry-1m", "dlt");
+        assertThat(NotificationHeaders.get(sent.getAllValues().get(0).headers(), NotificationHeaders.ORIGINAL_TOPIC))
+                .isEqualTo("notifications");
+    }
+
+    @Test
+    void propagatesSendFailures() {
+        when(transport.send(any())).thenAnswer(invocation ->
+                CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        assertThatThrownBy(() -> router.route(record(), NotificationChannel.EMAIL, new IOException("SMTP down")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("retry-1m");
+    }
+
+    private static ConsumerRecord<String, NotificationMessage> record() {
+        NotificationMessage message = NotificationMessage.builder()
+                .recipient("user@example.com")
+                .type(NotificationMessage.NotificationType.TASK_ASSIGNED)
+                .build();
+        return new ConsumerRecord<>("notifications", 0, 0, "user@example.com", message);
+    }
+}
@@ -0,0 +1,88 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationMessage.NotificationType;
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationTemplateEngineTest {
+
+    private final NotificationTemplateEngine engine = new NotificationTemplateEngine("notification-templates", "en");
+
+    private final User assignee = User.builder().username("jdoe").firstName("John").email("john@example.com").build();
+    private final User creator = User.builder().username("asmith").firstName("Alice").email("alice@example.com").build();
+
+    @Test
+    void escalationNamesTheAssigneeAndNotTheCreatorItIsSentTo() {
+        Task task = task(assignee);
+
+        NotificationTemplateEngine.RenderedNotification rendered =
+                engine.render(NotificationType.TASK_ESCALATION, task, creator);
+
+        assertThat(rendered.subject()).isEqualTo("Task Due Soon and Still Open: Prepare quarterly report");
+        assertThat(rendered.body())
+                .contains("A task you created is due soon and John has not completed it yet")
+                .doesNotContain("Alice");
+    }
+
+    @Test
+    void escalationOfAnUnassignedTaskFallsBackToNa() {
+        NotificationTemplateEngine.RenderedNotification rendered =
+                engine.render(NotificationType.TASK_ESCALATION, task(null), creator);
+
+        assertThat(rendered.body()).contains("due soon and N/A has not completed it yet");
+    }
+
+    @Test
+    void rendersEveryVariableOfTheAssignmentTemplate() {
+        NotificationTemplateEngine.RenderedNotification rendered =
+                engine.render(NotificationType.TASK_ASSIGNED, task(assignee), assignee);
+
+        assertThat(rendered.subject()).isEqualTo("New Task Assigned: Prepare quarterly report");
+        assertThat(rendered.body())
+                .startsWith("Hello John,\n\nYou have been assigned a new task:")
+                .contains("Title: Prepare quarterly report\n", "Description: N/A\n", "Priority: HIGH\n",
+                        "Due Date: 2024-03-31T17:00\n");
+    }
+
+    @Test
+    void greetsARecipientWithoutAFirstNameByUsername() {
+        User recipient = User.builder().username("jdoe").email("john@example.com").build();
+
+        assertThat(engine.render(NotificationType.TASK_STATUS_CHANGED, task(recipient), recipient).body())
+                .startsWith("Hello jdoe,")
+                .contains("New Status: IN_PROGRESS");
+    }
+
+    @Test
+    void fallsBackToTheDefaultTemplatesForALocaleWithoutItsOwn() {
+        NotificationTemplateEngine.RenderedNotification rendered =
+                engine.render(NotificationType.TASK_OVERDUE, Locale.GERMAN, task(assignee), assignee);
+
+        assertThat(rendered).isEqualTo(engine.render(NotificationType.TASK_OVERDUE, task(assignee), assignee));
+    }
+
+    @Test
+    void rejectsATypeWithoutTemplate() {
+        assertThatThrownBy(() -> engine.render(NotificationType.TASK_DIGEST, task(assignee), assignee))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("No notification template for TASK_DIGEST");
+    }
+
+    private static Task task(User assignee) {
+        return Task.builder()
+                .id(42L)
+                .title("Prepare quarterly report")
+                .status(Task.TaskStatus.IN_PROGRESS)
+                .priority(Task.TaskPriority.HIGH)
+                .dueDate(LocalDateTime.of(2024, 3, 31, 17, 0))
+                .assignee(assignee)
+                .build();
+    }
+}
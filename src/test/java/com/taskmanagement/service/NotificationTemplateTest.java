@@ -0,0 +1,47 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationTemplateTest {
+
+    private static final Map<String, Function<NotificationTemplate.Model, String>> VARIABLES = Map.of(
+            "title", model -> model.task().getTitle(),
+            "name", model -> model.recipient().getFirstName());
+
+    private final NotificationTemplate.Model model = new NotificationTemplate.Model(
+            Task.builder().title("Report").build(), User.builder().firstName("John").build());
+
+    @Test
+    void rendersLiteralsAndVariablesInOrder() {
+        assertThat(render("Hello {name}, {title} is due ({ title })")).isEqualTo("Hello John, Report is due (Report)");
+    }
+
+    @Test
+    void rendersDoubledBracesAsLiteralBraces() {
+        assertThat(render("{{title}} is {title}}}")).isEqualTo("{title} is Report}");
+    }
+
+    @Test
+    void rejectsUnknownVariablesAndUnclosedPlaceholders() {
+        assertThatThrownBy(() -> NotificationTemplate.compile("Hello {nmae}", VARIABLES))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown template variable 'nmae'");
+        assertThatThrownBy(() -> NotificationTemplate.compile("Hello {name", VARIABLES))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Unclosed placeholder at 6");
+    }
+
+    private String render(String source) {
+        StringBuilder out = new StringBuilder();
+        NotificationTemplate.compile(source, VARIABLES).renderTo(out, model);
+        return out.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.NotificationLane;
+import com.taskmanagement.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuietHoursPolicyTest {
+
+    // A zone in which it is about noon right now, so the windows below do not depend on when the test runs
+    private final ZoneId noonZone = noonZone();
+    private final User recipient = User.builder().username("jdoe").timeZone(noonZone.getId()).build();
+
+    @Test
+    void defersANotificationUntilTheEndOfTheRecipientsQuietHours() {
+        QuietHoursPolicy policy = policy("11:00", "13:00");
+
+        assertThat(policy.deliverAt(recipient, NotificationLane.NORMAL)).isEqualTo(serverTime(LocalTime.of(13, 0), 0));
+    }
+
+    @Test
+    void deliversRightAwayOutsideTheQuietHours() {
+        assertThat(policy("21:00", "08:00").deliverAt(recipient, NotificationLane.NORMAL)).isNull();
+        assertThat(policy("13:00", "11:00").deliverAt(recipient, NotificationLane.BULK)).isNull();
+    }
+
+    @Test
+    void defersToTheNextDayInAWindowThatWrapsPastMidnight() {
+        QuietHoursPolicy policy = policy("10:00", "09:00");
+
+        assertThat(policy.deliverAt(recipient, NotificationLane.BULK)).isEqualTo(serverTime(LocalTime.of(9, 0), 1));
+    }
+
+    @Test
+    void neverDefersTheHighLaneAnEmptyWindowOrWhenDisabled() {
+        assertThat(policy("11:00", "13:00").deliverAt(recipient, NotificationLane.HIGH)).isNull();
+        assertThat(policy("12:00", "12:00").deliverAt(recipient, NotificationLane.NORMAL)).isNull();
+
+        QuietHoursPolicy disabled = policy("11:00", "13:00");
+        ReflectionTestUtils.setField(disabled, "enabled", false);
+        assertThat(disabled.deliverAt(recipient, NotificationLane.NORMAL)).isNull();
+    }
+
+    @Test
+    void usesTheConfiguredZoneForRecipientsWithoutOne() {
+        QuietHoursPolicy policy = policy("11:00", "13:00");
+        ReflectionTestUtils.setField(policy, "defaultZone", noonZone.getId());
+
+        assertThat(policy.deliverAt(User.builder().username("asmith").build(), NotificationLane.NORMAL))
+                .isEqualTo(serverTime(LocalTime.of(13, 0), 0));
+    }
+
+    private static QuietHoursPolicy policy(String start, String end) {
+        QuietHoursPolicy policy = new QuietHoursPolicy(start, end);
+        ReflectionTestUtils.setField(policy, "enabled", true);
+        ReflectionTestUtils.setField(policy, "defaultZone", "");
+        return policy;
+    }
+
+    /**
+     * A time of day in the noon zone, today plus the given days, as server local time.
+     */
+    private LocalDateTime serverTime(LocalTime time, int plusDays) {
+        return ZonedDateTime.now(noonZone).with(time).plusDays(plusDays)
+                .withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    private static ZoneId noonZone() {
+        long sinceNoon = Duration.between(LocalTime.NOON, LocalTime.now(ZoneOffset.UTC)).toMinutes();
+        long offsetMinutes = Math.floorMod(-sinceNoon + 12 * 60, 24 * 60) - 12 * 60;
+        return ZoneOffset.ofTotalSeconds((int) offsetMinutes * 60);
+    }
+}
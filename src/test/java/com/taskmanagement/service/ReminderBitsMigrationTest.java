@@ -0,0 +1,54 @@
+package com.taskmanagement.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReminderBitsMigrationTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ReminderBitsMigration migration =
+            new ReminderBitsMigration(jdbcTemplate, new ReminderSchedule(new int[]{72, 24, 1}, 1));
+
+    @Test
+    void neitherLocksNorUpdatesOnceTheLegacyColumnIsGone() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(0);
+
+        migration.run(null);
+
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void setsThePastBitsOfAllTasksInOneUpdateAndDropsTheLegacyColumn() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(1);
+
+        migration.run(null);
+
+        verify(jdbcTemplate).execute(contains("LOCK TABLE tasks"));
+        verify(jdbcTemplate, times(1)).update(contains("UPDATE tasks SET reminders_sent = reminders_sent | ("),
+                any(Object[].class));
+        verify(jdbcTemplate).execute("ALTER TABLE tasks DROP COLUMN IF EXISTS reminder_sent");
+    }
+
+    @Test
+    void skipsTheMigrationWhenAnotherNodeDroppedTheColumnWhileWaitingForTheLock() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(1, 0);
+
+        migration.run(null);
+
+        verify(jdbcTemplate).execute(contains("LOCK TABLE tasks"));
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        verify(jdbcTemplate, never()).execute("ALTER TABLE tasks DROP COLUMN IF EXISTS reminder_sent");
+    }
+}
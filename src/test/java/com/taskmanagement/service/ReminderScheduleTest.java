@@ -0,0 +1,56 @@
+package com.taskmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReminderScheduleTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 12, 0);
+
+    @Test
+    void assignsOneBitPerThresholdAndTheEscalationBitAfterThem() {
+        ReminderSchedule schedule = new ReminderSchedule(new int[]{72, 24, 1}, 2);
+
+        assertThat(schedule.assigneeMask()).isEqualTo(0b0111);
+        assertThat(schedule.escalationMask()).isEqualTo(0b1000);
+        assertThat(schedule.allMask()).isEqualTo(0b1111);
+        assertThat(schedule.maxHours()).isEqualTo(72);
+        assertThat(schedule.cutoffs(NOW))
+                .containsExactly(NOW.plusHours(72), NOW.plusHours(24), NOW.plusHours(1), NOW.plusHours(2));
+    }
+
+    @Test
+    void negativeEscalationHoursDisableTheEscalationBit() {
+        ReminderSchedule schedule = new ReminderSchedule(new int[]{24}, -1);
+
+        assertThat(schedule.escalationMask()).isZero();
+        assertThat(schedule.allMask()).isEqualTo(0b1);
+        assertThat(schedule.cutoffs(NOW)).containsExactly(NOW.plusHours(24));
+    }
+
+    @Test
+    void nextDueAtIsTheEarliestThresholdNotInTheSentMask() {
+        ReminderSchedule schedule = new ReminderSchedule(new int[]{72, 24, 1}, 2);
+        LocalDateTime dueDate = NOW.plusDays(5);
+
+        assertThat(schedule.nextDueAt(dueDate, 0)).isEqualTo(dueDate.minusHours(72));
+        assertThat(schedule.nextDueAt(dueDate, 0b0001)).isEqualTo(dueDate.minusHours(24));
+        // Escalation (2h) fires before the last assignee threshold (1h)
+        assertThat(schedule.nextDueAt(dueDate, 0b0011)).isEqualTo(dueDate.minusHours(2));
+        assertThat(schedule.nextDueAt(dueDate, 0b1011)).isEqualTo(dueDate.minusHours(1));
+        // A skipped threshold is still pending, whatever fired after it
+        assertThat(schedule.nextDueAt(dueDate, 0b1110)).isEqualTo(dueDate.minusHours(72));
+        assertThat(schedule.nextDueAt(dueDate, schedule.allMask())).isNull();
+    }
+
+    @Test
+    void rejectsMoreThresholdsThanFitInTheMask() {
+        assertThatThrownBy(() -> new ReminderSchedule(new int[31], 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(new ReminderSchedule(new int[30], 1).allMask()).isEqualTo(Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,115 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.repository.SchedulerLeaseRepository;
+import com.taskmanagement.repository.SchedulerNodeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShardLeaseManagerTest {
+
+    private static final String NODE = "node-1";
+    private static final long TTL = 30_000;
+
+    private final SchedulerLeaseRepository leaseRepository = mock(SchedulerLeaseRepository.class);
+    private final SchedulerNodeRepository nodeRepository = mock(SchedulerNodeRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ShardLeaseManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new ShardLeaseManager(leaseRepository, nodeRepository, meterRegistry, NODE, 16);
+        ReflectionTestUtils.setField(manager, "leaseTtlMillis", TTL);
+    }
+
+    @Test
+    void takesOverFreeShardsUpToItsFairShare() {
+        when(nodeRepository.countAlive(TTL)).thenReturn(2L);
+        when(leaseRepository.findHeld(NODE, 16)).thenReturn(List.of(), List.of(0, 1, 2, 3, 4, 5, 6, 7));
+        when(leaseRepository.acquireOne(NODE, TTL, 16)).thenReturn(1);
+
+        manager.heartbeat();
+
+        verify(leaseRepository).createShards(16);
+        verify(nodeRepository).heartbeat(NODE);
+        verify(leaseRepository).renew(NODE, TTL);
+        verify(leaseRepository, times(8)).acquireOne(NODE, TTL, 16);
+        assertThat(manager.getHeldShards()).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+        assertThat(meterRegistry.get("scheduler.shards.held").gauge().value()).isEqualTo(8);
+    }
+
+    @Test
+    void releasesItsHighestShardsWhenNodesJoin() {
+        when(nodeRepository.countAlive(TTL)).thenReturn(4L);
+        when(leaseRepository.findHeld(NODE, 16)).thenReturn(List.of(0, 1, 2, 3, 4, 5, 6, 7));
+
+        manager.heartbeat();
+
+        for (int shard = 4; shard < 8; shard++) {
+            verify(leaseRepository).release(shard, NODE);
+        }
+        verify(leaseRepository, never()).release(3, NODE);
+        verify(leaseRepository, never()).acquireOne(anyString(), anyInt(), anyInt());
+        assertThat(manager.getHeldShards()).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    void stopsAcquiringOnceNoShardIsFreeAndCreatesTheShardsOnlyOnce() {
+        when(nodeRepository.countAlive(TTL)).thenReturn(1L);
+        when(leaseRepository.findHeld(NODE, 16)).thenReturn(List.of(), List.of(3, 9));
+        when(leaseRepository.acquireOne(NODE, TTL, 16)).thenReturn(1, 1, 0);
+
+        manager.heartbeat();
+        assertThat(manager.getHeldShards()).containsExactly(3, 9);
+
+        manager.heartbeat();
+        verify(leaseRepository, times(1)).createShards(16);
+    }
+
+    @Test
+    void fencesWorkOnAShardItNoLongerHolds() {
+        when(leaseRepository.lockIfHeld(3, NODE)).thenReturn(List.of(3));
+        when(leaseRepository.lockIfHeld(4, NODE)).thenReturn(List.of());
+
+        assertThat(manager.lockShard(3)).isTrue();
+        assertThat(manager.lockShard(4)).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void locksTheShardsOfIdsOnceEachInShardOrder() {
+        manager.lockShardsOf(List.of(18L, 33L, 2L, 1L));
+
+        ArgumentCaptor<Collection<Integer>> locked = ArgumentCaptor.forClass(Collection.class);
+        verify(leaseRepository).lockAll(locked.capture());
+        assertThat(locked.getValue()).containsExactly(1, 2);
+        assertThat(manager.shardOf(33L)).isEqualTo(1);
+    }
+
+    @Test
+    void handsItsShardsOverOnShutdownAndToleratesAnUnreachableDatabase() {
+        manager.releaseAll();
+        verify(leaseRepository).releaseAll(NODE);
+        verify(nodeRepository).deleteById(NODE);
+        assertThat(manager.getHeldShards()).isEmpty();
+
+        when(leaseRepository.releaseAll(NODE)).thenThrow(new DataAccessResourceFailureException("connection refused"));
+        manager.releaseAll();
+    }
+}
@@ -0,0 +1,114 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.TaskNotificationDTO;
+import com.taskmanagement.event.TaskBatchEvent;
+import com.taskmanagement.model.SchedulerWatermark;
+import com.taskmanagement.repository.SchedulerWatermarkRepository;
+import com.taskmanagement.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TaskServiceOverdueTest {
+
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final ShardLeaseManager shardLeaseManager = mock(ShardLeaseManager.class);
+    private final SchedulerWatermarkRepository watermarkRepository = mock(SchedulerWatermarkRepository.class);
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskService = new TaskService(taskRepository, mock(UserService.class), mock(AuditLogService.class),
+                new ModelMapper(), eventPublisher, shardLeaseManager, watermarkRepository, mock(ReminderSchedule.class));
+        when(shardLeaseManager.lockShard(anyInt())).thenReturn(true);
+        when(shardLeaseManager.getShards()).thenReturn(4);
+    }
+
+    @Test
+    void startsANewShardAtTheGivenTime() {
+        when(watermarkRepository.findById("overdue:1")).thenReturn(Optional.empty());
+
+        assertThat(taskService.sendOverdueChunk(1, WATERMARK, 2)).isZero();
+
+        verify(watermarkRepository).save(SchedulerWatermark.builder()
+                .name("overdue:1").watermarkAt(WATERMARK).watermarkId(Long.MAX_VALUE).build());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void movesTheWatermarkToTheLastTaskOfAFullChunk() {
+        SchedulerWatermark watermark = watermark(WATERMARK, Long.MAX_VALUE);
+        LocalDateTime until = WATERMARK.plusMinutes(10);
+        when(taskRepository.findOverdueChunk(eq(WATERMARK), eq(Long.MAX_VALUE), eq(until), eq(4), eq(1), any()))
+                .thenReturn(List.of(task(5L, WATERMARK.plusMinutes(1)), task(9L, WATERMARK.plusMinutes(2))));
+
+        assertThat(taskService.sendOverdueChunk(1, until, 2)).isEqualTo(2);
+
+        assertThat(watermark.getWatermarkAt()).isEqualTo(WATERMARK.plusMinutes(2));
+        assertThat(watermark.getWatermarkId()).isEqualTo(9L);
+        verify(eventPublisher).publishEvent(any(TaskBatchEvent.class));
+    }
+
+    @Test
+    void movesTheWatermarkToTheGivenTimeOnceCaughtUp() {
+        SchedulerWatermark watermark = watermark(WATERMARK, 9L);
+        LocalDateTime until = WATERMARK.plusMinutes(10);
+        when(taskRepository.findOverdueChunk(any(), anyLong(), any(), anyInt(), anyInt(), any()))
+                .thenReturn(List.of(task(12L, WATERMARK.plusMinutes(3))));
+
+        assertThat(taskService.sendOverdueChunk(1, until, 2)).isEqualTo(1);
+
+        assertThat(watermark.getWatermarkAt()).isEqualTo(until);
+        assertThat(watermark.getWatermarkId()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void neverMovesTheWatermarkBackwards() {
+        SchedulerWatermark watermark = watermark(WATERMARK, Long.MAX_VALUE);
+
+        // A node whose clock lags 30 s behind the one that moved the watermark
+        assertThat(taskService.sendOverdueChunk(1, WATERMARK.minusSeconds(30), 2)).isZero();
+
+        assertThat(watermark.getWatermarkAt()).isEqualTo(WATERMARK);
+        verify(watermarkRepository, never()).save(any());
+        verifyNoInteractions(taskRepository, eventPublisher);
+    }
+
+    @Test
+    void failsIfTheShardIsNoLongerHeld() {
+        when(shardLeaseManager.lockShard(1)).thenReturn(false);
+
+        assertThatThrownBy(() -> taskService.sendOverdueChunk(1, WATERMARK, 2))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private SchedulerWatermark watermark(LocalDateTime at, long id) {
+        SchedulerWatermark watermark = SchedulerWatermark.builder().name("overdue:1").watermarkAt(at).watermarkId(id).build();
+        when(watermarkRepository.findById("overdue:1")).thenReturn(Optional.of(watermark));
+        return watermark;
+    }
+
+    private static TaskNotificationDTO task(long id, LocalDateTime dueDate) {
+        return TaskNotificationDTO.builder().id(id).dueDate(dueDate).build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.taskmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void firesEveryKeyAtItsDeadlineAcrossCascadedLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 10);
+        // Level 0, both sides of every level boundary, and deadlines cascaded more than once
+        long[] deadlines = {11, 73, 74, 75, 4105, 4106, 4107, 5000, 262_153, 262_154, 300_000, 1_000_000};
+        for (long deadline : deadlines) {
+            assertThat(wheel.schedule(deadline, deadline)).isTrue();
+        }
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = 11; now <= 1_000_000; now++) {
+            for (Long key : wheel.advance(now)) {
+                firedAt.put(key, now);
+            }
+        }
+
+        for (long deadline : deadlines) {
+            assertThat(firedAt.get(deadline)).as("key due at %d", deadline).isEqualTo(deadline);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void firesEverythingDueWhenAdvancingManyTicksAtOnce() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        wheel.schedule("late", 90_000_000);
+        wheel.schedule("soon", 2_000);
+        wheel.schedule("later", 5_000_000);
+
+        assertThat(wheel.advance(4_999_999)).containsExactly("soon");
+        assertThat(wheel.advance(100_000_000)).containsExactly("later", "late");
+    }
+
+    @Test
+    void firesPastDeadlinesOnTheNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 10_000);
+
+        wheel.schedule("missed", 5_000);
+
+        assertThat(wheel.advance(10_000)).containsExactly("missed");
+    }
+
+    @Test
+    void reschedulingReplacesTheDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        wheel.schedule("task", 300_000);
+        wheel.schedule("task", 3_000);
+
+        assertThat(wheel.advance(3_000)).containsExactly("task");
+        assertThat(wheel.advance(400_000)).isEmpty();
+    }
+
+    @Test
+    void cancelledKeysNeverFire() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, 0);
+        for (long key = 1; key <= 6; key++) {
+            wheel.schedule(key, key * 100_000);
+        }
+
+        assertThat(wheel.cancel(1L)).isTrue();
+        assertThat(wheel.cancel(1L)).isFalse();
+        assertThat(wheel.cancelIf(key -> key % 2 == 0)).isEqualTo(3);
+
+        List<Long> fired = wheel.advance(1_000_000);
+        assertThat(fired).containsExactly(3L, 5L);
+    }
+
+    @Test
+    void rejectsDeadlinesBeyondTheHorizon() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+
+        assertThat(wheel.schedule("edge", wheel.horizonMillis())).isTrue();
+        assertThat(wheel.schedule("beyond", wheel.horizonMillis() + 1000)).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,102 @@
+package com.taskmanagement.service.channel;
+
+import com.taskmanagement.event.NotificationChannel;
+import com.taskmanagement.event.NotificationLane;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChannelBulkheadTest {
+
+    private final ChannelBulkhead bulkhead = new ChannelBulkhead(NotificationChannel.EMAIL, 2, 1, 1, 100);
+
+    @AfterEach
+    void tearDown() {
+        bulkhead.shutdown();
+    }
+
+    @Test
+    void rejectsWhenNoSlotFreesUpWithinTheSlotTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> executeQuietly(release));
+        awaitSlots(0);
+
+        assertThatThrownBy(() -> bulkhead.execute(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+        running.get(1, TimeUnit.SECONDS);
+        assertThat(bulkhead.availableSlots()).isEqualTo(1);
+    }
+
+    @Test
+    void holdsTheSlotUntilTheDeliveryFinishesEvenIfTheCallerStopsWaiting() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Thread caller = new Thread(() -> executeQuietly(release));
+        caller.start();
+        awaitSlots(0);
+
+        caller.interrupt();
+        caller.join(1000);
+        assertThat(caller.isAlive()).isFalse();
+        assertThat(bulkhead.availableSlots()).isZero();
+
+        release.countDown();
+        awaitSlots(1);
+    }
+
+    @Test
+    void highLaneUsesItsReservedSlotWhileTheSharedSlotsAreTaken() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> executeQuietly(release));
+        awaitSlots(0);
+
+        CountDownLatch delivered = new CountDownLatch(1);
+        bulkhead.execute(NotificationLane.HIGH, delivered::countDown);
+
+        assertThat(delivered.getCount()).isZero();
+        assertThat(bulkhead.availableReservedSlots()).isEqualTo(1);
+        release.countDown();
+        running.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void propagatesDeliveryFailures() {
+        assertThatThrownBy(() -> bulkhead.execute(() -> {
+            throw new IllegalStateException("SMTP down");
+        }))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(bulkhead.availableSlots()).isEqualTo(1);
+    }
+
+    private void executeQuietly(CountDownLatch release) {
+        try {
+            bulkhead.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        } catch (Exception e) {
+            // The caller stopped waiting
+        }
+    }
+
+    private void awaitSlots(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (bulkhead.availableSlots() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(bulkhead.availableSlots()).isEqualTo(expected);
+    }
+}
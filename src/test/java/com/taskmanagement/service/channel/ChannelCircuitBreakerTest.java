@@ -0,0 +1,97 @@
+package com.taskmanagement.service.channel;
+
+import com.taskmanagement.event.NotificationChannel;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChannelCircuitBreakerTest {
+
+    private final List<ChannelCircuitBreaker.State> transitions = new ArrayList<>();
+
+    @Test
+    void opensOnceTheFailureRateReachesTheThreshold() {
+        ChannelCircuitBreaker circuitBreaker = circuitBreaker(60_000);
+
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.isCallPermitted()).isTrue();
+
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.state()).isEqualTo(ChannelCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.isCallPermitted()).isFalse();
+        assertThat(circuitBreaker.millisUntilProbe()).isPositive();
+        assertThat(transitions).containsExactly(ChannelCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void staysClosedWhileFailuresAreBelowTheThreshold() {
+        ChannelCircuitBreaker circuitBreaker = circuitBreaker(60_000);
+
+        // At most one failure in any 4 consecutive calls, 25% < 50%
+        for (int i = 0; i < 10; i++) {
+            circuitBreaker.onSuccess();
+            circuitBreaker.onSuccess();
+            circuitBreaker.onSuccess();
+            circuitBreaker.onFailure();
+        }
+
+        assertThat(circuitBreaker.state()).isEqualTo(ChannelCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void doesNotProbeBeforeTheOpenIntervalHasElapsed() {
+        ChannelCircuitBreaker circuitBreaker = circuitBreaker(60_000);
+        open(circuitBreaker);
+
+        assertThat(circuitBreaker.tryStartProbe()).isFalse();
+    }
+
+    @Test
+    void successfulProbeClosesTheCircuit() {
+        ChannelCircuitBreaker circuitBreaker = circuitBreaker(0);
+        open(circuitBreaker);
+
+        assertThat(circuitBreaker.tryStartProbe()).isTrue();
+        assertThat(circuitBreaker.tryStartProbe()).isFalse();
+        circuitBreaker.onProbeResult(true);
+
+        assertThat(circuitBreaker.isCallPermitted()).isTrue();
+        assertThat(transitions).containsExactly(ChannelCircuitBreaker.State.OPEN,
+                ChannelCircuitBreaker.State.HALF_OPEN, ChannelCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedProbeReopensForTwiceTheIntervalUpToTheMaximum() {
+        ChannelCircuitBreaker circuitBreaker = new ChannelCircuitBreaker(NotificationChannel.EMAIL,
+                4, 4, 50, 1000, 1500);
+        circuitBreaker.addListener((channel, state) -> transitions.add(state));
+        open(circuitBreaker);
+        ReflectionTestUtils.setField(circuitBreaker, "openUntil", 0L);
+
+        assertThat(circuitBreaker.tryStartProbe()).isTrue();
+        circuitBreaker.onProbeResult(false);
+
+        assertThat(circuitBreaker.state()).isEqualTo(ChannelCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.millisUntilProbe()).isBetween(1000L, 1500L);
+    }
+
+    private ChannelCircuitBreaker circuitBreaker(long openMillis) {
+        ChannelCircuitBreaker circuitBreaker = new ChannelCircuitBreaker(NotificationChannel.EMAIL,
+                4, 4, 50, openMillis, 600_000);
+        circuitBreaker.addListener((channel, state) -> transitions.add(state));
+        return circuitBreaker;
+    }
+
+    private void open(ChannelCircuitBreaker circuitBreaker) {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+        assertThat(circuitBreaker.state()).isEqualTo(ChannelCircuitBreaker.State.OPEN);
+    }
+}
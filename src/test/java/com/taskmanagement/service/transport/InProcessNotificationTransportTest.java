@@ -0,0 +1,191 @@
+package com.taskmanagement.service.transport;
+
+import com.taskmanagement.event.NotificationLane;
+import com.taskmanagement.event.NotificationMessage;
+import com.taskmanagement.service.ConsumptionController;
+import com.taskmanagement.service.NotificationConsumerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InProcessNotificationTransportTest {
+
+    private static final String TOPIC = "notifications";
+
+    private final NotificationConsumerService consumerService = mock(NotificationConsumerService.class);
+    private final ConsumptionController consumptionController = mock(ConsumptionController.class);
+    private final BlockingQueue<Consumed> consumed = new LinkedBlockingQueue<>();
+    private final List<InProcessNotificationTransport> started = new ArrayList<>();
+
+    @TempDir
+    Path journalDir;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> consumed.add(new Consumed(invocation.getArgument(1), invocation.getArgument(2))))
+                .when(consumerService).consume(eq(NotificationLane.NORMAL), anyList(), any(Acknowledgment.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        started.forEach(InProcessNotificationTransport::stop);
+    }
+
+    @Test
+    void handsSentRecordsToTheLaneConsumerAsABatchWithOffsets() throws Exception {
+        InProcessNotificationTransport transport = start(false);
+
+        transport.send(new ProducerRecord<>(TOPIC, "john@example.com", message("n1"))).get();
+        transport.send(new ProducerRecord<>(TOPIC, "john@example.com", message("n2"))).get();
+
+        List<ConsumerRecord<String, NotificationMessage>> records = awaitRecords(2);
+        assertThat(records).extracting(ConsumerRecord::offset).containsExactly(0L, 1L);
+        assertThat(records).extracting(ConsumerRecord::key).containsOnly("john@example.com");
+        assertThat(records).extracting(record -> record.value().getNotificationId()).containsExactly("n1", "n2");
+    }
+
+    @Test
+    void failsSendsToUnknownTopicsAndWhileStopped() throws Exception {
+        InProcessNotificationTransport transport = transport(false);
+
+        assertThatThrownBy(() -> transport.send(new ProducerRecord<>(TOPIC, "key", message("n1"))).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("not running");
+
+        start(transport);
+        assertThatThrownBy(() -> transport.send(new ProducerRecord<>("unknown", "key", message("n1"))).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("Unknown topic: unknown");
+    }
+
+    @Test
+    void doesNotDrainAPausedLaneUntilItIsResumed() throws Exception {
+        when(consumptionController.isPaused(NotificationLane.NORMAL)).thenReturn(true);
+        InProcessNotificationTransport transport = start(false);
+
+        transport.send(new ProducerRecord<>(TOPIC, "key", message("n1"))).get();
+        assertThat(consumed.poll(300, TimeUnit.MILLISECONDS)).isNull();
+
+        when(consumptionController.isPaused(NotificationLane.NORMAL)).thenReturn(false);
+        assertThat(awaitRecords(1)).hasSize(1);
+    }
+
+    @Test
+    void republishesUnacknowledgedRecordsFromTheJournalAfterARestart() throws Exception {
+        InProcessNotificationTransport first = start(true);
+        ProducerRecord<String, NotificationMessage> record = new ProducerRecord<>(TOPIC, "john@example.com",
+                message("n1"));
+        record.headers().add("trace", "t-1".getBytes(StandardCharsets.UTF_8));
+        first.send(record).get();
+        first.send(new ProducerRecord<>(TOPIC, "john@example.com", message("n2"))).get();
+        awaitRecords(2);
+        stop(first);
+
+        // Nothing was acknowledged: both records are delivered again, headers included
+        InProcessNotificationTransport second = start(true);
+        List<Consumed> recovered = awaitBatches(2);
+        List<ConsumerRecord<String, NotificationMessage>> records = new ArrayList<>();
+        recovered.forEach(batch -> records.addAll(batch.records()));
+        assertThat(records).extracting(r -> r.value().getNotificationId()).containsExactly("n1", "n2");
+        assertThat(records.get(0).headers().lastHeader("trace").value())
+                .isEqualTo("t-1".getBytes(StandardCharsets.UTF_8));
+        // Acknowledging the last batch commits the journal up to its end
+        recovered.get(recovered.size() - 1).acknowledgment().acknowledge();
+        stop(second);
+
+        start(true);
+        assertThat(consumed.poll(300, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    private InProcessNotificationTransport start(boolean journal) {
+        return start(transport(journal));
+    }
+
+    private InProcessNotificationTransport start(InProcessNotificationTransport transport) {
+        transport.start();
+        started.add(transport);
+        return transport;
+    }
+
+    private void stop(InProcessNotificationTransport transport) {
+        transport.stop();
+        started.remove(transport);
+    }
+
+    @SuppressWarnings("unchecked")
+    private InProcessNotificationTransport transport(boolean journal) {
+        ObjectProvider<NotificationConsumerService> consumerServiceProvider = mock(ObjectProvider.class);
+        when(consumerServiceProvider.getObject()).thenReturn(consumerService);
+        InProcessNotificationTransport transport = new InProcessNotificationTransport(consumerServiceProvider,
+                mock(ObjectProvider.class), mock(ObjectProvider.class), mock(ObjectProvider.class),
+                consumptionController, new SimpleMeterRegistry(), 16, 10,
+                "notifications-high", TOPIC, "notifications-bulk",
+                "notifications-retry-1m", "notifications-retry-10m", "notifications-retry-1h", "notifications-dlt",
+                "notifications-delay-1m", "notifications-delay-10m", "notifications-delay-1h", "notifications-delay-4h");
+        ReflectionTestUtils.setField(transport, "sendTimeoutMillis", 1000L);
+        ReflectionTestUtils.setField(transport, "journalEnabled", journal);
+        ReflectionTestUtils.setField(transport, "journalDir", journalDir.toString());
+        ReflectionTestUtils.setField(transport, "journalSizeMb", 1);
+        return transport;
+    }
+
+    private List<ConsumerRecord<String, NotificationMessage>> awaitRecords(int count) throws InterruptedException {
+        List<ConsumerRecord<String, NotificationMessage>> records = new ArrayList<>();
+        awaitBatches(count).forEach(batch -> records.addAll(batch.records()));
+        return records;
+    }
+
+    /**
+     * The batches handed to the lane consumer until they hold count records.
+     */
+    private List<Consumed> awaitBatches(int count) throws InterruptedException {
+        List<Consumed> batches = new ArrayList<>();
+        int records = 0;
+        while (records < count) {
+            Consumed batch = consumed.poll(5, TimeUnit.SECONDS);
+            assertThat(batch).as("batch within 5s").isNotNull();
+            batches.add(batch);
+            records += batch.records().size();
+        }
+        return batches;
+    }
+
+    private static NotificationMessage message(String id) {
+        return NotificationMessage.builder()
+                .notificationId(id)
+                .recipient("john@example.com")
+                .subject("Task assigned")
+                .message("Hello")
+                .type(NotificationMessage.NotificationType.TASK_ASSIGNED)
+                .lane(NotificationLane.NORMAL)
+                .build();
+    }
+
+    private record Consumed(List<ConsumerRecord<String, NotificationMessage>> records, Acknowledgment acknowledgment) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.taskmanagement.service.transport;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationJournalTest {
+
+    // Room for two entries of a 16-byte payload (4-byte length prefix each)
+    private static final int SIZE_BYTES = 40;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void returnsTheEntriesAppendedAfterTheLastCommit() throws Exception {
+        try (NotificationJournal journal = new NotificationJournal(dir.resolve("notifications.journal"), 1024)) {
+            long first = journal.append(payload("first"));
+            journal.append(payload("second"));
+
+            journal.commit(first);
+
+            assertThat(payloads(journal.uncommitted())).containsExactly(text("second"));
+            assertThat(journal.uncommittedBytes()).isEqualTo(Integer.BYTES + 16);
+        }
+    }
+
+    @Test
+    void recoversTheUncommittedEntriesAfterARestart() throws Exception {
+        Path file = dir.resolve("notifications.journal");
+        long second;
+        try (NotificationJournal journal = new NotificationJournal(file, 1024)) {
+            journal.commit(journal.append(payload("first")));
+            second = journal.append(payload("second"));
+            journal.append(payload("third"));
+        }
+
+        try (NotificationJournal reopened = new NotificationJournal(file, 1024)) {
+            List<NotificationJournal.Uncommitted> uncommitted = reopened.uncommitted();
+            assertThat(payloads(uncommitted)).containsExactly(text("second"), text("third"));
+            assertThat(uncommitted.get(0).position()).isEqualTo(second);
+
+            reopened.commit(uncommitted.get(1).position());
+            assertThat(reopened.uncommitted()).isEmpty();
+        }
+    }
+
+    @Test
+    void compactsTheCommittedHeadAwayWhenTheFileIsFull() throws Exception {
+        Path file = dir.resolve("notifications.journal");
+        try (NotificationJournal journal = new NotificationJournal(file, SIZE_BYTES)) {
+            journal.commit(journal.append(payload("first")));
+            journal.append(payload("second"));
+
+            // Positions keep growing past the file size, the committed entry makes room
+            assertThat(journal.append(payload("third"))).isEqualTo(60);
+            assertThat(payloads(journal.uncommitted())).containsExactly(text("second"), text("third"));
+        }
+
+        try (NotificationJournal reopened = new NotificationJournal(file, SIZE_BYTES)) {
+            assertThat(payloads(reopened.uncommitted())).containsExactly(text("second"), text("third"));
+        }
+    }
+
+    @Test
+    void rejectsAnAppendThatDoesNotFitEvenAfterCompaction() throws Exception {
+        try (NotificationJournal journal = new NotificationJournal(dir.resolve("notifications.journal"), SIZE_BYTES)) {
+            journal.append(payload("first"));
+            journal.append(payload("second"));
+
+            assertThatThrownBy(() -> journal.append(payload("third")))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("is full (40 bytes uncommitted)");
+            assertThat(payloads(journal.uncommitted())).containsExactly(text("first"), text("second"));
+        }
+    }
+
+    @Test
+    void rejectsAppendsOnceClosed() throws Exception {
+        NotificationJournal journal = new NotificationJournal(dir.resolve("notifications.journal"), 1024);
+        journal.close();
+
+        assertThatThrownBy(() -> journal.append(payload("late")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageEndingWith("is closed");
+    }
+
+    /**
+     * A 16-byte payload.
+     */
+    private static byte[] payload(String text) {
+        return text(text).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(String text) {
+        return String.format("%-16s", text);
+    }
+
+    private static List<String> payloads(List<NotificationJournal.Uncommitted> entries) {
+        return entries.stream().map(entry -> new String(entry.payload(), StandardCharsets.UTF_8)).toList();
+    }
+}
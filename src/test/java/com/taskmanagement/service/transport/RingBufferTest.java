@@ -0,0 +1,97 @@
+package com.taskmanagement.service.transport;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RingBufferTest {
+
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    @Test
+    void roundsTheCapacityUpToAPowerOfTwo() {
+        assertThat(new RingBuffer<String>(5).capacity()).isEqualTo(8);
+        assertThat(new RingBuffer<String>(8).capacity()).isEqualTo(8);
+        assertThat(new RingBuffer<String>(1).capacity()).isEqualTo(2);
+    }
+
+    @Test
+    void drainsPublishedEntriesInOrderUpToTheBatchLimit() throws Exception {
+        RingBuffer<String> ring = new RingBuffer<>(8);
+        assertThat(ring.publish("a", TIMEOUT_NANOS)).isZero();
+        ring.publish("b", TIMEOUT_NANOS);
+        ring.publish("c", TIMEOUT_NANOS);
+
+        List<String> batch = new ArrayList<>();
+        assertThat(ring.drainTo(batch, 2)).isEqualTo(2);
+        assertThat(batch).containsExactly("a", "b");
+        assertThat(ring.size()).isEqualTo(1);
+
+        assertThat(ring.drainTo(batch, 10)).isEqualTo(1);
+        assertThat(batch).containsExactly("a", "b", "c");
+        assertThat(ring.drainTo(batch, 10)).isZero();
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void makesProducersWaitWhileTheRingIsFull() throws Exception {
+        RingBuffer<Integer> ring = new RingBuffer<>(2);
+        ring.publish(1, TIMEOUT_NANOS);
+        ring.publish(2, TIMEOUT_NANOS);
+
+        assertThatThrownBy(() -> ring.publish(3, TimeUnit.MILLISECONDS.toNanos(10)))
+                .isInstanceOf(TimeoutException.class);
+
+        List<Integer> batch = new ArrayList<>();
+        ring.drainTo(batch, 1);
+        assertThat(ring.publish(3, TIMEOUT_NANOS)).isEqualTo(2);
+        ring.drainTo(batch, 10);
+        assertThat(batch).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void keepsTheOrderOfEveryProducerUnderContention() throws Exception {
+        RingBuffer<int[]> ring = new RingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    try {
+                        ring.publish(new int[]{producer, i}, TIMEOUT_NANOS);
+                    } catch (TimeoutException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        int[] next = new int[producers];
+        List<int[]> batch = new ArrayList<>();
+        int consumed = 0;
+        long deadline = System.nanoTime() + TIMEOUT_NANOS;
+        while (consumed < producers * perProducer && System.nanoTime() < deadline) {
+            batch.clear();
+            consumed += ring.drainTo(batch, 100);
+            for (int[] entry : batch) {
+                assertThat(entry[1]).isEqualTo(next[entry[0]]++);
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(consumed).isEqualTo(producers * perProducer);
+        assertThat(ring.size()).isZero();
+    }
+}